@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionArray;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts a large list of versions (the corpus, repeated) as objects and as a {@link VersionArray}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ArraySortBenchmark
+{
+    @Param({"1000000"})
+    public int size;
+    
+    private Version[] versions;
+    private Version[] unsorted;
+    private VersionArray array;
+    
+    @Setup
+    public void setup()
+    {
+        Version[] valid = Corpus.versions(Corpus.VALID);
+        Version[] prerelease = Corpus.versions(Corpus.PRERELEASE);
+        
+        versions = new Version[size];
+        for (int i = 0; i < size; i++) { versions[i] = (i % 2 == 0) ? valid[i % valid.length] : prerelease[i % prerelease.length]; }
+    }
+    
+    @Setup(Level.Invocation)
+    public void copy()
+    {
+        unsorted = versions.clone();
+        array = VersionArray.of(List.of(versions));
+    }
+    
+    @Benchmark
+    public VersionArray radixSort()
+    {
+        array.sort();
+        return array;
+    }
+    
+    @Benchmark
+    public Version[] comparisonSort()
+    {
+        Arrays.sort(unsorted);
+        return unsorted;
+    }
+    
+    @Benchmark
+    public Version[] parallelComparisonSort()
+    {
+        Arrays.parallelSort(unsorted);
+        return unsorted;
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs benchmarks with the GC profiler attached, so that every suite also
+ * reports allocation rates ({@code gc.alloc.rate.norm} is bytes per operation).
+ * Accepts the usual JMH command line options.
+ *
+ * <pre>{@code java -jar target/benchmarks.jar [regexp] [jmh options]}</pre>
+ */
+public final class BenchmarkRunner
+{
+    private BenchmarkRunner() {}
+    
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException
+    {
+        Options options = new OptionsBuilder()
+            .parent(new CommandLineOptions(args))
+            .addProfiler(GCProfiler.class)
+            .build();
+        
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BuilderBenchmark
+{
+    private Version[] versions;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        versions = Corpus.versions(Corpus.VALID);
+    }
+    
+    private Version next()
+    {
+        Version version = versions[index];
+        if (++index == versions.length) { index = 0; }
+        return version;
+    }
+    
+    @Benchmark
+    public Version buildFromScratch()
+    {
+        return Version.builder().major(1).patch(index & 0xF).prerelease("rc.1").build("git.5114f85").build();
+    }
+    
+    @Benchmark
+    public Version bumpPatch()
+    {
+        Version version = next();
+        return version.toBuilder().patch(version.patch() + 1).build();
+    }
+    
+    @Benchmark
+    public Version replacePrerelease()
+    {
+        return next().toBuilder().prerelease("SNAPSHOT").build();
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.ParsedVersions;
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.Versions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parses a large mixed corpus in one call. Scaling across cores can be checked by
+ * varying {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism} via {@code -jvmArgs}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkParseBenchmark
+{
+    @Param({"65536"})
+    public int size;
+    
+    private List<String> inputs;
+    
+    @Setup
+    public void setup()
+    {
+        List<String> corpus = new ArrayList<>();
+        for (String name : List.of(Corpus.VALID, Corpus.PARTIAL, Corpus.INVALID, Corpus.PRERELEASE))
+        {
+            corpus.addAll(List.of(Corpus.lines(name)));
+        }
+        
+        inputs = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) { inputs.add(corpus.get(i % corpus.size())); }
+    }
+    
+    @Benchmark
+    public ParsedVersions parseAll()
+    {
+        return Versions.parseAll(inputs);
+    }
+    
+    // Baseline: one input at a time on the calling thread.
+    @Benchmark
+    public void parseEach(Blackhole blackhole)
+    {
+        for (String input : inputs) { blackhole.consume(Version.parse(input)); }
+    }
+}
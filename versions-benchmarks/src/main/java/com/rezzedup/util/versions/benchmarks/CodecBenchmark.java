@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binary round trips compared to the text round trip ({@code toString} then {@code parseOrThrow}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CodecBenchmark
+{
+    private Version[] versions;
+    private byte[][] encoded;
+    private String[] text;
+    private ByteBuffer buffer;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        versions = Corpus.versions(Corpus.VALID);
+        encoded = new byte[versions.length][];
+        text = new String[versions.length];
+        
+        for (int i = 0; i < versions.length; i++)
+        {
+            encoded[i] = VersionCodec.encode(versions[i]);
+            text[i] = versions[i].toString();
+        }
+        
+        buffer = ByteBuffer.allocate(1024);
+    }
+    
+    private int next()
+    {
+        int current = index;
+        if (++index == versions.length) { index = 0; }
+        return current;
+    }
+    
+    @Benchmark
+    public ByteBuffer writeBinary()
+    {
+        buffer.clear();
+        VersionCodec.write(versions[next()], buffer);
+        return buffer;
+    }
+    
+    @Benchmark
+    public Version decodeBinary()
+    {
+        return VersionCodec.decode(encoded[next()]);
+    }
+    
+    @Benchmark
+    public String writeText()
+    {
+        return versions[next()].toString();
+    }
+    
+    @Benchmark
+    public Version decodeText()
+    {
+        return Version.parseOrThrow(text[next()]);
+    }
+}
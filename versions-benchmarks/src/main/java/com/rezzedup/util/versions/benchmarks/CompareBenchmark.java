@@ -0,0 +1,102 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionMetadata;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompareBenchmark
+{
+    private Version[] versions;
+    private Version[] prereleaseVersions;
+    private VersionMetadata[] prereleases;
+    private byte[][] sortKeys;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        versions = Corpus.versions(Corpus.VALID);
+        prereleases = Arrays.stream(Corpus.versions(Corpus.PRERELEASE))
+            .map(Version::prerelease)
+            .toArray(VersionMetadata[]::new);
+        sortKeys = Arrays.stream(Corpus.versions(Corpus.PRERELEASE))
+            .map(Version::toSortKey)
+            .toArray(byte[][]::new);
+        
+        // Sharing one core, so that comparisons always reach the pre-release identifiers
+        prereleaseVersions = Arrays.stream(prereleases)
+            .map(prerelease -> Version.of(Version.core(1, 0, 0), prerelease, Version.meta("")))
+            .toArray(Version[]::new);
+    }
+    
+    private int next(int length)
+    {
+        int current = index;
+        if (++index >= length - 1) { index = 0; }
+        return current;
+    }
+    
+    @Benchmark
+    public int compareVersions()
+    {
+        int i = next(versions.length);
+        return versions[i].compareTo(versions[i + 1]);
+    }
+    
+    // Numeric, alphanumeric and mixed pre-release identifiers (see: Corpus.PRERELEASE).
+    @Benchmark
+    public int comparePrereleases()
+    {
+        int i = next(prereleases.length);
+        return prereleases[i].compareTo(prereleases[i + 1]);
+    }
+    
+    // The same pre-releases, as versions with equal cores
+    @Benchmark
+    public int comparePrereleaseVersions()
+    {
+        int i = next(prereleaseVersions.length);
+        return prereleaseVersions[i].compareTo(prereleaseVersions[i + 1]);
+    }
+    
+    // The same pre-release versions, compared as raw bytes (see: Version.toSortKey).
+    @Benchmark
+    public int compareSortKeys()
+    {
+        int i = next(sortKeys.length);
+        return Arrays.compareUnsigned(sortKeys[i], sortKeys[i + 1]);
+    }
+    
+    @Benchmark
+    public Version[] sortVersions()
+    {
+        Version[] sorted = versions.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionConstraint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConstraintBenchmark
+{
+    @Param({">=1.2.0 <2.0.0", "^1.2 || ~3.4.0 || 5.x", "[1.0,2.0),[3.0,)", ">=1.0.0-rc.1 <1.0.1"})
+    public String constraint;
+    
+    private VersionConstraint compiled;
+    private Version[] versions;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        compiled = VersionConstraint.parseOrThrow(constraint);
+        versions = Corpus.versions(Corpus.VALID);
+    }
+    
+    @Benchmark
+    public boolean isSatisfiedBy()
+    {
+        Version version = versions[index];
+        if (++index == versions.length) { index = 0; }
+        return compiled.isSatisfiedBy(version);
+    }
+    
+    @Benchmark
+    public VersionConstraint parse()
+    {
+        return VersionConstraint.parseOrThrow(constraint);
+    }
+}
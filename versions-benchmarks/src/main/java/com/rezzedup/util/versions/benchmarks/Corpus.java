@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Seeded version corpora checked into {@code src/main/resources/corpus}
+ * (see: {@link CorpusGenerator}), shared by all benchmarks so that results
+ * remain comparable across commits.
+ */
+public final class Corpus
+{
+    private Corpus() {}
+    
+    /** Strictly valid versions: {@code major.minor.patch[-prerelease][+build]} **/
+    public static final String VALID = "valid";
+    
+    /** Lenient versions with omitted minor and/or patch numbers, e.g. {@code 1.19} **/
+    public static final String PARTIAL = "partial";
+    
+    /** Inputs that neither lenient nor strict parsing accept. **/
+    public static final String INVALID = "invalid";
+    
+    /** Versions sharing cores but differing in numeric and alphanumeric pre-release identifiers. **/
+    public static final String PRERELEASE = "prerelease";
+    
+    public static String[] lines(String name)
+    {
+        String resource = "/corpus/" + name + ".txt";
+        
+        try (InputStream stream = Objects.requireNonNull(Corpus.class.getResourceAsStream(resource), resource);
+             BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)))
+        {
+            List<String> lines = reader.lines().collect(Collectors.toList());
+            return lines.toArray(String[]::new);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    public static Version[] versions(String name)
+    {
+        String[] lines = lines(name);
+        Version[] versions = new Version[lines.length];
+        
+        for (int i = 0; i < lines.length; i++)
+        {
+            versions[i] = Version.parseOrThrow(lines[i]);
+        }
+        
+        return versions;
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Regenerates the checked-in corpora. The seed is fixed, so running this
+ * again produces identical files; only change it deliberately, since doing
+ * so invalidates comparisons with earlier benchmark results.
+ *
+ * <pre>{@code java -cp target/benchmarks.jar com.rezzedup.util.versions.benchmarks.CorpusGenerator src/main/resources/corpus}</pre>
+ */
+public final class CorpusGenerator
+{
+    private static final long SEED = 0x5E4_7E55L;
+    
+    private static final int SIZE = 2048;
+    
+    private static final String[] PRERELEASE_WORDS = {
+        "SNAPSHOT", "alpha", "beta", "rc", "pre", "dev", "M", "preview", "nightly", "x-y-z"
+    };
+    
+    private static final String[] BUILD_WORDS = {
+        "build", "git", "sha", "exp", "jenkins", "b", "local"
+    };
+    
+    private static final String[] INVALID = {
+        "", "v1.2.3", "1.02.3", "01.2.3", "1.2.3.4", "1.2.", "1.2.3-", "1.2.3+", "1.2.3-alpha..1", "1.2.3-01",
+        "release", "latest", "git-Paper-123 (MC: 1.19.2)", "1.2.3 (build 5)", "1.2.3_01", "1.2.3-beta_2",
+        "2022.10.03", " 1.2.3", "1.2.3 ", "1.2.3-α", "99999999999.0.0", "1..2", ".1.2", "1.2.3-rc.1+", "x.y.z"
+    };
+    
+    private static final String[] NEAR_MISSES = { "_", "..", " ", "+.", "/" };
+    
+    private final Random random = new Random(SEED);
+    
+    private int number(int bound)
+    {
+        // Skew towards small numbers, as found in the wild.
+        int n = random.nextInt(bound);
+        return (random.nextInt(4) == 0) ? n : n / 8;
+    }
+    
+    private String hex(int length)
+    {
+        StringBuilder hex = new StringBuilder();
+        for (int i = 0; i < length; i++) { hex.append(Character.forDigit(random.nextInt(16), 16)); }
+        return hex.toString();
+    }
+    
+    private String pick(String[] options)
+    {
+        return options[random.nextInt(options.length)];
+    }
+    
+    private String core()
+    {
+        return number(24) + "." + number(40) + "." + number(16);
+    }
+    
+    private String prerelease()
+    {
+        String word = pick(PRERELEASE_WORDS);
+        switch (random.nextInt(4))
+        {
+            case 0: return word;
+            case 1: return word + "." + (1 + number(12));
+            case 2: return word + (1 + number(12));
+            default: return word + "." + (1 + number(12)) + "." + number(200);
+        }
+    }
+    
+    private String build()
+    {
+        String word = pick(BUILD_WORDS);
+        switch (random.nextInt(3))
+        {
+            case 0: return word + "." + number(5000);
+            case 1: return word + "." + hex(7);
+            default: return "20" + (10 + random.nextInt(13)) + String.format("%02d%02d", 1 + random.nextInt(12), 1 + random.nextInt(28));
+        }
+    }
+    
+    String validLine()
+    {
+        String version = core();
+        int roll = random.nextInt(100);
+        if (roll >= 60) { version += "-" + prerelease(); }
+        if (roll >= 85) { version += "+" + build(); }
+        return version;
+    }
+    
+    String partialLine()
+    {
+        String version;
+        
+        switch (random.nextInt(3))
+        {
+            case 0: version = String.valueOf(number(24)); break;
+            case 1: version = number(24) + "." + number(40); break;
+            default: version = core(); break;
+        }
+        
+        if (random.nextInt(3) == 0) { version += "-" + prerelease(); }
+        return version;
+    }
+    
+    String invalidLine()
+    {
+        // Mostly hand-picked failures, plus near-misses of otherwise valid versions.
+        if (random.nextBoolean()) { return pick(INVALID); }
+        
+        while (true)
+        {
+            String valid = validLine();
+            int index = random.nextInt(valid.length());
+            String invalid = valid.substring(0, index) + pick(NEAR_MISSES) + valid.substring(index);
+            if (Version.parse(invalid).isEmpty()) { return invalid; }
+        }
+    }
+    
+    String prereleaseLine()
+    {
+        String core = "1." + number(3) + ".0";
+        
+        switch (random.nextInt(3))
+        {
+            case 0: return core + "-" + number(300) + "." + number(300);
+            case 1: return core + "-" + pick(PRERELEASE_WORDS) + "." + number(300);
+            default: return core + "-" + pick(PRERELEASE_WORDS) + "." + pick(PRERELEASE_WORDS) + "." + number(40);
+        }
+    }
+    
+    private static List<String> lines(Supplier<String> generator)
+    {
+        List<String> lines = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) { lines.add(generator.get()); }
+        return lines;
+    }
+    
+    public static void main(String[] args) throws IOException
+    {
+        Path directory = Path.of((args.length > 0) ? args[0] : "src/main/resources/corpus");
+        Files.createDirectories(directory);
+        
+        CorpusGenerator generator = new CorpusGenerator();
+        
+        Files.write(directory.resolve(Corpus.VALID + ".txt"), lines(generator::validLine), StandardCharsets.UTF_8);
+        Files.write(directory.resolve(Corpus.PARTIAL + ".txt"), lines(generator::partialLine), StandardCharsets.UTF_8);
+        Files.write(directory.resolve(Corpus.INVALID + ".txt"), lines(generator::invalidLine), StandardCharsets.UTF_8);
+        Files.write(directory.resolve(Corpus.PRERELEASE + ".txt"), lines(generator::prereleaseLine), StandardCharsets.UTF_8);
+    }
+}
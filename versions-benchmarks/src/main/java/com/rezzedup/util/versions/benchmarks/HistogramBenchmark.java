@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionHistogram;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Records versions into a shared histogram from several threads, compared to
+ * a map of atomic counters (which every thread increments directly).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+public class HistogramBenchmark
+{
+    // A few popular versions, as reported by a fleet
+    private static final int DISTINCT = 64;
+    
+    private String[] inputs;
+    private Version[] versions;
+    
+    private VersionHistogram histogram;
+    private ConcurrentHashMap<Version, AtomicLong> baseline;
+    
+    @Setup
+    public void setup()
+    {
+        inputs = Arrays.copyOf(Corpus.lines(Corpus.VALID), DISTINCT);
+        versions = Arrays.copyOf(Corpus.versions(Corpus.VALID), DISTINCT);
+        histogram = VersionHistogram.create();
+        baseline = new ConcurrentHashMap<>();
+    }
+    
+    private static int next()
+    {
+        return ThreadLocalRandom.current().nextInt(DISTINCT);
+    }
+    
+    @Benchmark
+    public void recordVersion()
+    {
+        histogram.record(versions[next()]);
+    }
+    
+    @Benchmark
+    public boolean recordString()
+    {
+        return histogram.record(inputs[next()]);
+    }
+    
+    @Benchmark
+    public long atomicBaseline()
+    {
+        return baseline.computeIfAbsent(versions[next()], k -> new AtomicLong()).incrementAndGet();
+    }
+    
+    @Benchmark
+    public VersionHistogram.Snapshot snapshot()
+    {
+        return histogram.snapshot();
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.MappedVersionIndex;
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Opens and queries an index file of millions of versions, compared with
+ * queries against the same versions held in a {@link VersionIndex}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MappedIndexBenchmark
+{
+    private static final String[] PRERELEASES = {"alpha", "alpha.1", "beta", "beta.2", "rc.1", "rc.2", "SNAPSHOT"};
+    
+    @Param({"1000000"})
+    public int versions;
+    
+    private Path directory;
+    private Path file;
+    private MappedVersionIndex mapped;
+    private VersionIndex heap;
+    private Version[] releases;
+    private Version[] prereleases;
+    private int next;
+    
+    private static Version random(Random random, boolean prerelease)
+    {
+        return Version.of(
+            random.nextInt(100),
+            random.nextInt(100),
+            random.nextInt(1000),
+            (prerelease) ? PRERELEASES[random.nextInt(PRERELEASES.length)] : "",
+            ""
+        );
+    }
+    
+    @Setup
+    public void setup() throws IOException
+    {
+        Random random = new Random(1);
+        List<Version> list = new ArrayList<>(versions);
+        for (int i = 0; i < versions; i++) { list.add(random(random, random.nextInt(4) == 0)); }
+        
+        directory = Files.createTempDirectory("versions");
+        file = directory.resolve("versions.idx");
+        
+        MappedVersionIndex.write(file, list);
+        mapped = MappedVersionIndex.open(file);
+        heap = VersionIndex.of(list);
+        
+        releases = new Version[1024];
+        prereleases = new Version[1024];
+        
+        for (int i = 0; i < 1024; i++)
+        {
+            releases[i] = random(random, false);
+            prereleases[i] = random(random, true);
+        }
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        Files.delete(file);
+        Files.delete(directory);
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public MappedVersionIndex open() throws IOException
+    {
+        return MappedVersionIndex.open(file);
+    }
+    
+    @Benchmark
+    public Optional<Version> mappedFloor()
+    {
+        return mapped.floor(releases[next++ & 1023]);
+    }
+    
+    @Benchmark
+    public Optional<Version> mappedFloorPrerelease()
+    {
+        return mapped.floor(prereleases[next++ & 1023]);
+    }
+    
+    @Benchmark
+    public boolean mappedContains()
+    {
+        return mapped.contains(releases[next++ & 1023]);
+    }
+    
+    @Benchmark
+    public Optional<Version> heapFloor()
+    {
+        return heap.floor(releases[next++ & 1023]);
+    }
+    
+    @Benchmark
+    public Optional<Version> heapFloorPrerelease()
+    {
+        return heap.floor(prereleases[next++ & 1023]);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionMetrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The cost of parsing with metrics enabled, compared to disabled (the default).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark
+{
+    @Param({"false", "true"})
+    public boolean enabled;
+    
+    private String[] inputs;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        inputs = Corpus.lines(Corpus.PARTIAL);
+        if (enabled) { VersionMetrics.enable(); }
+    }
+    
+    @TearDown
+    public void tearDown()
+    {
+        VersionMetrics.disable();
+    }
+    
+    @Benchmark
+    public Optional<Version> parse()
+    {
+        String input = inputs[index];
+        if (++index == inputs.length) { index = 0; }
+        return Version.parse(input);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionCache;
+import com.rezzedup.util.versions.VersionParseResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseBenchmark
+{
+    @Param({Corpus.VALID, Corpus.PARTIAL, Corpus.INVALID})
+    public String corpus;
+    
+    private String[] inputs;
+    private byte[][] bytes;
+    private VersionCache cache;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        inputs = Corpus.lines(corpus);
+        cache = VersionCache.create(inputs.length);
+        
+        bytes = new byte[inputs.length][];
+        for (int i = 0; i < inputs.length; i++) { bytes[i] = inputs[i].getBytes(StandardCharsets.UTF_8); }
+    }
+    
+    private String next()
+    {
+        String input = inputs[index];
+        if (++index == inputs.length) { index = 0; }
+        return input;
+    }
+    
+    @Benchmark
+    public Optional<Version> parse()
+    {
+        return Version.parse(next());
+    }
+    
+    @Benchmark
+    public Optional<Version> parseStrict()
+    {
+        return Version.parseStrict(next());
+    }
+    
+    // Reports why invalid inputs failed, still without throwing.
+    @Benchmark
+    public VersionParseResult tryParse()
+    {
+        return Version.tryParse(next());
+    }
+    
+    // Parses in place from bytes without decoding to a string first.
+    @Benchmark
+    public Optional<Version> parseBytes()
+    {
+        byte[] input = bytes[index];
+        if (++index == bytes.length) { index = 0; }
+        return Version.parse(input, 0, input.length);
+    }
+    
+    // Sized to hold the entire corpus: measures steady-state hits.
+    @Benchmark
+    public Optional<Version> parseCached()
+    {
+        return cache.parse(next());
+    }
+}
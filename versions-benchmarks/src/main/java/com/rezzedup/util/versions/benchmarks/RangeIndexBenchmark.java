@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionRange;
+import com.rezzedup.util.versions.VersionRangeIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks versions against thousands of advisory-style ranges (each affecting
+ * a few patch releases of one minor line), with an index and by linear scan.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RangeIndexBenchmark
+{
+    @Param({"1000", "10000"})
+    public int ranges;
+    
+    private List<VersionRange> list;
+    private VersionRangeIndex<VersionRange> index;
+    private Version[] queries;
+    private int next;
+    
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(1);
+        list = new ArrayList<>(ranges);
+        
+        for (int i = 0; i < ranges; i++)
+        {
+            int major = random.nextInt(10);
+            int minor = random.nextInt(30);
+            int patch = random.nextInt(20);
+            
+            list.add(VersionRange.between(
+                Version.of(major, minor, patch), true, Version.of(major, minor, patch + 1 + random.nextInt(5)), false
+            ));
+        }
+        
+        index = VersionRangeIndex.of(list);
+        queries = new Version[1024];
+        
+        for (int i = 0; i < queries.length; i++)
+        {
+            queries[i] = Version.of(random.nextInt(10), random.nextInt(30), random.nextInt(25));
+        }
+    }
+    
+    private Version query()
+    {
+        return queries[next++ & (queries.length - 1)];
+    }
+    
+    @Benchmark
+    public List<VersionRange> index()
+    {
+        return index.containing(query());
+    }
+    
+    @Benchmark
+    public List<VersionRange> linearScan()
+    {
+        Version version = query();
+        List<VersionRange> containing = new ArrayList<>();
+        for (VersionRange range : list) { if (range.contains(version)) { containing.add(range); } }
+        return containing;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionRange;
+import com.rezzedup.util.versions.VersionRegistry;
+import com.rezzedup.util.versions.VersionSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Queries a shared registry from several threads while another keeps registering
+ * and unregistering, so reads run against constantly replaced snapshots.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegistryBenchmark
+{
+    private static final int NAMES = 100;
+    
+    private static final int VERSIONS = 32;
+    
+    private static final VersionRange TWO_X = VersionRange.between(Version.of(2, 0, 0), true, Version.of(3, 0, 0), false);
+    
+    private VersionRegistry<VersionSource> registry;
+    private String[] names;
+    
+    @Setup
+    public void setup()
+    {
+        registry = VersionRegistry.create();
+        names = new String[NAMES];
+        
+        for (int n = 0; n < NAMES; n++)
+        {
+            names[n] = "component-" + n;
+            for (int i = 0; i < VERSIONS; i++) { registry.register(names[n], source(i)); }
+        }
+    }
+    
+    private static VersionSource source(int i)
+    {
+        Version version = Version.of(i / 8, i % 8, 0);
+        return () -> version;
+    }
+    
+    private String name()
+    {
+        return names[ThreadLocalRandom.current().nextInt(NAMES)];
+    }
+    
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public Optional<VersionSource> highest()
+    {
+        return registry.highest(name());
+    }
+    
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(3)
+    public List<VersionSource> range()
+    {
+        return registry.range(name(), TWO_X);
+    }
+    
+    @Benchmark
+    @Group("contended")
+    @GroupThreads(1)
+    public boolean write()
+    {
+        String name = name();
+        VersionSource source = source(ThreadLocalRandom.current().nextInt(VERSIONS));
+        registry.register(name, source);
+        return registry.unregister(name, source);
+    }
+}
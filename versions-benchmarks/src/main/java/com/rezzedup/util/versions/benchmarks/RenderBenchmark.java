@@ -0,0 +1,85 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark
+{
+    private Version[] versions;
+    private Version[] uncached;
+    private StringBuilder builder;
+    private ByteBuffer buffer;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        versions = Corpus.versions(Corpus.VALID);
+        
+        // Separate instances that never have their string cached.
+        uncached = Corpus.versions(Corpus.VALID);
+        builder = new StringBuilder(256);
+        buffer = ByteBuffer.allocate(256);
+    }
+    
+    private Version next()
+    {
+        Version version = versions[index];
+        if (++index == versions.length) { index = 0; }
+        return version;
+    }
+    
+    @Benchmark
+    public String toStringVersion()
+    {
+        return next().toString();
+    }
+    
+    @Benchmark
+    public StringBuilder appendToBuilder()
+    {
+        Version version = uncached[index];
+        if (++index == uncached.length) { index = 0; }
+        
+        builder.setLength(0);
+        return version.appendTo(builder);
+    }
+    
+    @Benchmark
+    public ByteBuffer writeToBuffer()
+    {
+        buffer.clear();
+        return next().writeTo(buffer);
+    }
+    
+    @Benchmark
+    public int hashCodeVersion()
+    {
+        return next().hashCode();
+    }
+}
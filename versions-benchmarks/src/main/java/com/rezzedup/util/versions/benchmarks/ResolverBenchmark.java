@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionCatalog;
+import com.rezzedup.util.versions.VersionConstraint;
+import com.rezzedup.util.versions.VersionResolution;
+import com.rezzedup.util.versions.VersionResolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolves seeded synthetic dependency graphs: every artifact depends on a few later
+ * artifacts, and some of its 2.x versions move to the next major version of a dependency
+ * while others require a later minor version, so dependents compete and the resolver
+ * has to backtrack.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ResolverBenchmark
+{
+    private static final long SEED = 0x2E5_01BE2L;
+    
+    @Param({"100", "500"})
+    public int artifacts;
+    
+    @Param({"3"})
+    public int dependencies;
+    
+    private VersionCatalog catalog;
+    private Map<String, VersionConstraint> requirements;
+    private VersionResolver resolver;
+    
+    @Setup
+    public void setup()
+    {
+        Random random = new Random(SEED);
+        VersionCatalog.Builder builder = VersionCatalog.builder();
+        
+        for (int a = 0; a < artifacts; a++)
+        {
+            int[] targets = new int[Math.min(this.dependencies, artifacts - a - 1)];
+            int[] majors = new int[targets.length];
+            
+            for (int d = 0; d < targets.length; d++)
+            {
+                targets[d] = a + 1 + random.nextInt(Math.min(20, artifacts - a - 1));
+                majors[d] = 1;
+            }
+            
+            for (int major = 1; major <= 2; major++)
+            {
+                // A third of the dependencies move to their next major version in 2.x.
+                if (major == 2) { for (int d = 0; d < targets.length; d++) { if (random.nextInt(3) == 0) { majors[d] = 2; } } }
+                
+                for (int minor = 0; minor < 4; minor++)
+                {
+                    Map<String, VersionConstraint> dependencies = new LinkedHashMap<>();
+                    
+                    for (int d = 0; d < targets.length; d++)
+                    {
+                        int least = (minor >= 2 && random.nextInt(4) == 0) ? 2 : 0;
+                        dependencies.put("artifact-" + targets[d], VersionConstraint.parseOrThrow("^" + majors[d] + "." + least));
+                    }
+                    
+                    builder.add("artifact-" + a, Version.of(major, minor, 0), dependencies);
+                }
+            }
+        }
+        
+        catalog = builder.build();
+        requirements = new LinkedHashMap<>();
+        for (int a = 0; a < artifacts; a += 10) { requirements.put("artifact-" + a, VersionConstraint.any()); }
+    }
+    
+    // Constraint masks are memoized per resolver, so a fresh one measures a cold start.
+    @Setup(Level.Invocation)
+    public void resolver()
+    {
+        resolver = VersionResolver.of(catalog);
+    }
+    
+    @Benchmark
+    public VersionResolution resolve()
+    {
+        return resolver.resolve(requirements);
+    }
+}
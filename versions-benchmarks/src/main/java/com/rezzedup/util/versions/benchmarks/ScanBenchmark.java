@@ -0,0 +1,90 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionMatch;
+import com.rezzedup.util.versions.VersionScanner;
+import com.rezzedup.util.versions.Versions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extracts versions from synthetic log text, comparing the scanner against the
+ * {@code Pattern.find} loop it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScanBenchmark
+{
+    // Same as Versions.PARTIAL_SEMVER_PATTERN (which isn't public).
+    private static final Pattern PATTERN = Pattern.compile(
+        "(0|[1-9]\\d*)(?:\\.(0|[1-9]\\d*))?(?:\\.(0|[1-9]\\d*))?" +
+        "(?:-((?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*)(?:\\.(?:0|[1-9]\\d*|\\d*[a-zA-Z-][0-9a-zA-Z-]*))*))?" +
+        "(?:\\+([0-9a-zA-Z-]+(?:\\.[0-9a-zA-Z-]+)*))?"
+    );
+    
+    private String log;
+    
+    @Setup
+    public void setup()
+    {
+        String[] valid = Corpus.lines(Corpus.VALID);
+        String[] partial = Corpus.lines(Corpus.PARTIAL);
+        StringBuilder builder = new StringBuilder();
+        
+        for (int i = 0; i < 4096; i++)
+        {
+            builder.append("[12:00:").append(i % 60).append(" INFO]: Loading plugin-").append(i)
+                .append(" v").append(valid[i % valid.length])
+                .append(" (requires API ").append(partial[i % partial.length]).append(")\n");
+        }
+        
+        log = builder.toString();
+    }
+    
+    @Benchmark
+    public List<VersionMatch> findAll()
+    {
+        return Versions.findAll(log);
+    }
+    
+    @Benchmark
+    public long scanReader(Blackhole blackhole) throws IOException
+    {
+        return VersionScanner.lenient().scan(new StringReader(log), blackhole::consume);
+    }
+    
+    // Baseline
+    @Benchmark
+    public void patternFind(Blackhole blackhole)
+    {
+        Matcher matcher = PATTERN.matcher(log);
+        while (matcher.find()) { blackhole.consume(Version.parse(matcher.group())); }
+    }
+}
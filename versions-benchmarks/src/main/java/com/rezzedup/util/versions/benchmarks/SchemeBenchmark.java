@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.SchemeVersion;
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionScheme;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sorts the valid corpus as scheme versions (by precomputed key) and as plain
+ * versions, and parses a mix of SemVer, Maven and CalVer inputs by detection.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchemeBenchmark
+{
+    private static final String[] MIXED = {
+        "1.2.3", "1.0-SNAPSHOT", "2.0-RC1", "2024.01.15", "22.04", "5.4.2.Final", "22w13a", "1.2.3-rc.1", "1.2.3.4"
+    };
+    
+    private Version[] versions;
+    private SchemeVersion[] keyed;
+    private int index;
+    
+    @Setup
+    public void setup()
+    {
+        versions = Corpus.versions(Corpus.VALID);
+        keyed = Arrays.stream(versions)
+            .map(version -> VersionScheme.semver().parse(version.toString()).orElseThrow())
+            .toArray(SchemeVersion[]::new);
+    }
+    
+    @Benchmark
+    public SchemeVersion[] sortSchemeVersions()
+    {
+        SchemeVersion[] sorted = keyed.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+    
+    @Benchmark
+    public Version[] sortVersions()
+    {
+        Version[] sorted = versions.clone();
+        Arrays.sort(sorted);
+        return sorted;
+    }
+    
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public Optional<SchemeVersion> parseAny()
+    {
+        String input = MIXED[index];
+        if (++index == MIXED.length) { index = 0; }
+        return VersionScheme.parseAny(input);
+    }
+}
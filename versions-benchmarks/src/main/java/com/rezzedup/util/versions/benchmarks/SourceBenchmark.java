@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.CachedVersionSource;
+import com.rezzedup.util.versions.CachedVersionSource.Refresh;
+import com.rezzedup.util.versions.Version;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SourceBenchmark
+{
+    private Path directory;
+    private Path file;
+    private CachedVersionSource never;
+    private CachedVersionSource modificationTime;
+    private CachedVersionSource watchService;
+    
+    @Setup
+    public void setup() throws IOException
+    {
+        directory = Files.createTempDirectory("versions");
+        file = Files.writeString(directory.resolve("version.txt"), "1.19.2-rc.1\n");
+        
+        never = CachedVersionSource.ofFile(file, Refresh.NEVER);
+        modificationTime = CachedVersionSource.ofFile(file, Refresh.MODIFICATION_TIME);
+        watchService = CachedVersionSource.ofFile(file, Refresh.WATCH_SERVICE);
+    }
+    
+    @TearDown
+    public void tearDown() throws IOException
+    {
+        watchService.close();
+        Files.delete(file);
+        Files.delete(directory);
+    }
+    
+    @Benchmark
+    public Version never()
+    {
+        return never.version();
+    }
+    
+    @Benchmark
+    public Version modificationTime()
+    {
+        return modificationTime.version();
+    }
+    
+    @Benchmark
+    public Version watchService()
+    {
+        return watchService.version();
+    }
+    
+    // Baseline: reading and parsing the file on every call.
+    @Benchmark
+    public Version reread() throws IOException
+    {
+        return Version.parseOrThrow(Files.readString(file, StandardCharsets.UTF_8).strip());
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions.benchmarks;
+
+import com.rezzedup.util.versions.Version;
+import com.rezzedup.util.versions.VersionWatermark;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Many threads reporting versions to one watermark, compared with synchronizing
+ * around {@link Version#greaterThan(Object)}. Rising reports keep moving the
+ * watermark (each thread counts upward, so compare-and-sets collide), while
+ * steady reports are peer versions from a fixed set, which rarely move it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WatermarkBenchmark
+{
+    private VersionWatermark watermark;
+    private VersionWatermark.Keyed<Integer> keyed;
+    private final Object lock = new Object();
+    private Version highest;
+    
+    private Version[] peers;
+    
+    @Setup(Level.Iteration)
+    public void setup()
+    {
+        watermark = VersionWatermark.highest();
+        keyed = VersionWatermark.highestByKey();
+        highest = Version.of(0);
+        
+        Version[] versions = Corpus.versions(Corpus.VALID);
+        peers = Arrays.copyOf(versions, Math.min(1024, versions.length));
+    }
+    
+    @State(Scope.Thread)
+    public static class Reporter
+    {
+        int next;
+        
+        // Rising versions, created like a decoded peer version would be.
+        Version rising()
+        {
+            int n = next++;
+            return Version.of(n >>> 20, (n >>> 10) & 1023, n & 1023);
+        }
+        
+        Version peer(Version[] peers)
+        {
+            return peers[ThreadLocalRandom.current().nextInt(peers.length)];
+        }
+    }
+    
+    private boolean lockedAdvanceTo(Version version)
+    {
+        synchronized (lock)
+        {
+            if (!version.greaterThan(highest)) { return false; }
+            highest = version;
+            return true;
+        }
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public boolean watermarkRising1(Reporter reporter)
+    {
+        return watermark.advanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(1)
+    public boolean synchronizedRising1(Reporter reporter)
+    {
+        return lockedAdvanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean watermarkRising4(Reporter reporter)
+    {
+        return watermark.advanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(4)
+    public boolean synchronizedRising4(Reporter reporter)
+    {
+        return lockedAdvanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(16)
+    public boolean watermarkRising16(Reporter reporter)
+    {
+        return watermark.advanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(16)
+    public boolean synchronizedRising16(Reporter reporter)
+    {
+        return lockedAdvanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public boolean watermarkRising64(Reporter reporter)
+    {
+        return watermark.advanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(64)
+    public boolean synchronizedRising64(Reporter reporter)
+    {
+        return lockedAdvanceTo(reporter.rising());
+    }
+    
+    @Benchmark
+    @Threads(16)
+    public boolean watermarkSteady16(Reporter reporter)
+    {
+        return watermark.advanceTo(reporter.peer(peers));
+    }
+    
+    @Benchmark
+    @Threads(16)
+    public boolean synchronizedSteady16(Reporter reporter)
+    {
+        return lockedAdvanceTo(reporter.peer(peers));
+    }
+    
+    @Benchmark
+    @Threads(16)
+    public boolean keyedSteady16(Reporter reporter)
+    {
+        Version version = reporter.peer(peers);
+        return keyed.advanceTo(version.major() & 63, version);
+    }
+}
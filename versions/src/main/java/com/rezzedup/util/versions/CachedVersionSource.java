@@ -0,0 +1,372 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+
+/**
+ * A version source that reads its version from a file once, and then serves it from
+ * memory until the file changes (according to its {@link Refresh} policy).
+ *
+ * <p>Versions can be read from a JAR manifest attribute, a {@code .properties} file, or
+ * a plain file containing just the version. They're parsed leniently, like
+ * {@link Version#parse(String)}. If the file can't be read or doesn't contain a valid
+ * version, {@link #version()} throws until the file changes, without retrying each time.</p>
+ *
+ * <p>Sources are thread-safe. A cached version is returned after a single volatile read
+ * (plus a file status check, if refreshing by modification time), and the file is only
+ * read again by one thread, once per change.</p>
+ */
+public final class CachedVersionSource implements VersionSource, AutoCloseable
+{
+    public static final String IMPLEMENTATION_VERSION = "Implementation-Version";
+    
+    public enum Refresh
+    {
+        /** Read the file once, and never again. **/
+        NEVER,
+        
+        /** Read the file again whenever its modification time or size changes, which is checked on every call. **/
+        MODIFICATION_TIME,
+        
+        /**
+         * Read the file again after a {@link WatchService} reports that it changed. A daemon
+         * thread waits for changes until the source is {@link #close() closed}.
+         */
+        WATCH_SERVICE
+    }
+    
+    /**
+     * Creates a source for a plain file containing just a version (surrounding whitespace is ignored).
+     *
+     * @param file      the file
+     * @param refresh   when to read the file again
+     * @return the source
+     * @throws UncheckedIOException if refreshing with a watch service that can't be created
+     */
+    public static CachedVersionSource ofFile(Path file, Refresh refresh)
+    {
+        return new CachedVersionSource(file, "version in " + file, refresh, CachedVersionSource::readFile);
+    }
+    
+    public static CachedVersionSource ofProperties(Path file, String key, Refresh refresh)
+    {
+        Objects.requireNonNull(key, "key");
+        return new CachedVersionSource(file, "property \"" + key + "\" in " + file, refresh, path -> readProperty(path, key));
+    }
+    
+    /**
+     * Creates a source for an attribute in the main section of a JAR manifest.
+     *
+     * @param file      the JAR file (ending with {@code .jar}) or manifest file itself
+     * @param attribute the attribute, such as {@link #IMPLEMENTATION_VERSION}
+     * @param refresh   when to read the file again
+     * @return the source
+     * @throws UncheckedIOException if refreshing with a watch service that can't be created
+     */
+    public static CachedVersionSource ofManifest(Path file, String attribute, Refresh refresh)
+    {
+        Objects.requireNonNull(attribute, "attribute");
+        return new CachedVersionSource(file, "attribute \"" + attribute + "\" in " + file, refresh, path -> readManifest(path, attribute));
+    }
+    
+    /**
+     * Creates a source for the {@code Implementation-Version} in the manifest of
+     * the JAR (or classes directory) the provided class was loaded from.
+     *
+     * @param type  a class from the JAR
+     * @return the source, which is never refreshed
+     * @throws IllegalArgumentException if the class wasn't loaded from a file
+     */
+    public static CachedVersionSource ofManifest(Class<?> type)
+    {
+        @NullOr CodeSource code = type.getProtectionDomain().getCodeSource();
+        if (code == null || code.getLocation() == null) { throw new IllegalArgumentException("No code source: " + type); }
+        
+        Path location;
+        
+        try { location = Path.of(code.getLocation().toURI()); }
+        catch (URISyntaxException | IllegalArgumentException e)
+        {
+            throw new IllegalArgumentException("Not loaded from a file: " + type, e);
+        }
+        
+        if (Files.isDirectory(location)) { location = location.resolve(JarFile.MANIFEST_NAME); }
+        return ofManifest(location, IMPLEMENTATION_VERSION, Refresh.NEVER);
+    }
+    
+    private static String readFile(Path file) throws IOException
+    {
+        return Files.readString(file, StandardCharsets.UTF_8).strip();
+    }
+    
+    private static @NullOr String readProperty(Path file, String key) throws IOException
+    {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) { properties.load(reader); }
+        return properties.getProperty(key);
+    }
+    
+    private static @NullOr String readManifest(Path file, String attribute) throws IOException
+    {
+        @NullOr Manifest manifest;
+        
+        if (file.getFileName().toString().endsWith(".jar"))
+        {
+            try (JarFile jar = new JarFile(file.toFile(), false)) { manifest = jar.getManifest(); }
+        }
+        else
+        {
+            try (InputStream stream = Files.newInputStream(file)) { manifest = new Manifest(stream); }
+        }
+        
+        return (manifest == null) ? null : manifest.getMainAttributes().getValue(attribute);
+    }
+    
+    @FunctionalInterface
+    private interface Reading
+    {
+        @NullOr String read(Path file) throws IOException;
+    }
+    
+    // The outcome of reading the file at a point in time: a version, or the failure to report.
+    // Failures are kept as a message and cause so that each call throws its own exception.
+    private static final class Entry
+    {
+        final long stamp;
+        final @NullOr Version version;
+        final @NullOr String failure;
+        final @NullOr Throwable cause;
+        
+        Entry(long stamp, Version version)
+        {
+            this.stamp = stamp;
+            this.version = version;
+            this.failure = null;
+            this.cause = null;
+        }
+        
+        Entry(long stamp, String failure, @NullOr Throwable cause)
+        {
+            this.stamp = stamp;
+            this.version = null;
+            this.failure = failure;
+            this.cause = cause;
+        }
+        
+        RuntimeException exception(String failure)
+        {
+            return (cause instanceof IOException)
+                ? new UncheckedIOException(failure, (IOException) cause)
+                : new IllegalStateException(failure, cause);
+        }
+    }
+    
+    private static final long MISSING = Long.MIN_VALUE;
+    
+    private final Path file;
+    private final String description;
+    private final Refresh refresh;
+    private final Reading reading;
+    
+    // Incremented for each change reported by the watch service
+    private final AtomicInteger changes = new AtomicInteger();
+    private final @NullOr WatchService watcher;
+    
+    private volatile @NullOr Entry entry;
+    
+    // Guarded by this
+    private int reads;
+    
+    private CachedVersionSource(Path file, String description, Refresh refresh, Reading reading)
+    {
+        this.file = file.toAbsolutePath();
+        this.description = description;
+        this.refresh = Objects.requireNonNull(refresh, "refresh");
+        this.reading = reading;
+        this.watcher = (refresh == Refresh.WATCH_SERVICE) ? watch() : null;
+    }
+    
+    private WatchService watch()
+    {
+        try
+        {
+            WatchService watcher = file.getFileSystem().newWatchService();
+            Path directory = Objects.requireNonNull(file.getParent(), "directory");
+            
+            directory.register(
+                watcher,
+                StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY,
+                StandardWatchEventKinds.ENTRY_DELETE
+            );
+            
+            Thread thread = new Thread(() -> awaitChanges(watcher), "CachedVersionSource[" + file.getFileName() + "]");
+            thread.setDaemon(true);
+            thread.start();
+            
+            return watcher;
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Could not watch: " + file, e);
+        }
+    }
+    
+    private void awaitChanges(WatchService watcher)
+    {
+        try
+        {
+            while (true)
+            {
+                WatchKey key = watcher.take();
+                boolean changed = false;
+                
+                for (WatchEvent<?> event : key.pollEvents())
+                {
+                    // Overflow means events were lost, which may have included this file.
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW || file.getFileName().equals(event.context()))
+                    {
+                        changed = true;
+                    }
+                }
+                
+                if (changed) { changes.incrementAndGet(); }
+                key.reset();
+            }
+        }
+        catch (ClosedWatchServiceException | InterruptedException ignored) {}
+    }
+    
+    public Path file() { return file; }
+    
+    public Refresh refresh() { return refresh; }
+    
+    /**
+     * Gets the cached version, reading the file first if it hasn't been read
+     * yet or has changed since.
+     *
+     * @return the version
+     * @throws UncheckedIOException if the file couldn't be read
+     * @throws IllegalStateException if the file doesn't contain a valid version
+     */
+    @Override
+    public Version version()
+    {
+        @NullOr Entry entry = this.entry;
+        if (entry == null || entry.stamp != stamp()) { entry = read(); }
+        if (entry.failure != null) { throw entry.exception(entry.failure); }
+        
+        return Objects.requireNonNull(entry.version);
+    }
+    
+    /**
+     * Discards the cached version, so that the next call to {@link #version()} reads the file again.
+     */
+    public synchronized void invalidate()
+    {
+        entry = null;
+    }
+    
+    // Identifies the file's current state, so that a change means it needs to be read again.
+    private long stamp()
+    {
+        switch (refresh)
+        {
+            case MODIFICATION_TIME:
+                try
+                {
+                    BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                    return attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS) * 31 + attributes.size();
+                }
+                catch (IOException e) { return MISSING; }
+            case WATCH_SERVICE:
+                return changes.get();
+            default:
+                return 0;
+        }
+    }
+    
+    private synchronized Entry read()
+    {
+        // Sampled again while holding the lock: a stamp sampled before it may already be
+        // stale, and caching an entry with it would make every later call read the file again.
+        long stamp = stamp();
+        
+        // Another thread may have already read the file in this state.
+        @NullOr Entry entry = this.entry;
+        if (entry != null && entry.stamp == stamp) { return entry; }
+        
+        reads++;
+        
+        try
+        {
+            @NullOr String value = reading.read(file);
+            @NullOr Version version = (value == null) ? null : Version.parse(value).orElse(null);
+            
+            if (value == null) { entry = new Entry(stamp, "Missing " + description, null); }
+            else if (version == null) { entry = new Entry(stamp, "Invalid " + description + ": \"" + value + "\"", null); }
+            else { entry = new Entry(stamp, version); }
+        }
+        catch (NoSuchFileException e)
+        {
+            entry = new Entry(stamp, "Missing file: " + file, e);
+        }
+        catch (IOException | RuntimeException e)
+        {
+            entry = new Entry(stamp, "Could not read " + description, e);
+        }
+        
+        this.entry = entry;
+        return entry;
+    }
+    
+    // Number of times the file has been read
+    synchronized int reads() { return reads; }
+    
+    /**
+     * Stops watching the file for changes (if refreshing with a watch service).
+     * The last version read is still returned, but never refreshed.
+     *
+     * @throws IOException if the watch service couldn't be closed
+     */
+    @Override
+    public void close() throws IOException
+    {
+        if (watcher != null) { watcher.close(); }
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "CachedVersionSource{" + description + ", refresh=" + refresh + "}";
+    }
+}
@@ -0,0 +1,612 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A sorted set of versions read from a memory-mapped file, for sets too large to
+ * keep on the heap as {@link Version} objects. Queries behave like those of a
+ * {@link VersionIndex} containing the same versions.
+ *
+ * <p>Files are written by {@link #write(Path, Stream)}: a header, then fixed-width
+ * records of five {@code int}s (major, minor, patch, and the ranks of the pre-release
+ * and the build metadata) in sorted order, then a metadata region. The region holds each
+ * distinct pre-release and build, {@link VersionCodec encoded} and sorted, behind a table
+ * of their offsets. A rank is a position in one of those tables, so records are compared
+ * as {@code int}s read directly from the mapped pages.</p>
+ *
+ * <p>{@link #open(Path)} only maps the file and checks its header and the bounds of its
+ * offset tables, so it takes about as long for a billion versions as for ten. {@link Version}s are created only for the
+ * results of queries, and metadata is only decoded to create them or to search for a
+ * pre-release.</p>
+ *
+ * <p>Indexes are immutable and can be queried from any number of threads. The mapping
+ * is released when the index (and every slice of it) has been garbage collected, and
+ * the file must not be modified while it's mapped.</p>
+ */
+public final class MappedVersionIndex implements Iterable<Version>
+{
+    // "VCAT"
+    private static final int MAGIC = 0x56434154;
+    private static final int FORMAT = 1;
+    
+    // Magic, format, count, pre-release count, build count, and reserved space
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 5 * Integer.BYTES;
+    
+    private static final int MAJOR = 0;
+    private static final int MINOR = 4;
+    private static final int PATCH = 8;
+    private static final int PRERELEASE = 12;
+    private static final int BUILD = 16;
+    
+    // A single mapping can't exceed 2 GiB, so records are mapped in segments of 2^26 (1.25 GiB).
+    static final int SEGMENT_SHIFT = 26;
+    
+    // Pre-releases are searched on every query for one, so small tables are kept decoded.
+    private static final int CACHED_PRERELEASES = 4096;
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    
+    /**
+     * Writes versions to a file that can be {@link #open(Path) opened} as an index,
+     * replacing the file if it exists. Duplicate versions are written once.
+     *
+     * <p>Versions are collected into a {@link VersionArray} and sorted before being
+     * written, so they're never all held as objects at once.</p>
+     *
+     * @param path      the file to write
+     * @param versions  the versions to write, in any order
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Path path, Stream<Version> versions) throws IOException
+    {
+        VersionArray array = VersionArray.create();
+        versions.forEach(version -> array.add(Objects.requireNonNull(version, "version")));
+        array.sort();
+        
+        new Writer(array).write(path);
+    }
+    
+    public static void write(Path path, Collection<Version> versions) throws IOException
+    {
+        write(path, versions.stream());
+    }
+    
+    public static MappedVersionIndex open(Path path) throws IOException
+    {
+        return open(path, SEGMENT_SHIFT);
+    }
+    
+    // Segments are smaller in tests, to cover records spanning several of them.
+    static MappedVersionIndex open(Path path, int segmentShift) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            long size = channel.size();
+            if (size < HEADER_SIZE) { throw malformed("file is too small: " + size + " byte(s)"); }
+            
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+            
+            if (header.getInt(0) != MAGIC) { throw malformed("not a version index"); }
+            if (header.getInt(4) != FORMAT) { throw malformed("unsupported format: " + header.getInt(4)); }
+            
+            int count = header.getInt(8);
+            int prereleaseCount = header.getInt(12);
+            int buildCount = header.getInt(16);
+            
+            if (count < 0 || prereleaseCount < 0 || buildCount < 0) { throw malformed("negative count"); }
+            
+            long metadataOffset = HEADER_SIZE + (long) count * RECORD_SIZE;
+            long metadataSize = size - metadataOffset;
+            long tablesSize = (prereleaseCount + buildCount + 2L) * Integer.BYTES;
+            
+            if (metadataSize < tablesSize || metadataSize > Integer.MAX_VALUE)
+            {
+                throw malformed("file size doesn't match its header: " + size + " byte(s)");
+            }
+            
+            ByteBuffer[] segments = new ByteBuffer[(int) ((count + (1L << segmentShift) - 1) >>> segmentShift)];
+            
+            for (int i = 0; i < segments.length; i++)
+            {
+                long first = (long) i << segmentShift;
+                long records = Math.min(count - first, 1L << segmentShift);
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, records * RECORD_SIZE);
+            }
+            
+            ByteBuffer metadata = channel.map(FileChannel.MapMode.READ_ONLY, metadataOffset, metadataSize);
+            
+            // Each table's entries must lie between the tables and the end of the file, back to back.
+            int prereleasesStart = metadata.getInt(0);
+            int prereleasesEnd = metadata.getInt(prereleaseCount * Integer.BYTES);
+            int buildsStart = metadata.getInt((prereleaseCount + 1) * Integer.BYTES);
+            int buildsEnd = metadata.getInt((prereleaseCount + buildCount + 1) * Integer.BYTES);
+            
+            if (prereleasesStart != tablesSize || prereleasesEnd < prereleasesStart || prereleasesEnd > metadataSize)
+            {
+                throw malformed("pre-release offsets are out of bounds");
+            }
+            
+            if (buildsStart != prereleasesEnd || buildsEnd < buildsStart || buildsEnd != metadataSize)
+            {
+                throw malformed("build offsets are out of bounds");
+            }
+            
+            Storage storage = new Storage(path, segments, segmentShift, metadata, prereleaseCount, buildCount);
+            
+            return new MappedVersionIndex(storage, 0, count);
+        }
+    }
+    
+    private static IOException malformed(String reason)
+    {
+        return new IOException("Malformed version index: " + reason);
+    }
+    
+    private final Storage storage;
+    private final int from;
+    private final int to;
+    
+    private MappedVersionIndex(Storage storage, int from, int to)
+    {
+        this.storage = storage;
+        this.from = from;
+        this.to = to;
+    }
+    
+    public Path path() { return storage.path; }
+    
+    public int size() { return to - from; }
+    
+    public boolean isEmpty() { return to == from; }
+    
+    /**
+     * Creates the version at the index. A new (but equal) instance is
+     * created on each call, since versions aren't stored as objects.
+     *
+     * @param index the index
+     * @return the version
+     */
+    public Version get(int index)
+    {
+        Objects.checkIndex(index, size());
+        return storage.version(from + index);
+    }
+    
+    public List<Version> asList()
+    {
+        return new ListView();
+    }
+    
+    public Stream<Version> stream()
+    {
+        return IntStream.range(from, to).mapToObj(storage::version);
+    }
+    
+    @Override
+    public Iterator<Version> iterator()
+    {
+        return asList().iterator();
+    }
+    
+    // Index of the first record greater than or equal to the key.
+    private int search(int major, int minor, int patch, int prerelease, int build)
+    {
+        int low = from;
+        int high = to;
+        
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            
+            if (storage.compare(middle, major, minor, patch, prerelease, build) < 0) { low = middle + 1; }
+            else { high = middle; }
+        }
+        
+        return low;
+    }
+    
+    // Index of the first version with precedence greater than (or equal to, if inclusive) the target.
+    private int search(Version target, boolean inclusive)
+    {
+        int prerelease = storage.prereleaseBound(target.prerelease(), inclusive);
+        return search(target.major(), target.minor(), target.patch(), prerelease, 0);
+    }
+    
+    private Optional<Version> at(int index)
+    {
+        return (index >= from && index < to) ? Optional.of(storage.version(index)) : Optional.empty();
+    }
+    
+    public boolean contains(Version version)
+    {
+        int prerelease = storage.prereleaseRank(version.prerelease());
+        int build = storage.buildRank(version.build());
+        if (prerelease < 0 || build < 0) { return false; }
+        
+        int index = search(version.major(), version.minor(), version.patch(), prerelease, build);
+        return index < to && storage.compare(index, version.major(), version.minor(), version.patch(), prerelease, build) == 0;
+    }
+    
+    /**
+     * Gets the greatest version with precedence less than or equal to the provided version.
+     *
+     * @param version the version
+     * @return the floor version, or empty if there isn't one
+     */
+    public Optional<Version> floor(Version version)
+    {
+        return at(search(version, false) - 1);
+    }
+    
+    /**
+     * Gets the least version with precedence greater than or equal to the provided version.
+     *
+     * @param version the version
+     * @return the ceiling version, or empty if there isn't one
+     */
+    public Optional<Version> ceiling(Version version)
+    {
+        return at(search(version, true));
+    }
+    
+    // Greatest version strictly less than the provided version
+    public Optional<Version> lower(Version version)
+    {
+        return at(search(version, true) - 1);
+    }
+    
+    // Least version strictly greater than the provided version
+    public Optional<Version> higher(Version version)
+    {
+        return at(search(version, false));
+    }
+    
+    public Optional<Version> earliest()
+    {
+        return at(from);
+    }
+    
+    public Optional<Version> latest()
+    {
+        return at(to - 1);
+    }
+    
+    /**
+     * Gets a view of the versions within the range, sharing this index's mapping.
+     *
+     * @param range the range
+     * @return the slice of this index within the range
+     */
+    public MappedVersionIndex range(VersionRange range)
+    {
+        if (range.isEmpty()) { return new MappedVersionIndex(storage, from, from); }
+        
+        @NullOr Version lower = range.lower();
+        @NullOr Version upper = range.upper();
+        
+        int low = (lower == null) ? from : search(lower, range.isLowerInclusive());
+        int high = (upper == null) ? to : Math.max(low, search(upper, !range.isUpperInclusive()));
+        
+        return (low == from && high == to) ? this : new MappedVersionIndex(storage, low, high);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "MappedVersionIndex{path=" + storage.path + ", size=" + size() + "}";
+    }
+    
+    private final class ListView extends AbstractList<Version> implements RandomAccess
+    {
+        @Override
+        public Version get(int index) { return MappedVersionIndex.this.get(index); }
+        
+        @Override
+        public int size() { return MappedVersionIndex.this.size(); }
+    }
+    
+    // The mapped file, shared by an index and its slices
+    private static final class Storage
+    {
+        final Path path;
+        final ByteBuffer[] segments;
+        final int segmentShift;
+        final int segmentMask;
+        
+        // Offset tables of pre-releases (then builds), followed by their encoded bytes
+        final ByteBuffer metadata;
+        final int prereleaseCount;
+        final int buildCount;
+        
+        // Decoded pre-releases by rank, filled in as they're decoded (or null if there are too many)
+        final @NullOr VersionMetadata @NullOr [] prereleases;
+        
+        Storage(Path path, ByteBuffer[] segments, int segmentShift, ByteBuffer metadata, int prereleaseCount, int buildCount)
+        {
+            this.path = path;
+            this.segments = segments;
+            this.segmentShift = segmentShift;
+            this.segmentMask = (1 << segmentShift) - 1;
+            this.metadata = metadata;
+            this.prereleaseCount = prereleaseCount;
+            this.buildCount = buildCount;
+            this.prereleases = (prereleaseCount <= CACHED_PRERELEASES) ? new VersionMetadata[prereleaseCount] : null;
+        }
+        
+        // Absolute reads, which don't touch the buffers' positions and so are safe to share
+        int field(int index, int field)
+        {
+            return segments[index >>> segmentShift].getInt((index & segmentMask) * RECORD_SIZE + field);
+        }
+        
+        int compare(int index, int major, int minor, int patch, int prerelease, int build)
+        {
+            int diff = Integer.compare(field(index, MAJOR), major);
+            if (diff != 0) { return diff; }
+            
+            diff = Integer.compare(field(index, MINOR), minor);
+            if (diff != 0) { return diff; }
+            
+            diff = Integer.compare(field(index, PATCH), patch);
+            if (diff != 0) { return diff; }
+            
+            diff = Integer.compare(field(index, PRERELEASE), prerelease);
+            if (diff != 0) { return diff; }
+            
+            return Integer.compare(field(index, BUILD), build);
+        }
+        
+        Version version(int index)
+        {
+            int prerelease = field(index, PRERELEASE);
+            
+            return Version.of(
+                VersionCore.of(field(index, MAJOR), field(index, MINOR), field(index, PATCH)),
+                (prerelease == prereleaseCount) ? VersionMetadata.EMPTY : prerelease(prerelease),
+                build(field(index, BUILD))
+            );
+        }
+        
+        VersionMetadata prerelease(int rank)
+        {
+            if (prereleases == null) { return decode(rank, true); }
+            
+            // Metadata is immutable, so racing threads at worst decode the same entry twice.
+            @NullOr VersionMetadata prerelease = prereleases[rank];
+            if (prerelease == null) { prereleases[rank] = prerelease = decode(rank, true); }
+            return prerelease;
+        }
+        
+        VersionMetadata build(int rank)
+        {
+            return decode(prereleaseCount + 1 + rank, false);
+        }
+        
+        private VersionMetadata decode(int entry, boolean prerelease)
+        {
+            int start = metadata.getInt(entry * Integer.BYTES);
+            int end = metadata.getInt((entry + 1) * Integer.BYTES);
+            
+            ByteBuffer buffer = metadata.duplicate();
+            buffer.limit(end).position(start);
+            return VersionCodec.readMetadata(buffer, prerelease);
+        }
+        
+        // First pre-release rank with precedence greater than (or equal to, if inclusive) the target
+        int prereleaseBound(VersionMetadata target, boolean inclusive)
+        {
+            // Releases are ranked after every pre-release.
+            if (target.isEmpty()) { return (inclusive) ? prereleaseCount : prereleaseCount + 1; }
+            
+            int low = 0;
+            int high = prereleaseCount;
+            
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                int diff = prerelease(middle).compareTo(target);
+                
+                if (diff < 0 || (diff == 0 && !inclusive)) { low = middle + 1; }
+                else { high = middle; }
+            }
+            
+            return low;
+        }
+        
+        int prereleaseRank(VersionMetadata target)
+        {
+            return (target.isEmpty()) ? prereleaseCount : rank(target, 0, prereleaseCount, true);
+        }
+        
+        int buildRank(VersionMetadata target)
+        {
+            int rank = rank(target, prereleaseCount + 1, buildCount, false);
+            return (rank < 0) ? rank : rank - (prereleaseCount + 1);
+        }
+        
+        // Entry of metadata equal to the target within a table, or -1 if there isn't one
+        private int rank(VersionMetadata target, int first, int size, boolean prerelease)
+        {
+            int low = first;
+            int high = first + size - 1;
+            
+            while (low <= high)
+            {
+                int middle = (low + high) >>> 1;
+                VersionMetadata metadata = (prerelease) ? prerelease(middle) : decode(middle, false);
+                int diff = VersionIndex.BUILD_ORDER.compare(metadata, target);
+                
+                if (diff < 0) { low = middle + 1; }
+                else if (diff > 0) { high = middle - 1; }
+                else { return middle; }
+            }
+            
+            return -1;
+        }
+    }
+    
+    private static final class Writer
+    {
+        final VersionArray array;
+        final Map<VersionMetadata, Integer> prereleaseRanks = new HashMap<>();
+        final Map<VersionMetadata, Integer> buildRanks = new HashMap<>();
+        final VersionMetadata[] prereleases;
+        final VersionMetadata[] builds;
+        
+        FileChannel channel;
+        ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+        
+        Writer(VersionArray array)
+        {
+            this.array = array;
+            
+            Set<VersionMetadata> prereleases = new HashSet<>();
+            Set<VersionMetadata> builds = new HashSet<>();
+            
+            for (int i = 0; i < array.size(); i++)
+            {
+                if (!array.prerelease(i).isEmpty()) { prereleases.add(array.prerelease(i)); }
+                builds.add(array.build(i));
+            }
+            
+            this.prereleases = ranked(prereleases, prereleaseRanks);
+            this.builds = ranked(builds, buildRanks);
+        }
+        
+        // Sorted like the array sorts them, so ranks are in the same order as the rows.
+        private static VersionMetadata[] ranked(Set<VersionMetadata> metadata, Map<VersionMetadata, Integer> ranks)
+        {
+            VersionMetadata[] sorted = metadata.toArray(VersionMetadata[]::new);
+            Arrays.sort(sorted, VersionIndex.BUILD_ORDER);
+            for (int i = 0; i < sorted.length; i++) { ranks.put(sorted[i], i); }
+            return sorted;
+        }
+        
+        void write(Path path) throws IOException
+        {
+            try (FileChannel channel = FileChannel.open(
+                path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE
+            ))
+            {
+                this.channel = channel;
+                
+                // The header is written last, once the number of (distinct) records is known.
+                channel.position(HEADER_SIZE);
+                int count = writeRecords();
+                writeMetadata();
+                flush();
+                
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT).putInt(count).putInt(prereleases.length).putInt(builds.length);
+                header.clear();
+                
+                while (header.hasRemaining()) { channel.write(header, header.position()); }
+            }
+        }
+        
+        private int writeRecords() throws IOException
+        {
+            int count = 0;
+            
+            for (int i = 0; i < array.size(); i++)
+            {
+                // Rows are sorted, so duplicates are adjacent.
+                if (i > 0 && isDuplicate(i)) { continue; }
+                
+                VersionMetadata prerelease = array.prerelease(i);
+                
+                ensure(RECORD_SIZE);
+                buffer.putInt(array.major(i));
+                buffer.putInt(array.minor(i));
+                buffer.putInt(array.patch(i));
+                buffer.putInt((prerelease.isEmpty()) ? prereleases.length : prereleaseRanks.get(prerelease));
+                buffer.putInt(buildRanks.get(array.build(i)));
+                count++;
+            }
+            
+            return count;
+        }
+        
+        private boolean isDuplicate(int i)
+        {
+            return array.major(i) == array.major(i - 1)
+                && array.minor(i) == array.minor(i - 1)
+                && array.patch(i) == array.patch(i - 1)
+                && array.prerelease(i).equals(array.prerelease(i - 1))
+                && array.build(i).equals(array.build(i - 1));
+        }
+        
+        private void writeMetadata() throws IOException
+        {
+            long offset = (prereleases.length + builds.length + 2L) * Integer.BYTES;
+            
+            for (VersionMetadata[] table : List.of(prereleases, builds))
+            {
+                for (VersionMetadata metadata : table)
+                {
+                    ensure(Integer.BYTES);
+                    buffer.putInt((int) offset);
+                    offset += VersionCodec.encodedLength(metadata);
+                    
+                    if (offset > Integer.MAX_VALUE) { throw new IllegalArgumentException("Too much metadata to index: " + offset + " bytes"); }
+                }
+                
+                // The end of the last entry
+                ensure(Integer.BYTES);
+                buffer.putInt((int) offset);
+            }
+            
+            for (VersionMetadata[] table : List.of(prereleases, builds))
+            {
+                for (VersionMetadata metadata : table)
+                {
+                    ensure(VersionCodec.encodedLength(metadata));
+                    VersionCodec.write(metadata, buffer);
+                }
+            }
+        }
+        
+        private void ensure(int bytes) throws IOException
+        {
+            if (buffer.remaining() >= bytes) { return; }
+            
+            flush();
+            if (buffer.capacity() < bytes) { buffer = ByteBuffer.allocate(bytes); }
+        }
+        
+        private void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining()) { channel.write(buffer); }
+            buffer.clear();
+        }
+    }
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * The outcome of parsing many inputs at once, in input order.
+ *
+ * <p>Successfully parsed versions are stored in a single array (with {@code null}
+ * gaps for failures), while failures are recorded as compact pairs of line number
+ * and offset into the input. Error objects are only created when requested.</p>
+ *
+ * @see Versions#parseAll(List)
+ * @see Versions#parseLines(java.nio.file.Path)
+ */
+public final class ParsedVersions
+{
+    // Inputs per fork/join leaf: large enough that each leaf's parser is reused many times.
+    static final int THRESHOLD = 2048;
+    
+    private static final int[] NO_ERRORS = {};
+    
+    static ParsedVersions parse(String[] inputs, boolean strict)
+    {
+        Version[] versions = new Version[inputs.length];
+        Task task = new Task(inputs, versions, strict, 0, inputs.length);
+        
+        if (inputs.length <= THRESHOLD) { task.compute(); }
+        else { task.invoke(); }
+        
+        return new ParsedVersions(inputs, versions, task.errorLines, task.errorIndexes, task.errorCount);
+    }
+    
+    private final String[] inputs;
+    private final @NullOr Version[] versions;
+    private final int[] errorLines;
+    private final int[] errorIndexes;
+    private final int errorCount;
+    
+    private ParsedVersions(String[] inputs, @NullOr Version[] versions, int[] errorLines, int[] errorIndexes, int errorCount)
+    {
+        this.inputs = inputs;
+        this.versions = versions;
+        this.errorLines = errorLines;
+        this.errorIndexes = errorIndexes;
+        this.errorCount = errorCount;
+    }
+    
+    /**
+     * Gets the total number of inputs, both successful and not.
+     *
+     * @return the number of inputs
+     */
+    public int size() { return versions.length; }
+    
+    public int successCount() { return versions.length - errorCount; }
+    
+    public int errorCount() { return errorCount; }
+    
+    public boolean hasErrors() { return errorCount > 0; }
+    
+    public String input(int line)
+    {
+        return inputs[line];
+    }
+    
+    /**
+     * Gets the version parsed from the input at the provided (zero-based) line.
+     *
+     * @param line the line
+     * @return the parsed version, or empty if that line failed to parse
+     */
+    public Optional<Version> version(int line)
+    {
+        return Optional.ofNullable(versions[line]);
+    }
+    
+    /**
+     * Gets all successfully parsed versions, in input order.
+     *
+     * @return the parsed versions
+     */
+    public List<Version> versions()
+    {
+        if (errorCount == 0) { return List.of(versions); }
+        
+        Version[] parsed = new Version[successCount()];
+        int i = 0;
+        for (@NullOr Version version : versions) { if (version != null) { parsed[i++] = version; } }
+        return List.of(parsed);
+    }
+    
+    public List<Error> errors()
+    {
+        return new ErrorList();
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "ParsedVersions{size=" + size() + ", errorCount=" + errorCount + "}";
+    }
+    
+    /**
+     * An input that failed to parse.
+     */
+    public static final class Error
+    {
+        private final int line;
+        private final String input;
+        private final int index;
+        
+        private Error(int line, String input, int index)
+        {
+            this.line = line;
+            this.input = input;
+            this.index = index;
+        }
+        
+        // Zero-based line number, or position in the list of inputs
+        public int line() { return line; }
+        
+        public String input() { return input; }
+        
+        // Index of the offending character within the input
+        public int index() { return index; }
+        
+        @Override
+        public String toString()
+        {
+            return "Invalid version on line " + line + " at index " + index + ": \"" + input + "\"";
+        }
+        
+        @Override
+        public boolean equals(@NullOr Object o)
+        {
+            if (this == o) { return true; }
+            if (o == null || getClass() != o.getClass()) { return false; }
+            Error error = (Error) o;
+            return line == error.line && index == error.index && input.equals(error.input);
+        }
+        
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(line, input, index);
+        }
+    }
+    
+    private final class ErrorList extends AbstractList<Error> implements RandomAccess
+    {
+        @Override
+        public Error get(int index)
+        {
+            Objects.checkIndex(index, errorCount);
+            int line = errorLines[index];
+            return new Error(line, inputs[line], errorIndexes[index]);
+        }
+        
+        @Override
+        public int size() { return errorCount; }
+    }
+    
+    // Splits the inputs in halves until they're small enough to parse on one worker with one parser.
+    private static final class Task extends RecursiveAction
+    {
+        private static final long serialVersionUID = 1L;
+        
+        private final String[] inputs;
+        private final Version[] versions;
+        private final boolean strict;
+        private final int from;
+        private final int to;
+        
+        int[] errorLines = NO_ERRORS;
+        int[] errorIndexes = NO_ERRORS;
+        int errorCount = 0;
+        
+        Task(String[] inputs, Version[] versions, boolean strict, int from, int to)
+        {
+            this.inputs = inputs;
+            this.versions = versions;
+            this.strict = strict;
+            this.from = from;
+            this.to = to;
+        }
+        
+        @Override
+        protected void compute()
+        {
+            if (to - from > THRESHOLD)
+            {
+                int middle = (from + to) >>> 1;
+                Task left = new Task(inputs, versions, strict, from, middle);
+                Task right = new Task(inputs, versions, strict, middle, to);
+                
+                invokeAll(left, right);
+                merge(left, right);
+                return;
+            }
+            
+            VersionParser parser = new VersionParser(strict);
+            
+            for (int line = from; line < to; line++)
+            {
+                String input = Objects.requireNonNull(inputs[line], "input");
+                @NullOr Version version = parser.parse(input);
+                
+                if (version != null) { versions[line] = version; }
+                else { error(line, parser.errorIndex()); }
+            }
+        }
+        
+        private void error(int line, int index)
+        {
+            if (errorCount == errorLines.length)
+            {
+                int capacity = Math.max(8, errorCount * 2);
+                errorLines = Arrays.copyOf(errorLines, capacity);
+                errorIndexes = Arrays.copyOf(errorIndexes, capacity);
+            }
+            
+            errorLines[errorCount] = line;
+            errorIndexes[errorCount] = index;
+            errorCount++;
+        }
+        
+        // Left covers earlier lines than right, so concatenating keeps errors in line order.
+        private void merge(Task left, Task right)
+        {
+            errorCount = left.errorCount + right.errorCount;
+            if (errorCount == 0) { return; }
+            
+            errorLines = Arrays.copyOf(left.errorLines, errorCount);
+            errorIndexes = Arrays.copyOf(left.errorIndexes, errorCount);
+            
+            System.arraycopy(right.errorLines, 0, errorLines, left.errorCount, right.errorCount);
+            System.arraycopy(right.errorIndexes, 0, errorIndexes, left.errorCount, right.errorCount);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A version parsed by a {@link VersionScheme}: the original input, and the key
+ * that orders it among other versions of the same scheme.
+ *
+ * <p>The first sixteen bytes of the key are also kept packed in two {@code long}s,
+ * so most comparisons are one or two unsigned {@code long} comparisons (without
+ * even loading the key), and only versions that share that much of their key
+ * compare the rest of it.</p>
+ */
+public final class SchemeVersion implements Comparable<SchemeVersion>
+{
+    /**
+     * Creates a version of a scheme (for implementing {@link VersionScheme}).
+     *
+     * @param scheme    the scheme
+     * @param text      the text of the version
+     * @param key       the key, whose unsigned lexicographic order is the scheme's precedence
+     *                  (see: {@link Arrays#compareUnsigned(byte[], byte[])})
+     * @return the version
+     */
+    public static SchemeVersion of(VersionScheme scheme, String text, byte[] key)
+    {
+        Objects.requireNonNull(scheme, "scheme");
+        Objects.requireNonNull(text, "text");
+        return new SchemeVersion(scheme, text, key.clone());
+    }
+    
+    private final VersionScheme scheme;
+    private final String text;
+    private final byte[] key;
+    private final long head;
+    private final long tail;
+    private final int length;
+    
+    SchemeVersion(VersionScheme scheme, String text, byte[] key)
+    {
+        this.scheme = scheme;
+        this.text = text;
+        this.key = key;
+        this.head = pack(key, 0);
+        this.tail = pack(key, Long.BYTES);
+        this.length = key.length;
+    }
+    
+    // Eight bytes from the offset, big-endian (padded with zeroes), so unsigned order is the key's order.
+    private static long pack(byte[] key, int offset)
+    {
+        long packed = 0;
+        for (int i = offset; i < offset + Long.BYTES; i++) { packed = (packed << 8) | ((i < key.length) ? key[i] & 0xFF : 0); }
+        return packed;
+    }
+    
+    public VersionScheme scheme() { return scheme; }
+    
+    public String text() { return text; }
+    
+    public byte[] key() { return key.clone(); }
+    
+    /**
+     * Compares versions by their keys. Versions of different schemes aren't
+     * comparable by precedence, and are instead ordered by scheme name.
+     *
+     * @param other the other version
+     * @return a negative, zero, or positive number as this version is
+     *         less than, equal to, or greater than the other
+     */
+    @Override
+    public int compareTo(SchemeVersion other)
+    {
+        if (scheme != other.scheme)
+        {
+            int diff = scheme.name().compareTo(other.scheme.name());
+            if (diff != 0) { return diff; }
+        }
+        
+        int diff = Long.compareUnsigned(head, other.head);
+        if (diff != 0) { return diff; }
+        
+        diff = Long.compareUnsigned(tail, other.tail);
+        if (diff != 0) { return diff; }
+        
+        // Packed bytes of short keys can only differ by trailing zeroes, so the longer key is greater.
+        int packed = 2 * Long.BYTES;
+        if (length <= packed || other.length <= packed) { return Integer.compare(length, other.length); }
+        
+        return Arrays.compareUnsigned(key, packed, length, other.key, packed, other.length);
+    }
+    
+    // Equal when of the same scheme with equal keys, e.g. Maven's 1.0 and 1.0.0
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        SchemeVersion that = (SchemeVersion) o;
+        return head == that.head && tail == that.tail && scheme.name().equals(that.scheme.name()) && Arrays.equals(key, that.key);
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return 31 * scheme.name().hashCode() + Arrays.hashCode(key);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return text;
+    }
+}
@@ -9,18 +9,24 @@ package com.rezzedup.util.versions;
 
 import pl.tlinkowski.annotation.basic.NullOr;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.text.ParsePosition;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 @SuppressWarnings("unused")
 public final class Version implements Versions.Comparable<Version>
 {
     /** Zero-version constant **/
-    static final Version ZERO = new Version(VersionCore.ZERO, VersionMetadata.EMPTY, VersionMetadata.EMPTY);
+    static final Version ZERO = new Version(0, 0, 0, null, null);
+    
+    // Classifications of identifiers, see: classify
+    private static final int ALPHANUMERIC = (int) VersionMetadata.ALPHANUMERIC;
+    private static final int LARGE_NUMBER = (int) VersionMetadata.LARGE_NUMBER;
     
     public static VersionCore core(int major, int minor, int patch)
     {
@@ -49,7 +55,42 @@ public final class Version implements Versions.Comparable<Version>
         Objects.requireNonNull(prerelease, "prerelease");
         Objects.requireNonNull(build, "build");
         
-        return new Version(core, prerelease, build);
+        if (prerelease.isEmpty() && build.isEmpty()) { return new Version(core.major(), core.minor(), core.patch(), null, null); }
+        
+        StringBuilder text = core.appendTo(new StringBuilder(32));
+        int[] identifiers = identifiers(prerelease.identifiers().size(), prerelease.identifiers().size() + build.identifiers().size());
+        int next = 1;
+        
+        for (VersionMetadata metadata : List.of(prerelease, build))
+        {
+            char separator = (metadata == prerelease) ? '-' : '+';
+            
+            for (String identifier : metadata.identifiers())
+            {
+                text.append(separator);
+                identifiers[next++] = text.length();
+                text.append(identifier);
+                separator = '.';
+            }
+        }
+        
+        identifiers[next] = text.length() + 1;
+        return new Version(core.major(), core.minor(), core.patch(), text.toString(), identifiers);
+    }
+    
+    // Allocates identifiers for the field, whose starts are then filled in (and classified by the constructor).
+    static int[] identifiers(int prereleases, int count)
+    {
+        int[] identifiers = new int[count + 2 + prereleases];
+        identifiers[0] = prereleases;
+        return identifiers;
+    }
+    
+    // Text must be canonical, with identifiers laid out as described by the field (see: VersionParser)
+    static Version compact(int major, int minor, int patch, @NullOr String text, int @NullOr [] identifiers)
+    {
+        if (text == null) { return (major == 0 && minor == 0 && patch == 0) ? ZERO : new Version(major, minor, patch, null, null); }
+        return new Version(major, minor, patch, text, identifiers);
     }
     
     public static Version of(int major, int minor, int patch, String prerelease, String build)
@@ -77,83 +118,406 @@ public final class Version implements Versions.Comparable<Version>
         return Version.of(major, 0, 0, "", "");
     }
     
-    private static Version parseOrThrow(Pattern pattern, String input)
+    private static VersionParseResult tryParse(VersionParser parser, String input)
     {
         Objects.requireNonNull(input, "input");
-        Matcher matcher = pattern.matcher(input);
-        
-        if (!matcher.matches())
-        {
-            throw new IllegalArgumentException(
-                "Version must match pattern: `" + pattern + "` but received invalid input: \"" + input + "\""
-            );
-        }
-        
-        int major = Versions.intOrZero(matcher.group("major"));
-        int minor = Versions.intOrZero(matcher.group("minor"));
-        int patch = Versions.intOrZero(matcher.group("patch"));
-        String prerelease = Versions.emptyIfNull(matcher.group("prerelease"));
-        String build = Versions.emptyIfNull(matcher.group("buildmetadata"));
-        
-        return Version.of(major, minor, patch, prerelease, build);
+        return VersionParseResult.of(parser, input, parser.parse(input));
+    }
+    
+    /**
+     * Leniently parses the input without throwing, like {@link #parse(String)}, but
+     * reports why (and where) an invalid input failed to parse.
+     *
+     * @param input the input to parse
+     * @return the result, containing either the version or an error
+     */
+    public static VersionParseResult tryParse(String input)
+    {
+        return tryParse(new VersionParser(false), input);
+    }
+    
+    public static VersionParseResult tryParseStrict(String input)
+    {
+        return tryParse(new VersionParser(true), input);
     }
     
     public static Version parseOrThrow(String input)
     {
-        return parseOrThrow(Versions.PARTIAL_SEMVER_PATTERN, input);
+        return tryParse(input).versionOrThrow();
     }
     
     public static Version parseStrictOrThrow(String input)
     {
-        return parseOrThrow(Versions.VALID_SEMVER_PATTERN, input);
+        return tryParseStrict(input).versionOrThrow();
     }
     
     public static Optional<Version> parse(String input)
     {
-        try { return Optional.of(parseOrThrow(input)); }
-        catch (IllegalArgumentException ignored) { return Optional.empty(); }
+        return tryParse(input).version();
     }
     
     public static Optional<Version> parseStrict(String input)
     {
-        try { return Optional.of(parseStrictOrThrow(input)); }
-        catch (IllegalArgumentException ignored) { return Optional.empty(); }
+        return tryParseStrict(input).version();
+    }
+    
+    /**
+     * Leniently parses a region of characters in place, without copying it to a string.
+     *
+     * @param input     the input containing a version
+     * @param offset    the index of the version's first character
+     * @param length    the number of characters in the version
+     * @return the parsed version, or empty if the entire region isn't a valid version
+     * @throws IndexOutOfBoundsException if the region is out of bounds
+     */
+    public static Optional<Version> parse(CharSequence input, int offset, int length)
+    {
+        Objects.checkFromIndexSize(offset, length, input.length());
+        return Optional.ofNullable(new VersionParser(false).parse(input, offset, offset + length, false));
+    }
+    
+    public static Optional<Version> parseStrict(CharSequence input, int offset, int length)
+    {
+        Objects.checkFromIndexSize(offset, length, input.length());
+        return Optional.ofNullable(new VersionParser(true).parse(input, offset, offset + length, false));
+    }
+    
+    /**
+     * Leniently parses a region of ASCII (or UTF-8) bytes in place.
+     *
+     * @param input     the input containing a version
+     * @param offset    the index of the version's first byte
+     * @param length    the number of bytes in the version
+     * @return the parsed version, or empty if the entire region isn't a valid version
+     * @throws IndexOutOfBoundsException if the region is out of bounds
+     */
+    public static Optional<Version> parse(byte[] input, int offset, int length)
+    {
+        Objects.checkFromIndexSize(offset, length, input.length);
+        return Optional.ofNullable(new VersionParser(false).parse(input, offset, offset + length, false));
+    }
+    
+    public static Optional<Version> parseStrict(byte[] input, int offset, int length)
+    {
+        Objects.checkFromIndexSize(offset, length, input.length);
+        return Optional.ofNullable(new VersionParser(true).parse(input, offset, offset + length, false));
+    }
+    
+    private static Optional<Version> parsePrefix(VersionParser parser, CharSequence input, ParsePosition position)
+    {
+        int start = position.getIndex();
+        Objects.checkIndex(start, input.length() + 1);
+        
+        @NullOr Version version = parser.parse(input, start, input.length(), true);
+        
+        if (version != null) { position.setIndex(parser.position()); }
+        else { position.setErrorIndex(parser.errorIndex()); }
+        
+        return Optional.ofNullable(version);
+    }
+    
+    /**
+     * Leniently parses the longest version starting at the position's index, leaving
+     * any following characters unparsed. Like {@link java.text.Format}, the position's
+     * index is advanced past the version on success, and its error index is set on failure.
+     *
+     * <p>For example, parsing {@code "1.2.3-rc.1, 2.0"} from index {@code 0} results in
+     * {@code 1.2.3-rc.1} and advances the index to {@code 10}.</p>
+     *
+     * @param input     the input containing a version
+     * @param position  the position to start from and update
+     * @return the parsed version, or empty if there isn't a version at the position
+     */
+    public static Optional<Version> parsePrefix(CharSequence input, ParsePosition position)
+    {
+        return parsePrefix(new VersionParser(false), input, position);
+    }
+    
+    public static Optional<Version> parseStrictPrefix(CharSequence input, ParsePosition position)
+    {
+        return parsePrefix(new VersionParser(true), input, position);
+    }
+    
+    private static Optional<Version> parsePrefix(VersionParser parser, ByteBuffer buffer)
+    {
+        @NullOr Version version = parser.parse(buffer, buffer.position(), buffer.limit(), true);
+        if (version != null) { buffer.position(parser.position()); }
+        return Optional.ofNullable(version);
+    }
+    
+    /**
+     * Leniently parses the longest version starting at the buffer's position from ASCII
+     * (or UTF-8) bytes, advancing the position past it on success. The buffer isn't
+     * modified if there isn't a version at its position.
+     *
+     * <p>Use {@link ByteBuffer#wrap(byte[], int, int)} to scan regions of a {@code byte[]}.</p>
+     *
+     * @param buffer    the buffer containing a version
+     * @return the parsed version, or empty if there isn't a version at the buffer's position
+     */
+    public static Optional<Version> parsePrefix(ByteBuffer buffer)
+    {
+        return parsePrefix(new VersionParser(false), buffer);
+    }
+    
+    public static Optional<Version> parseStrictPrefix(ByteBuffer buffer)
+    {
+        return parsePrefix(new VersionParser(true), buffer);
+    }
+    
+    /**
+     * Gets the canonical instance equal to the provided version from the
+     * {@link VersionCache#shared() shared cache}. Equality checks between
+     * interned versions are resolved by reference identity.
+     *
+     * @param version the version to intern
+     * @return the canonical instance
+     */
+    public static Version intern(Version version)
+    {
+        return VersionCache.shared().intern(version);
+    }
+    
+    /**
+     * Like {@link #parse(String)}, but returns canonical instances cached
+     * by input in the {@link VersionCache#shared() shared cache}.
+     *
+     * @param input the input to parse
+     * @return the canonical parsed version, or empty if the input is invalid
+     */
+    public static Optional<Version> parseCached(String input)
+    {
+        return VersionCache.shared().parse(input);
+    }
+    
+    /**
+     * Like {@link #parseStrict(String)}, but returns canonical instances cached
+     * by input in the {@link VersionCache#shared() shared cache}.
+     *
+     * @param input the input to parse
+     * @return the canonical parsed version, or empty if the input is invalid
+     */
+    public static Optional<Version> parseStrictCached(String input)
+    {
+        return VersionCache.shared().parseStrict(input);
+    }
+    
+    /**
+     * Decodes a version from its {@link #toSortKey() sort key}.
+     *
+     * @param key the sort key
+     * @return the decoded version
+     * @throws IllegalArgumentException if the key is malformed
+     */
+    public static Version fromSortKey(byte[] key)
+    {
+        return VersionSortKey.decode(key);
     }
     
     public static Version zero() { return ZERO; }
     
     public static Builder builder() { return ZERO.toBuilder(); }
     
-    private final VersionCore core;
-    private final VersionMetadata prerelease;
-    private final VersionMetadata build;
+    private final int major;
+    private final int minor;
+    private final int patch;
+    
+    // The canonical text of a version with metadata, e.g. "1.2.3-rc.1+build.5" (whose
+    // identifiers are slices of it), or null if there's no metadata.
+    private final @NullOr String text;
+    
+    // The number of pre-release identifiers, then the start of each identifier in the
+    // text (pre-release identifiers, then build), then the text's length plus one, so
+    // identifier i ends one before identifiers[i + 2] (at its separator). Last are the
+    // pre-release identifiers' classifications (see: classify), so that comparisons
+    // never re-parse them.
+    private final int @NullOr [] identifiers;
+    
+    // Computed on first use; unsynchronized, since a racing thread computes the same value.
+    private @NullOr String string;
+    private int hash;
+    
+    private Version(int major, int minor, int patch, @NullOr String text, int @NullOr [] identifiers)
+    {
+        this.major = major;
+        this.minor = minor;
+        this.patch = patch;
+        this.text = text;
+        this.identifiers = identifiers;
+        
+        if (identifiers == null) { return; }
+        
+        int prereleases = identifiers[0];
+        int offset = identifiers.length - prereleases;
+        
+        for (int i = 0; i < prereleases; i++) { identifiers[offset + i] = classify(text, identifierStart(i), identifierEnd(i)); }
+    }
+    
+    // Created on each call, see: compareTo(Version) and equals(Object), which don't.
+    public VersionCore core() { return VersionCore.of(major, minor, patch); }
+    
+    public int major() { return major; }
+    
+    public int minor() { return minor; }
+    
+    public int patch() { return patch; }
     
-    private Version(VersionCore core, VersionMetadata prerelease, VersionMetadata build)
+    public VersionMetadata prerelease()
     {
-        this.core = core;
-        this.prerelease = prerelease;
-        this.build = build;
+        return (isPrerelease()) ? VersionMetadata.of(text, identifiers, 0, identifiers[0]) : VersionMetadata.EMPTY;
     }
     
-    public VersionCore core() { return core; }
+    public VersionMetadata build()
+    {
+        return (hasBuild()) ? VersionMetadata.of(text, identifiers, identifiers[0], identifierCount()) : VersionMetadata.EMPTY;
+    }
+    
+    public boolean hasMetadata() { return text != null; }
+    
+    // Same as !prerelease().isEmpty(), without creating the metadata
+    boolean isPrerelease() { return identifiers != null && identifiers[0] > 0; }
+    
+    boolean hasBuild() { return identifiers != null && identifierCount() > identifiers[0]; }
     
-    public int major() { return core.major(); }
+    // Identifiers can be read from the text without creating metadata: pre-release
+    // identifiers are [0, prereleaseCount()), and build identifiers follow them.
     
-    public int minor() { return core.minor(); }
+    @NullOr String text() { return text; }
     
-    public int patch() { return core.patch(); }
+    int prereleaseCount() { return (identifiers == null) ? 0 : identifiers[0]; }
     
-    public VersionMetadata prerelease() { return prerelease; }
+    int buildCount() { return (identifiers == null) ? 0 : identifierCount() - identifiers[0]; }
     
-    public VersionMetadata build() { return build; }
+    private int identifierCount() { return identifiers.length - 2 - identifiers[0]; }
     
-    public boolean hasMetadata() { return prerelease.isPresent() || build.isPresent(); }
+    int identifierStart(int index) { return identifiers[index + 1]; }
+    
+    int identifierEnd(int index) { return identifiers[index + 2] - 1; }
     
     @Override
     public int compareTo(Version o)
     {
-        int diff = core.compareTo(o.core);
-        return (diff != 0) ? diff : prerelease.compareTo(o.prerelease);
+        int diff = Integer.compare(major, o.major);
+        if (diff != 0) { return diff; }
+        
+        diff = Integer.compare(minor, o.minor);
+        if (diff != 0) { return diff; }
+        
+        diff = Integer.compare(patch, o.patch);
+        if (diff != 0) { return diff; }
+        
+        // 11.3:    When major, minor, and patch are equal, a pre-release version has lower precedence
+        //          than a normal version.
+        if (!isPrerelease()) { return (o.isPrerelease()) ? 1 : 0; }
+        if (!o.isPrerelease()) { return -1; }
+        
+        return compareIdentifiers(0, identifiers[0], o, 0, o.identifiers[0]);
+    }
+    
+    /**
+     * Compares build metadata like {@link VersionIndex#BUILD_ORDER}: by the
+     * precedence rules of pre-releases, then by text.
+     */
+    int compareBuild(Version o)
+    {
+        if (!hasBuild()) { return (o.hasBuild()) ? -1 : 0; }
+        if (!o.hasBuild()) { return 1; }
+        
+        int diff = compareIdentifiers(identifiers[0], identifierCount(), o, o.identifiers[0], o.identifierCount());
+        if (diff != 0) { return diff; }
+        
+        int start = identifierStart(identifiers[0]);
+        int otherStart = o.identifierStart(o.identifiers[0]);
+        return compareText(text, start, text.length(), o.text, otherStart, o.text.length());
+    }
+    
+    // Identifiers [from, to) of this version against [otherFrom, otherTo) of the other, like VersionMetadata.compareTo
+    private int compareIdentifiers(int from, int to, Version o, int otherFrom, int otherTo)
+    {
+        for (int i = from, j = otherFrom; i < to; i++, j++)
+        {
+            // 11.4.4:  A larger set of pre-release fields has a higher precedence than a smaller set,
+            //          if all of the preceding identifiers are equal.
+            if (j >= otherTo) { return 1; }
+            
+            int left = classification(i);
+            int right = o.classification(j);
+            
+            boolean leftIsNumeric = left != ALPHANUMERIC;
+            boolean rightIsNumeric = right != ALPHANUMERIC;
+            int diff;
+            
+            // 11.4.1: Identifiers consisting of only digits are compared numerically.
+            if (leftIsNumeric && rightIsNumeric)
+            {
+                if (left == LARGE_NUMBER && right == LARGE_NUMBER)
+                {
+                    diff = compareNumbers(text, identifierStart(i), identifierEnd(i), o.text, o.identifierStart(j), o.identifierEnd(j));
+                }
+                else if (left == LARGE_NUMBER) { diff = 1; }
+                else if (right == LARGE_NUMBER) { diff = -1; }
+                else { diff = Integer.compare(left, right); }
+            }
+            // 11.4.3: Numeric identifiers always have lower precedence than non-numeric identifiers.
+            else if (leftIsNumeric) { return -1; }
+            else if (rightIsNumeric) { return 1; }
+            // 11.4.2: Identifiers with letters or hyphens are compared lexically in ASCII sort order.
+            else { diff = compareText(text, identifierStart(i), identifierEnd(i), o.text, o.identifierStart(j), o.identifierEnd(j)); }
+            
+            if (diff != 0) { return diff; }
+        }
+        
+        return (otherTo - otherFrom > to - from) ? -1 : 0;
+    }
+    
+    // Pre-release identifiers are classified once, build identifiers (only compared for a stable order) when needed.
+    private int classification(int index)
+    {
+        int prereleases = identifiers[0];
+        if (index < prereleases) { return identifiers[identifiers.length - prereleases + index]; }
+        return classify(text, identifierStart(index), identifierEnd(index));
+    }
+    
+    /**
+     * Classifies an identifier like {@link VersionMetadata#classify(String)}, but as an
+     * {@code int}: numbers beyond {@link Integer#MAX_VALUE} are {@link #LARGE_NUMBER},
+     * and compared by their digits.
+     */
+    private static int classify(String text, int start, int end)
+    {
+        if (start == end) { return ALPHANUMERIC; }
+        for (int i = start; i < end; i++) { if (!VersionParser.isDigit(text.charAt(i))) { return ALPHANUMERIC; } }
+        
+        while (start < end - 1 && text.charAt(start) == '0') { start++; }
+        if (end - start > 10) { return LARGE_NUMBER; }
+        
+        long value = 0;
+        for (int i = start; i < end; i++) { value = (value * 10) + (text.charAt(i) - '0'); }
+        return (value > Integer.MAX_VALUE) ? LARGE_NUMBER : (int) value;
+    }
+    
+    // Numbers of any length: more significant digits is greater, otherwise lexical order is numeric order.
+    private static int compareNumbers(String left, int leftStart, int leftEnd, String right, int rightStart, int rightEnd)
+    {
+        while (leftStart < leftEnd - 1 && left.charAt(leftStart) == '0') { leftStart++; }
+        while (rightStart < rightEnd - 1 && right.charAt(rightStart) == '0') { rightStart++; }
+        
+        int diff = Integer.compare(leftEnd - leftStart, rightEnd - rightStart);
+        return (diff != 0) ? diff : compareText(left, leftStart, leftEnd, right, rightStart, rightEnd);
+    }
+    
+    // Same as String.compareTo on the regions
+    private static int compareText(String left, int leftStart, int leftEnd, String right, int rightStart, int rightEnd)
+    {
+        int length = Math.min(leftEnd - leftStart, rightEnd - rightStart);
+        
+        for (int i = 0; i < length; i++)
+        {
+            int diff = left.charAt(leftStart + i) - right.charAt(rightStart + i);
+            if (diff != 0) { return diff; }
+        }
+        
+        return (leftEnd - leftStart) - (rightEnd - rightStart);
     }
     
     public Builder toBuilder()
@@ -161,13 +525,83 @@ public final class Version implements Versions.Comparable<Version>
         return new Builder();
     }
     
+    /**
+     * Encodes this version as a byte array whose unsigned lexicographic order is
+     * version precedence (see: {@link java.util.Arrays#compareUnsigned(byte[], byte[])}),
+     * for use as a key in byte-ordered stores. Versions of equal precedence are
+     * ordered by build metadata, so only equal versions have equal keys.
+     *
+     * @return the sort key
+     * @see #fromSortKey(byte[])
+     */
+    public byte[] toSortKey()
+    {
+        return VersionSortKey.encode(this);
+    }
+    
     @Override
     public String toString()
     {
-        String ver = core.toString();
-        if (!prerelease.isEmpty()) { ver += "-" + prerelease; }
-        if (!build.isEmpty()) { ver += "+" + build; }
-        return ver;
+        if (text != null) { return text; }
+        
+        @NullOr String string = this.string;
+        if (string == null) { this.string = string = appendTo(new StringBuilder(16)).toString(); }
+        return string;
+    }
+    
+    /**
+     * Appends this version's string form to the builder, without creating any intermediate strings.
+     *
+     * @param builder the builder to append to
+     * @return the builder
+     */
+    public StringBuilder appendTo(StringBuilder builder)
+    {
+        if (text != null) { return builder.append(text); }
+        
+        @NullOr String string = this.string;
+        if (string != null) { return builder.append(string); }
+        
+        return builder.append(major).append('.').append(minor).append('.').append(patch);
+    }
+    
+    /**
+     * Appends this version's string form to the appendable. Builders are appended to directly,
+     * other appendables (like writers) are appended the cached {@link #toString() string}.
+     *
+     * @param appendable the appendable to append to
+     * @param <A> the type of appendable
+     * @return the appendable
+     * @throws IOException if appending fails
+     */
+    public <A extends Appendable> A appendTo(A appendable) throws IOException
+    {
+        if (appendable instanceof StringBuilder) { appendTo((StringBuilder) appendable); }
+        else { appendable.append(toString()); }
+        return appendable;
+    }
+    
+    /**
+     * Writes this version's string form as ASCII at the buffer's position, advancing it.
+     *
+     * @param buffer the buffer to write into
+     * @return the buffer
+     * @throws java.nio.BufferOverflowException if there isn't enough room in the buffer
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer)
+    {
+        if (text != null)
+        {
+            Versions.putAscii(buffer, text);
+            return buffer;
+        }
+        
+        Versions.putDecimal(buffer, major);
+        buffer.put((byte) '.');
+        Versions.putDecimal(buffer, minor);
+        buffer.put((byte) '.');
+        Versions.putDecimal(buffer, patch);
+        return buffer;
     }
     
     @Override
@@ -176,15 +610,42 @@ public final class Version implements Versions.Comparable<Version>
         if (this == o) { return true; }
         if (o == null || getClass() != o.getClass()) { return false; }
         Version version = (Version) o;
-        return Objects.equals(core, version.core)
-            && Objects.equals(prerelease, version.prerelease)
-            && Objects.equals(build, version.build);
+        return major == version.major
+            && minor == version.minor
+            && patch == version.patch
+            && Objects.equals(text, version.text)
+            && Arrays.equals(identifiers, version.identifiers);
     }
     
     @Override
     public int hashCode()
     {
-        return Objects.hash(core, prerelease, build);
+        // Same as Objects.hash(core(), prerelease(), build()), cached (zero just means it isn't yet).
+        int hash = this.hash;
+        
+        if (hash == 0)
+        {
+            int prerelease = 31 + ((isPrerelease()) ? hashIdentifiers(0, identifiers[0]) : 1);
+            int build = 31 + ((hasBuild()) ? hashIdentifiers(identifiers[0], identifierCount()) : 1);
+            this.hash = hash = 31 * (31 * (31 + VersionCore.hashCode(major, minor, patch)) + prerelease) + build;
+        }
+        
+        return hash;
+    }
+    
+    // Same as List.hashCode() of the identifiers as strings
+    private int hashIdentifiers(int from, int to)
+    {
+        int hash = 1;
+        
+        for (int i = from; i < to; i++)
+        {
+            int identifier = 0;
+            for (int c = identifierStart(i); c < identifierEnd(i); c++) { identifier = 31 * identifier + text.charAt(c); }
+            hash = 31 * hash + identifier;
+        }
+        
+        return hash;
     }
     
     public final class Builder
@@ -195,9 +656,9 @@ public final class Version implements Versions.Comparable<Version>
         
         private Builder()
         {
-            this.core = Version.this.core.toBuilder();
-            this.prerelease = Version.this.prerelease.toString();
-            this.build = Version.this.build.toString();
+            this.core = Version.this.core().toBuilder();
+            this.prerelease = Version.this.prerelease().toString();
+            this.build = Version.this.build().toString();
         }
         
         public Builder major(int major)
@@ -241,5 +702,5 @@ public final class Version implements Versions.Comparable<Version>
             return Version.of(core.build(), meta(prerelease), meta(build));
         }
     }
-    
+
 }
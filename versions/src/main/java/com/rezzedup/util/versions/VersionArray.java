@@ -0,0 +1,386 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * A growable, columnar array of versions for very large lists.
+ *
+ * <p>Core numbers are stored in {@code int} columns, and pre-release and build
+ * metadata are stored once each in a shared table that rows refer to by id, so each
+ * version costs five {@code int}s instead of several objects. {@link Version} objects
+ * are only created when a row is accessed.</p>
+ *
+ * <p>{@link #sort()} orders rows by precedence, with build metadata as a final tiebreak
+ * (like {@link VersionIndex}), using a stable least-significant-digit radix sort over
+ * the columns rather than comparisons. Metadata is ranked once per distinct value, so
+ * even pre-release precedence is sorted as integers.</p>
+ *
+ * <p>Arrays are not thread-safe.</p>
+ */
+public final class VersionArray implements Iterable<Version>
+{
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int RADIX_MASK = RADIX - 1;
+    
+    // Id of the empty metadata, which is always present in the table
+    private static final int EMPTY = 0;
+    
+    public static VersionArray create()
+    {
+        return withCapacity(16);
+    }
+    
+    public static VersionArray withCapacity(int capacity)
+    {
+        if (capacity < 0) { throw new IllegalArgumentException("capacity must be positive: " + capacity); }
+        return new VersionArray(capacity);
+    }
+    
+    public static VersionArray of(Collection<Version> versions)
+    {
+        VersionArray array = withCapacity(versions.size());
+        for (Version version : versions) { array.add(version); }
+        return array;
+    }
+    
+    private int[] majors;
+    private int[] minors;
+    private int[] patches;
+    private int[] prereleases;
+    private int[] builds;
+    private int size;
+    
+    // Distinct metadata (both pre-release and build), by id
+    private VersionMetadata[] metadata;
+    private int metadataCount;
+    private final Map<VersionMetadata, Integer> metadataIds = new HashMap<>();
+    
+    private boolean sorted = true;
+    
+    private VersionArray(int capacity)
+    {
+        this.majors = new int[capacity];
+        this.minors = new int[capacity];
+        this.patches = new int[capacity];
+        this.prereleases = new int[capacity];
+        this.builds = new int[capacity];
+        this.metadata = new VersionMetadata[8];
+        
+        metadata[metadataCount++] = VersionMetadata.EMPTY;
+        metadataIds.put(VersionMetadata.EMPTY, EMPTY);
+    }
+    
+    public int size() { return size; }
+    
+    public boolean isEmpty() { return size == 0; }
+    
+    // Whether the array hasn't changed since it was last sorted
+    public boolean isSorted() { return sorted; }
+    
+    // Number of distinct pre-release and build metadata values stored
+    int metadataCount() { return metadataCount; }
+    
+    private int id(VersionMetadata meta)
+    {
+        if (meta.isEmpty()) { return EMPTY; }
+        
+        @NullOr Integer id = metadataIds.get(meta);
+        if (id != null) { return id; }
+        
+        if (metadataCount == metadata.length) { metadata = Arrays.copyOf(metadata, metadataCount * 2); }
+        
+        metadata[metadataCount] = meta;
+        metadataIds.put(meta, metadataCount);
+        return metadataCount++;
+    }
+    
+    public void add(Version version)
+    {
+        if (size == majors.length)
+        {
+            int capacity = Math.max(16, size + (size >> 1));
+            
+            majors = Arrays.copyOf(majors, capacity);
+            minors = Arrays.copyOf(minors, capacity);
+            patches = Arrays.copyOf(patches, capacity);
+            prereleases = Arrays.copyOf(prereleases, capacity);
+            builds = Arrays.copyOf(builds, capacity);
+        }
+        
+        majors[size] = version.major();
+        minors[size] = version.minor();
+        patches[size] = version.patch();
+        prereleases[size] = id(version.prerelease());
+        builds[size] = id(version.build());
+        
+        sorted = size == 0;
+        size++;
+    }
+    
+    public void addAll(Collection<Version> versions)
+    {
+        for (Version version : versions) { add(version); }
+    }
+    
+    public int major(int index)
+    {
+        Objects.checkIndex(index, size);
+        return majors[index];
+    }
+    
+    public int minor(int index)
+    {
+        Objects.checkIndex(index, size);
+        return minors[index];
+    }
+    
+    public int patch(int index)
+    {
+        Objects.checkIndex(index, size);
+        return patches[index];
+    }
+    
+    public VersionMetadata prerelease(int index)
+    {
+        Objects.checkIndex(index, size);
+        return metadata[prereleases[index]];
+    }
+    
+    public VersionMetadata build(int index)
+    {
+        Objects.checkIndex(index, size);
+        return metadata[builds[index]];
+    }
+    
+    /**
+     * Creates the version at the index. A new (but equal) instance is
+     * created on each call, since versions aren't stored as objects.
+     *
+     * @param index the index
+     * @return the version
+     */
+    public Version get(int index)
+    {
+        Objects.checkIndex(index, size);
+        
+        return Version.of(
+            VersionCore.of(majors[index], minors[index], patches[index]),
+            metadata[prereleases[index]],
+            metadata[builds[index]]
+        );
+    }
+    
+    public List<Version> asList()
+    {
+        return new ListView();
+    }
+    
+    @Override
+    public Iterator<Version> iterator()
+    {
+        return asList().iterator();
+    }
+    
+    /**
+     * Sorts the array by precedence, then by build metadata.
+     */
+    public void sort()
+    {
+        if (sorted) { return; }
+        
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) { order[i] = i; }
+        
+        Sorter sorter = new Sorter(order);
+        
+        // Least significant first, each pass stable.
+        sorter.pass(builds, ranks(VersionIndex.BUILD_ORDER, false));
+        // Pre-releases of equal precedence (but different text) are ordered like builds, so equal rows end up adjacent.
+        sorter.pass(prereleases, ranks(VersionIndex.BUILD_ORDER, true));
+        sorter.pass(patches, null);
+        sorter.pass(minors, null);
+        sorter.pass(majors, null);
+        
+        order = sorter.order;
+        
+        majors = permute(majors, order);
+        minors = permute(minors, order);
+        patches = permute(patches, order);
+        prereleases = permute(prereleases, order);
+        builds = permute(builds, order);
+        
+        sorted = true;
+    }
+    
+    // Ranks every metadata id so that comparing ranks is the same as comparing metadata.
+    private int[] ranks(Comparator<VersionMetadata> comparator, boolean emptyLast)
+    {
+        Integer[] ids = new Integer[metadataCount];
+        for (int i = 0; i < metadataCount; i++) { ids[i] = i; }
+        Arrays.sort(ids, (a, b) -> comparator.compare(metadata[a], metadata[b]));
+        
+        int[] ranks = new int[metadataCount];
+        int rank = 0;
+        
+        for (int i = 0; i < ids.length; i++)
+        {
+            if (i > 0 && comparator.compare(metadata[ids[i - 1]], metadata[ids[i]]) != 0) { rank++; }
+            ranks[ids[i]] = rank;
+        }
+        
+        // A release (without a pre-release) has higher precedence than any pre-release.
+        if (emptyLast) { ranks[EMPTY] = rank + 1; }
+        
+        return ranks;
+    }
+    
+    private int[] permute(int[] column, int[] order)
+    {
+        int[] permuted = new int[column.length];
+        for (int i = 0; i < size; i++) { permuted[i] = column[order[i]]; }
+        return permuted;
+    }
+    
+    private final class Sorter
+    {
+        int[] order;
+        int[] keys;
+        int[] scratchOrder;
+        int[] scratchKeys;
+        final int[] counts = new int[RADIX + 1];
+        
+        Sorter(int[] order)
+        {
+            this.order = order;
+            this.keys = new int[size];
+            this.scratchOrder = new int[size];
+            this.scratchKeys = new int[size];
+        }
+        
+        // Stably sorts the current order by a column (mapped through ranks, if not null), one digit at a time.
+        void pass(int[] column, int[] ranks)
+        {
+            int max = 0;
+            
+            for (int i = 0; i < size; i++)
+            {
+                int key = column[order[i]];
+                if (ranks != null) { key = ranks[key]; }
+                keys[i] = key;
+                max |= key;
+            }
+            
+            // Keys are never negative, so only the digits up to the highest set bit matter.
+            int bits = Integer.SIZE - Integer.numberOfLeadingZeros(max);
+            for (int shift = 0; shift < bits; shift += RADIX_BITS) { digit(shift); }
+        }
+        
+        private void digit(int shift)
+        {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < size; i++) { counts[((keys[i] >>> shift) & RADIX_MASK) + 1]++; }
+            
+            // Every key has the same digit: this pass wouldn't move anything.
+            for (int count : counts) { if (count == size) { return; } }
+            
+            for (int i = 1; i <= RADIX; i++) { counts[i] += counts[i - 1]; }
+            
+            for (int i = 0; i < size; i++)
+            {
+                int destination = counts[(keys[i] >>> shift) & RADIX_MASK]++;
+                scratchOrder[destination] = order[i];
+                scratchKeys[destination] = keys[i];
+            }
+            
+            int[] swap = order;
+            order = scratchOrder;
+            scratchOrder = swap;
+            
+            swap = keys;
+            keys = scratchKeys;
+            scratchKeys = swap;
+        }
+    }
+    
+    private int compareTo(int index, Version version, VersionMetadata other)
+    {
+        int diff = Integer.compare(majors[index], version.major());
+        if (diff != 0) { return diff; }
+        
+        diff = Integer.compare(minors[index], version.minor());
+        if (diff != 0) { return diff; }
+        
+        diff = Integer.compare(patches[index], version.patch());
+        if (diff != 0) { return diff; }
+        
+        VersionMetadata prerelease = metadata[prereleases[index]];
+        
+        if (prerelease.isEmpty() || other.isEmpty()) { return Boolean.compare(prerelease.isEmpty(), other.isEmpty()); }
+        return prerelease.compareTo(other);
+    }
+    
+    /**
+     * Searches the sorted array for a version with the same precedence as the provided version.
+     *
+     * @param version the version to search for
+     * @return the index of a version with equal precedence if there is one, otherwise
+     *         {@code (-(insertion point) - 1)}, like {@link Arrays#binarySearch(int[], int)}
+     * @throws IllegalStateException if the array isn't sorted
+     */
+    public int binarySearch(Version version)
+    {
+        if (!sorted) { throw new IllegalStateException("Array must be sorted"); }
+        
+        // Created once, rather than by every comparison
+        VersionMetadata prerelease = version.prerelease();
+        
+        int low = 0;
+        int high = size - 1;
+        
+        while (low <= high)
+        {
+            int middle = (low + high) >>> 1;
+            int diff = compareTo(middle, version, prerelease);
+            
+            if (diff < 0) { low = middle + 1; }
+            else if (diff > 0) { high = middle - 1; }
+            else { return middle; }
+        }
+        
+        return -(low + 1);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return asList().toString();
+    }
+    
+    private final class ListView extends AbstractList<Version> implements RandomAccess
+    {
+        @Override
+        public Version get(int index) { return VersionArray.this.get(index); }
+        
+        @Override
+        public int size() { return size; }
+    }
+}
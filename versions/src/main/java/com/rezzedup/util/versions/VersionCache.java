@@ -0,0 +1,296 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded, thread-safe canonicalizing cache of versions.
+ *
+ * <p>Interning maps equal versions to a single canonical instance, so repeated
+ * parsing of the same few inputs stops allocating, and equality checks between
+ * interned versions are resolved by reference identity. Inputs are cached separately
+ * from canonical versions, so cached parsing skips the parser entirely on a hit.</p>
+ *
+ * <p>Each table holds at most {@link #maximumSize()} entries. Once full, entries are
+ * evicted in insertion order, except that recently used entries get a second chance
+ * (the "clock" approximation of least-recently-used eviction). Lookups never lock.</p>
+ *
+ * @see Version#intern(Version)
+ * @see Version#parseCached(String)
+ */
+public final class VersionCache
+{
+    public static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    
+    public static VersionCache create(int maximumSize)
+    {
+        if (maximumSize <= 0) { throw new IllegalArgumentException("maximumSize must be greater than zero: " + maximumSize); }
+        return new VersionCache(maximumSize);
+    }
+    
+    public static VersionCache create()
+    {
+        return create(DEFAULT_MAXIMUM_SIZE);
+    }
+    
+    /**
+     * Gets the cache shared by {@link Version#intern(Version)} and the
+     * {@code Version.parse*Cached} methods. It is only created once first used.
+     *
+     * @return the shared cache
+     */
+    public static VersionCache shared()
+    {
+        return Shared.INSTANCE;
+    }
+    
+    private static final class Shared
+    {
+        static final VersionCache INSTANCE = create();
+    }
+    
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    
+    private final int maximumSize;
+    private final Table<Version> canonical;
+    private final Table<String> partial;
+    private final Table<String> strict;
+    
+    private VersionCache(int maximumSize)
+    {
+        this.maximumSize = maximumSize;
+        this.canonical = new Table<>();
+        this.partial = new Table<>();
+        this.strict = new Table<>();
+    }
+    
+    public int maximumSize() { return maximumSize; }
+    
+    /**
+     * Gets the canonical instance equal to the provided version,
+     * caching the provided version as canonical if there isn't one.
+     *
+     * @param version the version to intern
+     * @return the canonical instance equal to the version
+     */
+    public Version intern(Version version)
+    {
+        Objects.requireNonNull(version, "version");
+        return intern(version, true);
+    }
+    
+    private Version intern(Version version, boolean record)
+    {
+        // Zero is always canonical.
+        if (version.equals(Version.ZERO)) { return Version.ZERO; }
+        
+        @NullOr Version existing = canonical.get(version, record);
+        if (existing != null) { return existing; }
+        
+        return canonical.putIfAbsent(version, version);
+    }
+    
+    private @NullOr Version parse(Table<String> table, VersionParser parser, String input)
+    {
+        Objects.requireNonNull(input, "input");
+        
+        @NullOr Version cached = table.get(input, true);
+        if (cached != null) { return cached; }
+        
+        @NullOr Version parsed = parser.parse(input);
+        if (parsed == null) { return null; }
+        
+        // Already recorded as a miss, don't count the canonical lookup too.
+        return table.putIfAbsent(input, intern(parsed, false));
+    }
+    
+    /**
+     * Leniently parses the input (like {@link Version#parse(String)}), returning
+     * the canonical instance. Invalid inputs are not cached.
+     *
+     * @param input the input to parse
+     * @return the canonical parsed version, or empty if the input is invalid
+     */
+    public Optional<Version> parse(String input)
+    {
+        return Optional.ofNullable(parse(partial, new VersionParser(false), input));
+    }
+    
+    /**
+     * Strictly parses the input (like {@link Version#parseStrict(String)}), returning
+     * the canonical instance. Invalid inputs are not cached.
+     *
+     * @param input the input to parse
+     * @return the canonical parsed version, or empty if the input is invalid
+     */
+    public Optional<Version> parseStrict(String input)
+    {
+        return Optional.ofNullable(parse(strict, new VersionParser(true), input));
+    }
+    
+    public Stats stats()
+    {
+        return new Stats(
+            hits.sum(),
+            misses.sum(),
+            evictions.sum(),
+            canonical.map.size() + partial.map.size() + strict.map.size()
+        );
+    }
+    
+    public void clear()
+    {
+        canonical.clear();
+        partial.clear();
+        strict.clear();
+    }
+    
+    private static final class Entry
+    {
+        final Version version;
+        
+        // Set on every hit and cleared by eviction; races are benign since it's only a hint.
+        boolean referenced;
+        
+        Entry(Version version)
+        {
+            this.version = version;
+        }
+    }
+    
+    private final class Table<K>
+    {
+        final ConcurrentHashMap<K, Entry> map = new ConcurrentHashMap<>();
+        final ConcurrentLinkedQueue<K> insertions = new ConcurrentLinkedQueue<>();
+        
+        @NullOr Version get(K key, boolean record)
+        {
+            @NullOr Entry entry = map.get(key);
+            
+            if (entry == null)
+            {
+                if (record) { misses.increment(); }
+                return null;
+            }
+            
+            // Avoid writing (and invalidating the cache line) if already marked.
+            if (!entry.referenced) { entry.referenced = true; }
+            
+            if (record) { hits.increment(); }
+            return entry.version;
+        }
+        
+        Version putIfAbsent(K key, Version version)
+        {
+            @NullOr Entry existing = map.putIfAbsent(key, new Entry(version));
+            if (existing != null) { return existing.version; }
+            
+            insertions.offer(key);
+            if (map.size() > maximumSize) { evict(); }
+            
+            return version;
+        }
+        
+        private void evict()
+        {
+            // Every referenced entry is given one more pass through the queue,
+            // so this will find an unreferenced victim within two full rotations.
+            for (int scanned = 0; map.size() > maximumSize; scanned++)
+            {
+                @NullOr K key = insertions.poll();
+                if (key == null) { return; }
+                
+                @NullOr Entry entry = map.get(key);
+                if (entry == null) { continue; }
+                
+                if (entry.referenced && scanned < 2 * maximumSize)
+                {
+                    entry.referenced = false;
+                    insertions.offer(key);
+                }
+                else if (map.remove(key, entry))
+                {
+                    evictions.increment();
+                }
+            }
+        }
+        
+        void clear()
+        {
+            map.clear();
+            insertions.clear();
+        }
+    }
+    
+    /**
+     * A point-in-time snapshot of cache statistics.
+     */
+    public static final class Stats
+    {
+        private final long hitCount;
+        private final long missCount;
+        private final long evictionCount;
+        private final int size;
+        
+        private Stats(long hitCount, long missCount, long evictionCount, int size)
+        {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+        
+        public long hitCount() { return hitCount; }
+        
+        public long missCount() { return missCount; }
+        
+        public long requestCount() { return hitCount + missCount; }
+        
+        public long evictionCount() { return evictionCount; }
+        
+        /**
+         * Gets the ratio of lookups that were hits.
+         *
+         * @return the hit rate between {@code 0.0} and {@code 1.0},
+         *         or {@code 1.0} if there haven't been any lookups
+         */
+        public double hitRate()
+        {
+            long requests = requestCount();
+            return (requests == 0) ? 1.0 : (double) hitCount / requests;
+        }
+        
+        /**
+         * Gets the total number of cached entries, including both
+         * canonical versions and parsed inputs.
+         *
+         * @return the number of cached entries
+         */
+        public int size() { return size; }
+        
+        @Override
+        public String toString()
+        {
+            return "Stats{" +
+                "hitCount=" + hitCount +
+                ", missCount=" + missCount +
+                ", evictionCount=" + evictionCount +
+                ", size=" + size +
+                '}';
+        }
+    }
+}
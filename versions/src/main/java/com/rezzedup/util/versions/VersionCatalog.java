@@ -0,0 +1,196 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * An immutable catalog of the versions available for each artifact, along with
+ * the dependencies (artifact name to constraint) of every version.
+ *
+ * @see VersionResolver
+ */
+public final class VersionCatalog
+{
+    public static Builder builder() { return new Builder(); }
+    
+    // Artifact ids are indexes: catalog artifacts in insertion order, followed by missing dependencies.
+    final String[] names;
+    final Map<String, Integer> ids;
+    
+    // Per artifact, highest first
+    final Version[][] candidates;
+    
+    // Per artifact, per candidate
+    final Dependency[][][] dependencies;
+    
+    // Every dependency by edge id
+    final Dependency[] edges;
+    
+    private final Map<String, VersionIndex> versions;
+    private final Map<String, Map<Version, Map<String, VersionConstraint>>> declared;
+    
+    private VersionCatalog(Map<String, Map<Version, Map<String, VersionConstraint>>> declared)
+    {
+        this.declared = declared;
+        
+        Map<String, Integer> ids = new LinkedHashMap<>();
+        for (String name : declared.keySet()) { ids.put(name, ids.size()); }
+        
+        for (Map<Version, Map<String, VersionConstraint>> artifact : declared.values())
+        {
+            for (Map<String, VersionConstraint> dependencies : artifact.values())
+            {
+                for (String name : dependencies.keySet()) { ids.putIfAbsent(name, ids.size()); }
+            }
+        }
+        
+        this.ids = Collections.unmodifiableMap(ids);
+        this.names = ids.keySet().toArray(String[]::new);
+        this.candidates = new Version[names.length][];
+        this.dependencies = new Dependency[names.length][][];
+        
+        Map<String, VersionIndex> versions = new LinkedHashMap<>();
+        List<Dependency> edges = new ArrayList<>();
+        
+        for (int id = 0; id < names.length; id++)
+        {
+            Map<Version, Map<String, VersionConstraint>> artifact = declared.getOrDefault(names[id], Map.of());
+            VersionIndex index = VersionIndex.of(artifact.keySet());
+            
+            if (!index.isEmpty()) { versions.put(names[id], index); }
+            
+            candidates[id] = new Version[index.size()];
+            dependencies[id] = new Dependency[index.size()][];
+            
+            for (int i = 0; i < index.size(); i++)
+            {
+                Version version = index.get(index.size() - 1 - i);
+                Map<String, VersionConstraint> declaredDependencies = artifact.get(version);
+                Dependency[] resolved = new Dependency[declaredDependencies.size()];
+                
+                int d = 0;
+                for (Map.Entry<String, VersionConstraint> entry : declaredDependencies.entrySet())
+                {
+                    Dependency dependency = new Dependency(edges.size(), id, version, ids.get(entry.getKey()), entry.getValue());
+                    edges.add(dependency);
+                    resolved[d++] = dependency;
+                }
+                
+                candidates[id][i] = version;
+                dependencies[id][i] = resolved;
+            }
+        }
+        
+        this.versions = Collections.unmodifiableMap(versions);
+        this.edges = edges.toArray(Dependency[]::new);
+    }
+    
+    /**
+     * Gets the names of all artifacts with at least one version.
+     *
+     * @return the artifact names
+     */
+    public Set<String> artifacts()
+    {
+        return versions.keySet();
+    }
+    
+    public VersionIndex versions(String artifact)
+    {
+        return versions.getOrDefault(artifact, VersionIndex.empty());
+    }
+    
+    public Map<String, VersionConstraint> dependencies(String artifact, Version version)
+    {
+        return declared.getOrDefault(artifact, Map.of()).getOrDefault(version, Map.of());
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "VersionCatalog" + versions;
+    }
+    
+    // A dependency of one artifact's version on another artifact.
+    static final class Dependency
+    {
+        final int edge;
+        final int source;
+        final @NullOr Version sourceVersion;
+        final int target;
+        final VersionConstraint constraint;
+        
+        Dependency(int edge, int source, @NullOr Version sourceVersion, int target, VersionConstraint constraint)
+        {
+            this.edge = edge;
+            this.source = source;
+            this.sourceVersion = sourceVersion;
+            this.target = target;
+            this.constraint = constraint;
+        }
+    }
+    
+    public static final class Builder
+    {
+        private final Map<String, Map<Version, Map<String, VersionConstraint>>> artifacts = new LinkedHashMap<>();
+        
+        private Builder() {}
+        
+        public Builder add(String artifact, Version version)
+        {
+            return add(artifact, version, Map.of());
+        }
+        
+        /**
+         * Adds an available version of an artifact, replacing any previously added
+         * dependencies of that exact version.
+         *
+         * @param artifact      the artifact name
+         * @param version       the available version
+         * @param dependencies  the version's dependencies: artifact names to constraints
+         * @return this builder
+         * @throws IllegalArgumentException if the artifact depends on itself
+         */
+        public Builder add(String artifact, Version version, Map<String, VersionConstraint> dependencies)
+        {
+            Objects.requireNonNull(artifact, "artifact");
+            Objects.requireNonNull(version, "version");
+            
+            if (dependencies.containsKey(artifact))
+            {
+                throw new IllegalArgumentException("Artifact cannot depend on itself: " + artifact + " " + version);
+            }
+            
+            Map<String, VersionConstraint> copy = new LinkedHashMap<>();
+            
+            dependencies.forEach((name, constraint) -> copy.put(
+                Objects.requireNonNull(name, "name"),
+                Objects.requireNonNull(constraint, "constraint")
+            ));
+            
+            artifacts.computeIfAbsent(artifact, k -> new LinkedHashMap<>()).put(version, Collections.unmodifiableMap(copy));
+            return this;
+        }
+        
+        public VersionCatalog build()
+        {
+            Map<String, Map<Version, Map<String, VersionConstraint>>> copy = new LinkedHashMap<>();
+            artifacts.forEach((name, versions) -> copy.put(name, Collections.unmodifiableMap(new LinkedHashMap<>(versions))));
+            return new VersionCatalog(Collections.unmodifiableMap(copy));
+        }
+    }
+}
@@ -0,0 +1,607 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+
+/**
+ * A compiled, immutable version constraint: a union of {@link VersionRange ranges}.
+ *
+ * <p>Supported syntax (sets of comparators may be combined with {@code ||}):</p>
+ * <ul>
+ *     <li>Comparators: {@code >=1.2.0 <2.0.0}, {@code >1.2}, {@code <=2}, {@code =1.2.3}</li>
+ *     <li>Exact and X-ranges: {@code 1.2.3}, {@code 1.2}, {@code 1.x}, {@code 1.2.*}, {@code *}</li>
+ *     <li>Caret ranges: {@code ^1.2.3} (compatible with 1.x), {@code ^0.2.3} (0.2.x), {@code ^0.0.3}</li>
+ *     <li>Tilde ranges: {@code ~1.2.3} (1.2.x), {@code ~1} (1.x)</li>
+ *     <li>Hyphen ranges: {@code 1.2.3 - 2.3}</li>
+ *     <li>Maven ranges: {@code [1.0,2.0)}, {@code (,1.0]}, {@code [1.5]}, {@code [1.0,1.2),[1.3,)}</li>
+ * </ul>
+ *
+ * <p>Pre-releases follow the same rules as npm: a version with a pre-release only
+ * satisfies a set of comparators if the set contains a comparator with a pre-release
+ * on the same {@code major.minor.patch} core (so {@code >=1.2.3-beta.2} accepts
+ * {@code 1.2.3-beta.4} but not {@code 1.2.4-beta.1}), unless the constraint
+ * is {@link #includingPrereleases() including pre-releases}. Maven ranges are
+ * plain intervals and accept any pre-release between their bounds.</p>
+ *
+ * <p>Testing a version does not allocate, so a single constraint can be checked
+ * against large numbers of candidates from many threads.</p>
+ */
+public final class VersionConstraint implements Predicate<Version>
+{
+    private static final VersionCore[] NO_CORES = {};
+    
+    private static final VersionConstraint ANY =
+        new VersionConstraint("*", new VersionRange[] { VersionRange.all() }, new VersionCore[][] { NO_CORES }, false);
+    
+    public static VersionConstraint any() { return ANY; }
+    
+    public static VersionConstraint parseOrThrow(String input)
+    {
+        Objects.requireNonNull(input, "input");
+        return new Parser(input).parse();
+    }
+    
+    public static Optional<VersionConstraint> parse(String input)
+    {
+        try { return Optional.of(parseOrThrow(input)); }
+        catch (IllegalArgumentException ignored) { return Optional.empty(); }
+    }
+    
+    /**
+     * Creates a constraint satisfied by any version within any of the provided ranges,
+     * including pre-releases.
+     *
+     * @param ranges the ranges
+     * @return a constraint matching the union of the ranges
+     */
+    public static VersionConstraint of(List<VersionRange> ranges)
+    {
+        VersionRange[] array = ranges.stream().filter(range -> !range.isEmpty()).toArray(VersionRange[]::new);
+        VersionCore[][] cores = new VersionCore[array.length][];
+        
+        StringBuilder text = new StringBuilder();
+        for (VersionRange range : array)
+        {
+            if (text.length() > 0) { text.append(" || "); }
+            text.append(range);
+        }
+        
+        return new VersionConstraint(text.toString(), array, cores, true);
+    }
+    
+    private final String text;
+    private final VersionRange[] ranges;
+    
+    // Per range: the cores on which pre-releases are allowed, or null if all pre-releases are.
+    private final VersionCore[][] prereleaseCores;
+    
+    private final boolean includePrereleases;
+    
+    private VersionConstraint(
+        String text, VersionRange[] ranges, VersionCore[][] prereleaseCores, boolean includePrereleases)
+    {
+        this.text = text;
+        this.ranges = ranges;
+        this.prereleaseCores = prereleaseCores;
+        this.includePrereleases = includePrereleases;
+    }
+    
+    /**
+     * Gets the ranges that make up this constraint. Empty ranges (sets of comparators
+     * that no version can satisfy) are omitted, so a constraint that matches nothing
+     * has no ranges at all.
+     *
+     * @return the ranges, in the order they were declared
+     */
+    public List<VersionRange> ranges() { return List.of(ranges); }
+    
+    public boolean isIncludingPrereleases() { return includePrereleases; }
+    
+    /**
+     * Gets a constraint identical to this one, except that any pre-release
+     * within its ranges satisfies it.
+     *
+     * @return a constraint that includes all pre-releases within its ranges
+     */
+    public VersionConstraint includingPrereleases()
+    {
+        return (includePrereleases) ? this : new VersionConstraint(text, ranges, prereleaseCores, true);
+    }
+    
+    public boolean isSatisfiedBy(Version version)
+    {
+        for (int i = 0; i < ranges.length; i++)
+        {
+            if (!ranges[i].contains(version)) { continue; }
+            if (includePrereleases || !version.isPrerelease()) { return true; }
+            
+            VersionCore[] cores = prereleaseCores[i];
+            if (cores == null) { return true; }
+            
+            for (VersionCore allowed : cores)
+            {
+                if (allowed.major() == version.major() && allowed.minor() == version.minor() && allowed.patch() == version.patch())
+                {
+                    return true;
+                }
+            }
+        }
+        
+        return false;
+    }
+    
+    @Override
+    public boolean test(Version version)
+    {
+        return isSatisfiedBy(version);
+    }
+    
+    public boolean isSatisfiedBy(VersionSource source)
+    {
+        return isSatisfiedBy(source.version());
+    }
+    
+    @Override
+    public String toString()
+    {
+        return text;
+    }
+    
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        VersionConstraint constraint = (VersionConstraint) o;
+        return includePrereleases == constraint.includePrereleases
+            && Arrays.equals(ranges, constraint.ranges)
+            && Arrays.deepEquals(prereleaseCores, constraint.prereleaseCores);
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return 31 * Arrays.hashCode(ranges) + Boolean.hashCode(includePrereleases);
+    }
+    
+    // Partial version with wildcards, e.g. 1.x or 1.2.* (absent components are wildcards too)
+    private static final class Partial
+    {
+        static final int WILDCARD = -1;
+        
+        final int major;
+        final int minor;
+        final int patch;
+        final @NullOr Version version; // only present when all components are
+        
+        Partial(int major, int minor, int patch, @NullOr Version version)
+        {
+            this.major = major;
+            this.minor = minor;
+            this.patch = patch;
+            this.version = version;
+        }
+        
+        boolean isAny() { return major == WILDCARD; }
+        
+        // The lowest version matched by this partial: 1.x := 1.0.0
+        Version floor()
+        {
+            if (version != null) { return version; }
+            return Version.of(Math.max(0, major), Math.max(0, minor), Math.max(0, patch));
+        }
+    }
+    
+    private static final class Parser
+    {
+        private final String input;
+        
+        private final List<VersionRange> ranges = new ArrayList<>();
+        private final List<VersionCore[]> cores = new ArrayList<>(); // null entries allow all pre-releases
+        
+        private int position;
+        
+        Parser(String input)
+        {
+            this.input = input;
+        }
+        
+        VersionConstraint parse()
+        {
+            int start = 0;
+            
+            while (true)
+            {
+                int separator = input.indexOf("||", start);
+                int end = (separator < 0) ? input.length() : separator;
+                
+                set(start, end);
+                
+                if (separator < 0) { break; }
+                start = separator + 2;
+            }
+            
+            return new VersionConstraint(
+                input.trim(),
+                ranges.toArray(VersionRange[]::new),
+                cores.toArray(VersionCore[][]::new),
+                false
+            );
+        }
+        
+        private IllegalArgumentException error(String message, int index)
+        {
+            return new IllegalArgumentException(
+                message + " at index " + index + " in version constraint: \"" + input + "\""
+            );
+        }
+        
+        private void skipWhitespace(int end)
+        {
+            while (position < end && Character.isWhitespace(input.charAt(position))) { position++; }
+        }
+        
+        private void add(VersionRange range, VersionCore[] prereleaseCores)
+        {
+            if (range.isEmpty()) { return; }
+            ranges.add(range);
+            cores.add(prereleaseCores);
+        }
+        
+        private void set(int start, int end)
+        {
+            position = start;
+            skipWhitespace(end);
+            
+            if (position == end)
+            {
+                // An empty set matches anything, like: *
+                add(VersionRange.all(), NO_CORES);
+                return;
+            }
+            
+            char first = input.charAt(position);
+            if (first == '[' || first == '(') { mavenRanges(end); return; }
+            
+            VersionRange range = VersionRange.all();
+            List<VersionCore> prereleases = new ArrayList<>(1);
+            
+            while (position < end)
+            {
+                int comparatorStart = position;
+                String operator = operator(end);
+                skipWhitespace(end);
+                
+                Partial partial = partial(end);
+                
+                // Hyphen range: 1.2.3 - 2.3.4
+                int afterVersion = position;
+                skipWhitespace(end);
+                
+                if (operator.isEmpty() && position < end - 1 && input.charAt(position) == '-'
+                    && position > afterVersion && Character.isWhitespace(input.charAt(position + 1)))
+                {
+                    position++;
+                    skipWhitespace(end);
+                    Partial upper = partial(end);
+                    
+                    range = range.intersection(hyphen(partial, upper));
+                    addPrerelease(prereleases, partial);
+                    addPrerelease(prereleases, upper);
+                }
+                else
+                {
+                    if (position == afterVersion && position < end)
+                    {
+                        throw error("Unexpected character '" + input.charAt(position) + "'", position);
+                    }
+                    
+                    range = range.intersection(comparator(operator, partial, comparatorStart));
+                    addPrerelease(prereleases, partial);
+                }
+                
+                skipWhitespace(end);
+            }
+            
+            add(range, prereleases.toArray(VersionCore[]::new));
+        }
+        
+        private static void addPrerelease(List<VersionCore> prereleases, Partial partial)
+        {
+            if (partial.version != null && partial.version.isPrerelease())
+            {
+                prereleases.add(partial.version.core());
+            }
+        }
+        
+        private String operator(int end)
+        {
+            int start = position;
+            
+            while (position < end)
+            {
+                char c = input.charAt(position);
+                if (c == '<' || c == '>' || c == '=' || c == '~' || c == '^') { position++; }
+                else { break; }
+            }
+            
+            String operator = input.substring(start, position);
+            
+            switch (operator)
+            {
+                case "": case "=": case "<": case "<=": case ">": case ">=": case "~": case "~>": case "^":
+                    return operator;
+                default:
+                    throw error("Unknown operator \"" + operator + "\"", start);
+            }
+        }
+        
+        private static boolean isWildcard(char c)
+        {
+            return c == 'x' || c == 'X' || c == '*';
+        }
+        
+        private Partial partial(int end)
+        {
+            int start = position;
+            
+            // Allow a 'v' prefix, like: v1.2.3
+            if (position < end && (input.charAt(position) == 'v' || input.charAt(position) == 'V')) { start = ++position; }
+            
+            int[] components = { Partial.WILDCARD, Partial.WILDCARD, Partial.WILDCARD };
+            boolean wildcard = false;
+            
+            for (int i = 0; i < components.length; i++)
+            {
+                if (position >= end) { throw error("Expected version number", position); }
+                
+                char c = input.charAt(position);
+                
+                if (isWildcard(c))
+                {
+                    // Anything following a wildcard is a wildcard too: 1.x.3 is 1.x
+                    wildcard = true;
+                    position++;
+                }
+                else
+                {
+                    int number = number(end);
+                    if (!wildcard) { components[i] = number; }
+                }
+                
+                if (position < end && input.charAt(position) == '.') { position++; }
+                else { break; }
+            }
+            
+            @NullOr Version version = null;
+            
+            if (position < end && (input.charAt(position) == '-' || input.charAt(position) == '+')
+                && !Character.isWhitespace(input.charAt(Math.min(position + 1, end - 1))))
+            {
+                if (wildcard || components[2] == Partial.WILDCARD)
+                {
+                    throw error("Pre-release and build metadata require a complete version", position);
+                }
+                
+                while (position < end && !Character.isWhitespace(input.charAt(position))) { position++; }
+                
+                VersionParser parser = new VersionParser(true);
+                version = parser.parse(input, start, position);
+                
+                if (version == null) { throw error("Invalid version", parser.errorIndex()); }
+            }
+            else if (components[2] != Partial.WILDCARD)
+            {
+                version = Version.of(components[0], components[1], components[2]);
+            }
+            
+            return new Partial(components[0], components[1], components[2], version);
+        }
+        
+        private int number(int end)
+        {
+            int start = position;
+            long value = 0;
+            
+            while (position < end && VersionParser.isDigit(input.charAt(position)))
+            {
+                value = (value * 10) + (input.charAt(position++) - '0');
+                if (value > Integer.MAX_VALUE) { throw error("Number is too large", start); }
+            }
+            
+            if (position == start) { throw error("Expected version number", start); }
+            if (position - start > 1 && input.charAt(start) == '0') { throw error("Number has leading zeroes", start); }
+            
+            return (int) value;
+        }
+        
+        private void mavenRanges(int end)
+        {
+            while (true)
+            {
+                skipWhitespace(end);
+                if (position >= end) { throw error("Expected '[' or '('", position); }
+                
+                char open = input.charAt(position);
+                if (open != '[' && open != '(') { throw error("Expected '[' or '('", position); }
+                
+                int close = position + 1;
+                while (close < end && input.charAt(close) != ']' && input.charAt(close) != ')') { close++; }
+                if (close >= end) { throw error("Unclosed range", position); }
+                
+                int comma = input.indexOf(',', position);
+                boolean lowerInclusive = open == '[';
+                boolean upperInclusive = input.charAt(close) == ']';
+                
+                if (comma < 0 || comma > close)
+                {
+                    // Exact: [1.0]
+                    if (!lowerInclusive || !upperInclusive) { throw error("Exact range must use brackets", position); }
+                    add(VersionRange.exactly(mavenVersion(position + 1, close)), null);
+                }
+                else
+                {
+                    @NullOr Version lower = mavenBound(position + 1, comma);
+                    @NullOr Version upper = mavenBound(comma + 1, close);
+                    
+                    if (lower != null && upper != null && lower.compareTo(upper) > 0)
+                    {
+                        throw error("Lower bound is greater than upper bound", position);
+                    }
+                    
+                    add(VersionRange.between(lower, lowerInclusive, upper, upperInclusive), null);
+                }
+                
+                position = close + 1;
+                skipWhitespace(end);
+                
+                if (position >= end) { return; }
+                if (input.charAt(position) != ',') { throw error("Expected ','", position); }
+                position++;
+            }
+        }
+        
+        private @NullOr Version mavenBound(int start, int end)
+        {
+            while (start < end && Character.isWhitespace(input.charAt(start))) { start++; }
+            while (end > start && Character.isWhitespace(input.charAt(end - 1))) { end--; }
+            return (start == end) ? null : mavenVersion(start, end);
+        }
+        
+        private Version mavenVersion(int start, int end)
+        {
+            while (start < end && Character.isWhitespace(input.charAt(start))) { start++; }
+            while (end > start && Character.isWhitespace(input.charAt(end - 1))) { end--; }
+            
+            VersionParser parser = new VersionParser(false);
+            @NullOr Version version = parser.parse(input, start, end);
+            
+            if (version == null) { throw error("Invalid version", parser.errorIndex()); }
+            return version;
+        }
+        
+        // The lowest pre-release of a core: 1.2.3-0
+        private static Version lowest(int major, int minor, int patch)
+        {
+            return Version.of(major, minor, patch, "0");
+        }
+        
+        // The lowest version above everything matched by a partial, or null if unbounded.
+        private static @NullOr Version above(Partial partial)
+        {
+            if (partial.isAny()) { return null; }
+            
+            if (partial.minor == Partial.WILDCARD)
+            {
+                return (partial.major == Integer.MAX_VALUE) ? null : lowest(partial.major + 1, 0, 0);
+            }
+            
+            if (partial.patch == Partial.WILDCARD)
+            {
+                return (partial.minor == Integer.MAX_VALUE) ? null : lowest(partial.major, partial.minor + 1, 0);
+            }
+            
+            return null;
+        }
+        
+        private VersionRange comparator(String operator, Partial partial, int index)
+        {
+            switch (operator)
+            {
+                case "":
+                case "=":
+                {
+                    if (partial.isAny()) { return VersionRange.all(); }
+                    if (partial.version != null) { return VersionRange.exactly(partial.version); }
+                    return VersionRange.between(partial.floor(), true, above(partial), false);
+                }
+                case ">=":
+                {
+                    return (partial.isAny()) ? VersionRange.all() : VersionRange.atLeast(partial.floor());
+                }
+                case ">":
+                {
+                    if (partial.isAny()) { return VersionRange.empty(); }
+                    if (partial.version != null) { return VersionRange.greaterThan(partial.version); }
+                    
+                    @NullOr Version above = above(partial);
+                    return (above == null) ? VersionRange.empty() : VersionRange.atLeast(above);
+                }
+                case "<=":
+                {
+                    if (partial.isAny()) { return VersionRange.all(); }
+                    if (partial.version != null) { return VersionRange.atMost(partial.version); }
+                    
+                    @NullOr Version above = above(partial);
+                    return (above == null) ? VersionRange.all() : VersionRange.lessThan(above);
+                }
+                case "<":
+                {
+                    if (partial.isAny()) { return VersionRange.empty(); }
+                    if (partial.version != null) { return VersionRange.lessThan(partial.version); }
+                    return VersionRange.lessThan(lowest(Math.max(0, partial.major), Math.max(0, partial.minor), 0));
+                }
+                case "~":
+                case "~>":
+                {
+                    if (partial.isAny()) { return VersionRange.all(); }
+                    
+                    // ~1 := 1.x, ~1.2 and ~1.2.3 := 1.2.x
+                    @NullOr Version upper = (partial.minor == Partial.WILDCARD)
+                        ? above(partial)
+                        : above(new Partial(partial.major, partial.minor, Partial.WILDCARD, null));
+                    
+                    return VersionRange.between(partial.floor(), true, upper, false);
+                }
+                case "^":
+                {
+                    if (partial.isAny()) { return VersionRange.all(); }
+                    
+                    // The left-most non-zero component can't change:
+                    // ^1.2.3 := 1.x, ^0.2.3 := 0.2.x, ^0.0.3 := 0.0.3 (and pre-releases of it)
+                    @NullOr Version upper;
+                    
+                    if (partial.major > 0 || partial.minor == Partial.WILDCARD)
+                    {
+                        upper = above(new Partial(partial.major, Partial.WILDCARD, Partial.WILDCARD, null));
+                    }
+                    else if (partial.minor > 0 || partial.patch == Partial.WILDCARD)
+                    {
+                        upper = above(new Partial(0, partial.minor, Partial.WILDCARD, null));
+                    }
+                    else
+                    {
+                        upper = (partial.patch == Integer.MAX_VALUE) ? null : lowest(0, 0, partial.patch + 1);
+                    }
+                    
+                    return VersionRange.between(partial.floor(), true, upper, false);
+                }
+                default:
+                    throw error("Unknown operator \"" + operator + "\"", index);
+            }
+        }
+        
+        private static VersionRange hyphen(Partial lower, Partial upper)
+        {
+            @NullOr Version floor = (lower.isAny()) ? null : lower.floor();
+            
+            if (upper.isAny()) { return VersionRange.between(floor, true, null, false); }
+            if (upper.version != null) { return VersionRange.between(floor, true, upper.version, true); }
+            
+            return VersionRange.between(floor, true, above(upper), false);
+        }
+    }
+}
@@ -9,10 +9,35 @@ package com.rezzedup.util.versions;
 
 import pl.tlinkowski.annotation.basic.NullOr;
 
-import java.util.Objects;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 
+/**
+ * The {@code major.minor.patch} core of a version.
+ *
+ * <p>Cores with components no greater than {@link #PACKED_COMPONENT_MAX} also
+ * have a packed primitive representation: a single non-negative {@code long}
+ * laid out as follows (most significant bit first):</p>
+ *
+ * <pre>
+ *  63 | 62 ........ 42 | 41 ........ 21 | 20 ......... 0
+ *   0 | major (21 bit) | minor (21 bit) | patch (21 bit)
+ * </pre>
+ *
+ * <p>Packed cores order exactly like {@link #compareTo(VersionCore)}, so a plain
+ * {@code long} comparison (or {@link java.util.Arrays#sort(long[])}) sorts them by
+ * precedence without any objects involved.</p>
+ */
 public final class VersionCore implements Versions.Comparable<VersionCore>
 {
+    /** Number of bits used by each component of a packed core. **/
+    public static final int PACKED_COMPONENT_BITS = 21;
+    
+    /** Largest component value that can be packed: {@value} **/
+    public static final int PACKED_COMPONENT_MAX = (1 << PACKED_COMPONENT_BITS) - 1;
+    
+    private static final long NOT_PACKED = -1;
+    
     static final VersionCore ZERO = new VersionCore(0, 0, 0);
     
     static VersionCore of(int major, int minor, int patch)
@@ -26,15 +51,70 @@ public final class VersionCore implements Versions.Comparable<VersionCore>
         );
     }
     
+    public static boolean isPackable(int major, int minor, int patch)
+    {
+        // Negative numbers are out of range too.
+        return (major | minor | patch) >= 0
+            && major <= PACKED_COMPONENT_MAX
+            && minor <= PACKED_COMPONENT_MAX
+            && patch <= PACKED_COMPONENT_MAX;
+    }
+    
+    /**
+     * Packs the components into a single {@code long} (see: {@link VersionCore}).
+     *
+     * @param major the major version
+     * @param minor the minor version
+     * @param patch the patch version
+     * @return the packed core
+     * @throws IllegalArgumentException if any component is negative or
+     *                                  greater than {@link #PACKED_COMPONENT_MAX}
+     */
+    public static long pack(int major, int minor, int patch)
+    {
+        if (!isPackable(major, minor, patch))
+        {
+            throw new IllegalArgumentException(
+                "Cannot pack core: " + major + "." + minor + "." + patch +
+                " (components must be between 0 and " + PACKED_COMPONENT_MAX + ")"
+            );
+        }
+        
+        return packUnchecked(major, minor, patch);
+    }
+    
+    private static long packUnchecked(int major, int minor, int patch)
+    {
+        return ((long) major << (2 * PACKED_COMPONENT_BITS)) | ((long) minor << PACKED_COMPONENT_BITS) | patch;
+    }
+    
+    public static VersionCore fromPackedLong(long packed)
+    {
+        if (packed < 0) { throw new IllegalArgumentException("Invalid packed core: " + packed); }
+        
+        return VersionCore.of(
+            (int) (packed >>> (2 * PACKED_COMPONENT_BITS)),
+            (int) (packed >>> PACKED_COMPONENT_BITS) & PACKED_COMPONENT_MAX,
+            (int) packed & PACKED_COMPONENT_MAX
+        );
+    }
+    
     private final int major;
     private final int minor;
     private final int patch;
     
+    // Packed representation, or NOT_PACKED if any component is out of range.
+    private final long packed;
+    
+    // Lazily cached by toString(): races just render the same string twice.
+    private @NullOr String string;
+    
     VersionCore(int major, int minor, int patch)
     {
         this.major = major;
         this.minor = minor;
         this.patch = patch;
+        this.packed = (isPackable(major, minor, patch)) ? packUnchecked(major, minor, patch) : NOT_PACKED;
     }
     
     public Builder toBuilder()
@@ -48,6 +128,20 @@ public final class VersionCore implements Versions.Comparable<VersionCore>
     
     public int patch() { return patch; }
     
+    public boolean isPackable() { return packed != NOT_PACKED; }
+    
+    /**
+     * Gets the packed representation of this core (see: {@link VersionCore}).
+     *
+     * @return the packed core
+     * @throws IllegalStateException if this core {@link #isPackable() cannot be packed}
+     */
+    public long toPackedLong()
+    {
+        if (packed != NOT_PACKED) { return packed; }
+        throw new IllegalStateException("Cannot pack core: " + this + " (components must be between 0 and " + PACKED_COMPONENT_MAX + ")");
+    }
+    
     // >= 1.2.3
     public boolean atLeast(int major, int minor, int patch)
     {
@@ -75,12 +169,17 @@ public final class VersionCore implements Versions.Comparable<VersionCore>
     // <= 1.2.*
     public boolean atMost(int major, int minor)
     {
+        if (packed != NOT_PACKED && isPackable(major, minor, 0))
+        {
+            return (packed >>> PACKED_COMPONENT_BITS) <= (packUnchecked(major, minor, 0) >>> PACKED_COMPONENT_BITS);
+        }
         return atMost(major, minor, Integer.MAX_VALUE);
     }
     
     // <= 1.*.*
     public boolean atMost(int major)
     {
+        if (packed != NOT_PACKED) { return (packed >>> (2 * PACKED_COMPONENT_BITS)) <= major; }
         return atMost(major, Integer.MAX_VALUE, Integer.MAX_VALUE);
     }
     
@@ -93,25 +192,35 @@ public final class VersionCore implements Versions.Comparable<VersionCore>
     // == 1.2.*
     public boolean isAny(int major, int minor)
     {
+        if (packed != NOT_PACKED && isPackable(major, minor, 0))
+        {
+            return (packed >>> PACKED_COMPONENT_BITS) == (packUnchecked(major, minor, 0) >>> PACKED_COMPONENT_BITS);
+        }
         return atLeast(major, minor) && atMost(major, minor);
     }
     
     // == 1.*.*
     public boolean isAny(int major)
     {
+        if (packed != NOT_PACKED) { return (packed >>> (2 * PACKED_COMPONENT_BITS)) == major; }
         return atLeast(major) && atMost(major);
     }
     
     @SuppressWarnings("RedundantIfStatement") // included for clarity
     private int compareTo(int major, int minor, int patch)
     {
-        int diffMajor = this.major - major;
+        if (packed != NOT_PACKED && isPackable(major, minor, patch))
+        {
+            return Long.compare(packed, packUnchecked(major, minor, patch));
+        }
+        
+        int diffMajor = Integer.compare(this.major, major);
         if (diffMajor != 0) { return diffMajor; }
         
-        int diffMinor = this.minor - minor;
+        int diffMinor = Integer.compare(this.minor, minor);
         if (diffMinor != 0) { return diffMinor; }
         
-        int diffPatch = this.patch - patch;
+        int diffPatch = Integer.compare(this.patch, patch);
         if (diffPatch != 0) { return diffPatch; }
         
         return 0;
@@ -120,13 +229,47 @@ public final class VersionCore implements Versions.Comparable<VersionCore>
     @Override
     public int compareTo(VersionCore o)
     {
+        if (packed != NOT_PACKED && o.packed != NOT_PACKED) { return Long.compare(packed, o.packed); }
         return compareTo(o.major, o.minor, o.patch);
     }
     
     @Override
     public String toString()
     {
-        return major + "." + minor + "." + patch;
+        @NullOr String string = this.string;
+        if (string == null) { this.string = string = appendTo(new StringBuilder(16)).toString(); }
+        return string;
+    }
+    
+    public StringBuilder appendTo(StringBuilder builder)
+    {
+        @NullOr String string = this.string;
+        if (string != null) { return builder.append(string); }
+        return builder.append(major).append('.').append(minor).append('.').append(patch);
+    }
+    
+    public <A extends Appendable> A appendTo(A appendable) throws IOException
+    {
+        if (appendable instanceof StringBuilder) { appendTo((StringBuilder) appendable); }
+        else { appendable.append(toString()); }
+        return appendable;
+    }
+    
+    /**
+     * Writes this core as ASCII at the buffer's position, advancing it.
+     *
+     * @param buffer the buffer to write into
+     * @return the buffer
+     * @throws java.nio.BufferOverflowException if there isn't enough room in the buffer
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer)
+    {
+        Versions.putDecimal(buffer, major);
+        buffer.put((byte) '.');
+        Versions.putDecimal(buffer, minor);
+        buffer.put((byte) '.');
+        Versions.putDecimal(buffer, patch);
+        return buffer;
     }
     
     @Override
@@ -141,7 +284,15 @@ public final class VersionCore implements Versions.Comparable<VersionCore>
     @Override
     public int hashCode()
     {
-        return Objects.hash(major, minor, patch);
+        return hashCode(major, minor, patch);
+    }
+    
+    // Hash code of a core with these components, without creating it
+    static int hashCode(int major, int minor, int patch)
+    {
+        // Equal cores are either both packed or both not.
+        if (isPackable(major, minor, patch)) { return Long.hashCode(packUnchecked(major, minor, patch)); }
+        return 31 * (31 * major + minor) + patch;
     }
     
     public final class Builder
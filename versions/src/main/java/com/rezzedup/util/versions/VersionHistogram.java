@@ -0,0 +1,340 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A thread-safe count of occurrences of each version, for telemetry.
+ *
+ * <p>Each distinct version has its own {@link LongAdder}, so concurrent increments
+ * of even the same version rarely contend. Raw inputs are mapped straight to the
+ * counter of the version they parse to (up to {@link #MAXIMUM_INPUTS} distinct
+ * inputs), so recording the same strings over and over never re-parses them.</p>
+ *
+ * <p>Queries are made against a {@link Snapshot}, which is immutable and can be
+ * merged with snapshots from other histograms (such as those of other nodes).</p>
+ */
+public final class VersionHistogram
+{
+    /** The most distinct raw inputs remembered; beyond this, new inputs are parsed every time. **/
+    public static final int MAXIMUM_INPUTS = 4096;
+    
+    public static VersionHistogram create()
+    {
+        return new VersionHistogram();
+    }
+    
+    private final ConcurrentHashMap<Version, Counter> counters = new ConcurrentHashMap<>();
+    
+    // Raw inputs to the counter of their version, or to the invalid counter
+    private final ConcurrentHashMap<String, Counter> inputs = new ConcurrentHashMap<>();
+    
+    private final Counter invalid = new Counter();
+    
+    private VersionHistogram() {}
+    
+    private Counter counter(Version version)
+    {
+        // Plain get first: computeIfAbsent may lock even when the key is present.
+        @NullOr Counter counter = counters.get(version);
+        return (counter != null) ? counter : counters.computeIfAbsent(version, k -> new Counter());
+    }
+    
+    public void record(Version version)
+    {
+        counter(Objects.requireNonNull(version, "version")).adder.increment();
+    }
+    
+    public void record(Version version, long count)
+    {
+        if (count < 0) { throw new IllegalArgumentException("count must be positive: " + count); }
+        counter(Objects.requireNonNull(version, "version")).adder.add(count);
+    }
+    
+    /**
+     * Leniently parses and records the input, or counts it as invalid.
+     *
+     * @param input the input
+     * @return {@code true} if the input was a valid version
+     */
+    public boolean record(String input)
+    {
+        @NullOr Counter counter = inputs.get(input);
+        
+        if (counter == null)
+        {
+            @NullOr Version version = Version.parse(input).orElse(null);
+            counter = (version == null) ? invalid : counter(version);
+            
+            if (inputs.size() < MAXIMUM_INPUTS) { inputs.putIfAbsent(input, counter); }
+        }
+        
+        counter.adder.increment();
+        return counter != invalid;
+    }
+    
+    public void merge(Snapshot snapshot)
+    {
+        for (int i = 0; i < snapshot.versions.length; i++) { counter(snapshot.versions[i]).adder.add(snapshot.counts[i]); }
+        invalid.adder.add(snapshot.invalid);
+    }
+    
+    /**
+     * Takes a snapshot of the counts since the last drain. Each count is read once,
+     * so increments made while the snapshot is being taken may or may not be included.
+     *
+     * @return the snapshot
+     */
+    public Snapshot snapshot()
+    {
+        return snapshot(false);
+    }
+    
+    /**
+     * Takes a snapshot of the counts and resets them, such as at the end of a
+     * reporting interval. Every increment is included in exactly one drained
+     * snapshot, even while versions are being recorded.
+     *
+     * @return the snapshot
+     */
+    public Snapshot drain()
+    {
+        return snapshot(true);
+    }
+    
+    private synchronized Snapshot snapshot(boolean drain)
+    {
+        List<Map.Entry<Version, Long>> entries = new ArrayList<>(counters.size());
+        
+        for (Map.Entry<Version, Counter> entry : counters.entrySet())
+        {
+            long count = entry.getValue().count(drain);
+            if (count > 0) { entries.add(Map.entry(entry.getKey(), count)); }
+        }
+        
+        long invalid = this.invalid.count(drain);
+        
+        entries.sort(Map.Entry.comparingByKey(VersionIndex.ORDER));
+        
+        Version[] versions = new Version[entries.size()];
+        long[] counts = new long[entries.size()];
+        
+        for (int i = 0; i < versions.length; i++)
+        {
+            versions[i] = entries.get(i).getKey();
+            counts[i] = entries.get(i).getValue();
+        }
+        
+        return new Snapshot(versions, counts, invalid);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "VersionHistogram{versions=" + counters.size() + "}";
+    }
+    
+    /**
+     * Counts one version, never resetting its adder: resetting races with concurrent
+     * increments, which could then be lost. Instead, a drain records the sum it read,
+     * and later counts are relative to it. Every cell of an adder only grows, so an
+     * increment is either in a sum or in the next one, but never both.
+     */
+    private static final class Counter
+    {
+        final LongAdder adder = new LongAdder();
+        
+        // Guarded by the histogram
+        private long drained;
+        
+        long count(boolean drain)
+        {
+            long sum = adder.sum();
+            long count = sum - drained;
+            if (drain) { drained = sum; }
+            return count;
+        }
+    }
+    
+    /**
+     * Immutable counts of versions, ordered by version.
+     */
+    public static final class Snapshot
+    {
+        private static final Snapshot EMPTY = new Snapshot(new Version[0], new long[0], 0);
+        
+        public static Snapshot empty() { return EMPTY; }
+        
+        private final Version[] versions;
+        private final long[] counts;
+        private final long invalid;
+        
+        private Snapshot(Version[] versions, long[] counts, long invalid)
+        {
+            this.versions = versions;
+            this.counts = counts;
+            this.invalid = invalid;
+        }
+        
+        // Number of distinct versions
+        public int size() { return versions.length; }
+        
+        public long count(Version version)
+        {
+            int index = Arrays.binarySearch(versions, version, VersionIndex.ORDER);
+            return (index >= 0) ? counts[index] : 0;
+        }
+        
+        // Inputs that couldn't be parsed
+        public long invalidCount() { return invalid; }
+        
+        // All valid versions recorded
+        public long total()
+        {
+            long total = 0;
+            for (long count : counts) { total += count; }
+            return total;
+        }
+        
+        public long stableCount()
+        {
+            long total = 0;
+            for (int i = 0; i < versions.length; i++) { if (!versions[i].isPrerelease()) { total += counts[i]; } }
+            return total;
+        }
+        
+        public long prereleaseCount()
+        {
+            return total() - stableCount();
+        }
+        
+        // Versions to their counts, in order
+        public Map<Version, Long> counts()
+        {
+            Map<Version, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < versions.length; i++) { counts.put(versions[i], this.counts[i]); }
+            return Collections.unmodifiableMap(counts);
+        }
+        
+        private <K> Map<K, Long> rollup(Function<Version, K> key)
+        {
+            Map<K, Long> rollup = new LinkedHashMap<>();
+            for (int i = 0; i < versions.length; i++) { rollup.merge(key.apply(versions[i]), counts[i], Long::sum); }
+            return Collections.unmodifiableMap(rollup);
+        }
+        
+        // Major versions to the total counts of all their versions, in order
+        public Map<Integer, Long> byMajor()
+        {
+            return rollup(Version::major);
+        }
+        
+        /**
+         * Totals the counts of each major and minor version, in order. Keys are
+         * versions with a patch of zero and no metadata, e.g. {@code 1.19.0}
+         * counts {@code 1.19.0}, {@code 1.19.2} and {@code 1.19.3-rc.1}.
+         *
+         * @return major and minor versions to their total counts
+         */
+        public Map<Version, Long> byMinor()
+        {
+            return rollup(version -> Version.of(version.major(), version.minor()));
+        }
+        
+        /**
+         * Gets the most common versions, most common first (ties broken by the
+         * higher version).
+         *
+         * @param k the maximum number of versions
+         * @return up to {@code k} versions and their counts
+         */
+        public List<Map.Entry<Version, Long>> top(int k)
+        {
+            if (k < 0) { throw new IllegalArgumentException("k must be positive: " + k); }
+            if (k == 0) { return List.of(); }
+            
+            // Indexes are in version order, so the higher index is the higher version.
+            Comparator<Integer> order = Comparator.<Integer>comparingLong(i -> counts[i]).thenComparingInt(i -> i);
+            PriorityQueue<Integer> heap = new PriorityQueue<>(Math.min(k, versions.length) + 1, order);
+            
+            for (int i = 0; i < versions.length; i++)
+            {
+                heap.add(i);
+                if (heap.size() > k) { heap.poll(); }
+            }
+            
+            List<Map.Entry<Version, Long>> top = new ArrayList<>(heap.size());
+            while (!heap.isEmpty())
+            {
+                int i = heap.poll();
+                top.add(Map.entry(versions[i], counts[i]));
+            }
+            
+            Collections.reverse(top);
+            return List.copyOf(top);
+        }
+        
+        /**
+         * Combines these counts with another snapshot's.
+         *
+         * @param other the other snapshot
+         * @return the combined snapshot
+         */
+        public Snapshot merge(Snapshot other)
+        {
+            Version[] versions = new Version[this.versions.length + other.versions.length];
+            long[] counts = new long[versions.length];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            
+            while (i < this.versions.length || j < other.versions.length)
+            {
+                int diff = (i == this.versions.length) ? 1
+                    : (j == other.versions.length) ? -1
+                    : VersionIndex.ORDER.compare(this.versions[i], other.versions[j]);
+                
+                if (diff <= 0)
+                {
+                    versions[size] = this.versions[i];
+                    counts[size] = this.counts[i++];
+                    if (diff == 0) { counts[size] += other.counts[j++]; }
+                }
+                else
+                {
+                    versions[size] = other.versions[j];
+                    counts[size] = other.counts[j++];
+                }
+                
+                size++;
+            }
+            
+            return new Snapshot(Arrays.copyOf(versions, size), Arrays.copyOf(counts, size), invalid + other.invalid);
+        }
+        
+        @Override
+        public String toString()
+        {
+            return "Snapshot" + counts() + ((invalid > 0) ? " (+" + invalid + " invalid)" : "");
+        }
+    }
+}
@@ -0,0 +1,311 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An immutable, sorted set of versions backed by a single array.
+ *
+ * <p>Versions are ordered by precedence; versions of equal precedence (those
+ * differing only in build metadata) are ordered by their build metadata. All
+ * queries are binary searches over the array, and slices returned by
+ * {@link #range(VersionRange)} share it, so an index can be built once and
+ * then queried from any number of threads without locking.</p>
+ */
+public final class VersionIndex implements Iterable<Version>
+{
+    // Build metadata doesn't affect precedence, but still needs a total order.
+    static final Comparator<VersionMetadata> BUILD_ORDER = (a, b) ->
+    {
+        int diff = a.compareTo(b);
+        return (diff != 0) ? diff : a.toString().compareTo(b.toString());
+    };
+    
+    // Precedence, then build metadata so that equal-precedence versions have a stable order.
+    static final Comparator<Version> ORDER = (a, b) ->
+    {
+        int diff = a.compareTo(b);
+        return (diff != 0) ? diff : a.compareBuild(b);
+    };
+    
+    private static final VersionIndex EMPTY = new VersionIndex(new Version[0], 0, 0);
+    
+    public static VersionIndex empty() { return EMPTY; }
+    
+    public static VersionIndex of(Collection<Version> versions)
+    {
+        if (versions.isEmpty()) { return EMPTY; }
+        
+        Version[] sorted = versions.toArray(Version[]::new);
+        for (Version version : sorted) { Objects.requireNonNull(version, "version"); }
+        
+        Arrays.sort(sorted, ORDER);
+        
+        // Remove duplicates (adjacent after sorting).
+        int size = 1;
+        for (int i = 1; i < sorted.length; i++)
+        {
+            if (!sorted[i].equals(sorted[size - 1])) { sorted[size++] = sorted[i]; }
+        }
+        
+        return new VersionIndex((size == sorted.length) ? sorted : Arrays.copyOf(sorted, size), 0, size);
+    }
+    
+    public static VersionIndex of(Version ... versions)
+    {
+        return of(Arrays.asList(versions));
+    }
+    
+    public static VersionIndex ofSources(Collection<? extends VersionSource> sources)
+    {
+        Version[] versions = new Version[sources.size()];
+        int i = 0;
+        for (VersionSource source : sources) { versions[i++] = source.version(); }
+        return of(Arrays.asList(versions));
+    }
+    
+    private final Version[] versions;
+    private final int from;
+    private final int to;
+    
+    private VersionIndex(Version[] versions, int from, int to)
+    {
+        this.versions = versions;
+        this.from = from;
+        this.to = to;
+    }
+    
+    public int size() { return to - from; }
+    
+    public boolean isEmpty() { return to == from; }
+    
+    public Version get(int index)
+    {
+        Objects.checkIndex(index, size());
+        return versions[from + index];
+    }
+    
+    public List<Version> asList()
+    {
+        return new ListView();
+    }
+    
+    public Stream<Version> stream()
+    {
+        return Arrays.stream(versions, from, to);
+    }
+    
+    @Override
+    public Iterator<Version> iterator()
+    {
+        return asList().iterator();
+    }
+    
+    // Index of the first version with precedence greater than (or equal to, if inclusive) the target.
+    private int search(Version target, boolean inclusive)
+    {
+        int low = from;
+        int high = to;
+        
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            int diff = versions[middle].compareTo(target);
+            
+            if (diff < 0 || (diff == 0 && !inclusive)) { low = middle + 1; }
+            else { high = middle; }
+        }
+        
+        return low;
+    }
+    
+    private Optional<Version> at(int index)
+    {
+        return (index >= from && index < to) ? Optional.of(versions[index]) : Optional.empty();
+    }
+    
+    public boolean contains(Version version)
+    {
+        for (int i = search(version, true); i < to && versions[i].compareTo(version) == 0; i++)
+        {
+            if (versions[i].equals(version)) { return true; }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets the greatest version with precedence less than or equal to the provided version.
+     *
+     * @param version the version
+     * @return the floor version, or empty if there isn't one
+     */
+    public Optional<Version> floor(Version version)
+    {
+        return at(search(version, false) - 1);
+    }
+    
+    /**
+     * Gets the least version with precedence greater than or equal to the provided version.
+     *
+     * @param version the version
+     * @return the ceiling version, or empty if there isn't one
+     */
+    public Optional<Version> ceiling(Version version)
+    {
+        return at(search(version, true));
+    }
+    
+    // Greatest version strictly less than the provided version
+    public Optional<Version> lower(Version version)
+    {
+        return at(search(version, true) - 1);
+    }
+    
+    // Least version strictly greater than the provided version
+    public Optional<Version> higher(Version version)
+    {
+        return at(search(version, false));
+    }
+    
+    public Optional<Version> earliest()
+    {
+        return at(from);
+    }
+    
+    public Optional<Version> latest()
+    {
+        return at(to - 1);
+    }
+    
+    /**
+     * Gets the latest version without a pre-release.
+     *
+     * @return the latest stable version, or empty if there isn't one
+     */
+    public Optional<Version> latestStable()
+    {
+        for (int i = to - 1; i >= from; i--)
+        {
+            if (!versions[i].isPrerelease()) { return Optional.of(versions[i]); }
+        }
+        return Optional.empty();
+    }
+    
+    /**
+     * Gets the latest version that satisfies the constraint. Only the portions
+     * of the index within the constraint's ranges are searched.
+     *
+     * @param constraint the constraint
+     * @return the latest satisfying version, or empty if there isn't one
+     */
+    public Optional<Version> latest(VersionConstraint constraint)
+    {
+        @NullOr Version latest = null;
+        
+        for (VersionRange range : constraint.ranges())
+        {
+            int low = lowerIndex(range);
+            
+            for (int i = upperIndex(range) - 1; i >= low; i--)
+            {
+                Version candidate = versions[i];
+                if (latest != null && ORDER.compare(candidate, latest) <= 0) { break; }
+                
+                if (constraint.isSatisfiedBy(candidate))
+                {
+                    latest = candidate;
+                    break;
+                }
+            }
+        }
+        
+        return Optional.ofNullable(latest);
+    }
+    
+    private int lowerIndex(VersionRange range)
+    {
+        @NullOr Version lower = range.lower();
+        return (lower == null) ? from : search(lower, range.isLowerInclusive());
+    }
+    
+    private int upperIndex(VersionRange range)
+    {
+        @NullOr Version upper = range.upper();
+        return (upper == null) ? to : search(upper, !range.isUpperInclusive());
+    }
+    
+    /**
+     * Gets a view of the versions within the range, sharing this index's storage.
+     *
+     * @param range the range
+     * @return the slice of this index within the range
+     */
+    public VersionIndex range(VersionRange range)
+    {
+        if (range.isEmpty()) { return EMPTY; }
+        
+        int low = lowerIndex(range);
+        int high = Math.max(low, upperIndex(range));
+        
+        return (low == from && high == to) ? this : new VersionIndex(versions, low, high);
+    }
+    
+    /**
+     * Gets all versions that satisfy the constraint, in order.
+     *
+     * @param constraint the constraint
+     * @return the satisfying versions
+     */
+    public List<Version> matching(VersionConstraint constraint)
+    {
+        return stream().filter(constraint).collect(Collectors.toUnmodifiableList());
+    }
+    
+    @Override
+    public String toString()
+    {
+        return asList().toString();
+    }
+    
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        VersionIndex index = (VersionIndex) o;
+        return Arrays.equals(versions, from, to, index.versions, index.from, index.to);
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return asList().hashCode();
+    }
+    
+    private final class ListView extends AbstractList<Version> implements RandomAccess
+    {
+        @Override
+        public Version get(int index) { return VersionIndex.this.get(index); }
+        
+        @Override
+        public int size() { return VersionIndex.this.size(); }
+    }
+}
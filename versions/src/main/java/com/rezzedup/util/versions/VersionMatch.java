@@ -0,0 +1,69 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Objects;
+
+/**
+ * A version found in text by a {@link VersionScanner}, and where it was found.
+ */
+public final class VersionMatch
+{
+    private final long line;
+    private final int start;
+    private final int end;
+    private final Version version;
+    
+    VersionMatch(long line, int start, int end, Version version)
+    {
+        this.line = line;
+        this.start = start;
+        this.end = end;
+        this.version = version;
+    }
+    
+    /**
+     * Gets the zero-based line the version was found on, when scanning the
+     * lines of a reader or file. Scanning a single character sequence doesn't
+     * track lines, so it's always {@code 0} there.
+     *
+     * @return the line number
+     */
+    public long line() { return line; }
+    
+    // Index of the version's first character (in its line, for readers and files)
+    public int start() { return start; }
+    
+    // Index just past the version's last character
+    public int end() { return end; }
+    
+    public Version version() { return version; }
+    
+    @Override
+    public String toString()
+    {
+        return version + " at " + line + ":[" + start + "," + end + ")";
+    }
+    
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        VersionMatch match = (VersionMatch) o;
+        return line == match.line && start == match.start && end == match.end && version.equals(match.version);
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(line, start, end, version);
+    }
+}
@@ -9,15 +9,23 @@ package com.rezzedup.util.versions;
 
 import pl.tlinkowski.annotation.basic.NullOr;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Objects;
-import java.util.regex.Pattern;
 
 public final class VersionMetadata implements Versions.Comparable<VersionMetadata>
 {
-    private static final Pattern DIGITS = Pattern.compile("\\d+");
+    /** Classification of identifiers that contain letters or hyphens. **/
+    static final long ALPHANUMERIC = -1;
+    
+    /** Classification of numeric identifiers with too many digits to fit in a {@code long}. **/
+    static final long LARGE_NUMBER = -2;
+    
+    // Significant digits that always fit in a long: 10^18 - 1 < Long.MAX_VALUE
+    static final int MAX_LONG_DIGITS = 18;
     
     static final VersionMetadata EMPTY = new VersionMetadata(List.of());
     
@@ -29,11 +37,91 @@ public final class VersionMetadata implements Versions.Comparable<VersionMetadat
         return new VersionMetadata(List.copyOf(identifiers));
     }
     
+    // Identifiers must already be valid, see: VersionParser
+    static VersionMetadata of(String[] identifiers, int count)
+    {
+        if (count == 0) { return VersionMetadata.EMPTY; }
+        return new VersionMetadata(Arrays.asList(identifiers).subList(0, count));
+    }
+    
+    // Identifiers [from, to) of a compact version's text (see: Version)
+    static VersionMetadata of(String text, int[] starts, int from, int to)
+    {
+        String[] identifiers = new String[to - from];
+        for (int i = from; i < to; i++) { identifiers[i - from] = text.substring(starts[i + 1], starts[i + 2] - 1); }
+        return of(identifiers, identifiers.length);
+    }
+    
+    /**
+     * Classifies an identifier by its contents.
+     *
+     * @param identifier the identifier
+     * @return the identifier's numeric value (for identifiers consisting only of
+     *         digits), {@link #LARGE_NUMBER} if the value doesn't fit in a {@code long},
+     *         or {@link #ALPHANUMERIC} otherwise
+     */
+    static long classify(String identifier)
+    {
+        int length = identifier.length();
+        if (length == 0) { return ALPHANUMERIC; }
+        
+        for (int i = 0; i < length; i++)
+        {
+            if (!VersionParser.isDigit(identifier.charAt(i))) { return ALPHANUMERIC; }
+        }
+        
+        int start = significantDigitsStart(identifier);
+        if (length - start > MAX_LONG_DIGITS) { return LARGE_NUMBER; }
+        
+        long value = 0;
+        for (int i = start; i < length; i++) { value = (value * 10) + (identifier.charAt(i) - '0'); }
+        return value;
+    }
+    
+    // Build metadata may have leading zeroes, which don't affect numeric value.
+    private static int significantDigitsStart(String digits)
+    {
+        int start = 0;
+        while (start < digits.length() - 1 && digits.charAt(start) == '0') { start++; }
+        return start;
+    }
+    
+    private static int compareLargeNumbers(String left, String right)
+    {
+        int leftStart = significantDigitsStart(left);
+        int rightStart = significantDigitsStart(right);
+        
+        int diff = Integer.compare(left.length() - leftStart, right.length() - rightStart);
+        if (diff != 0) { return diff; }
+        
+        // Same number of digits: lexical order is numeric order.
+        for (int l = leftStart, r = rightStart; l < left.length(); l++, r++)
+        {
+            diff = left.charAt(l) - right.charAt(r);
+            if (diff != 0) { return diff; }
+        }
+        
+        return 0;
+    }
+    
     private final List<String> identifiers;
     
+    // Pre-classified identifiers (see: classify), so that comparisons never re-parse them.
+    private final long[] classifications;
+    
+    // Lazily cached, races just compute the same value twice.
+    private @NullOr String string;
+    private int hash;
+    
     VersionMetadata(List<String> identifiers)
     {
         this.identifiers = List.copyOf(identifiers);
+        this.classifications = new long[this.identifiers.size()];
+        
+        for (int i = 0; i < classifications.length; i++)
+        {
+            classifications[i] = classify(this.identifiers.get(i));
+        }
     }
     
     public Builder toBuilder()
@@ -56,32 +144,46 @@ public final class VersionMetadata implements Versions.Comparable<VersionMetadat
         return !identifiers.isEmpty();
     }
     
+    // Classification of the identifier at the index (see: classify)
+    long classification(int index)
+    {
+        return classifications[index];
+    }
+    
     // 11.4:    Precedence for two pre-release versions with the same major, minor, and patch version
     //          MUST be determined by comparing each dot separated identifier from left to right until
     //          a difference is found as follows:
     @Override
     public int compareTo(VersionMetadata o)
     {
-        if (identifiers.equals(o.identifiers)) { return 0; }
+        int size = classifications.length;
+        int otherSize = o.classifications.length;
         
-        for (int i = 0; i < identifiers.size(); i++)
+        for (int i = 0; i < size; i++)
         {
-            String left = identifiers.get(i);
-            
             // 11.4.4:  A larger set of pre-release fields has a higher precedence than a smaller set,
             //          if all of the preceding identifiers are equal.
             // (Right has fewer identifiers, so left takes precedence)
-            if (o.identifiers.size() <= i) { return 1; }
+            if (otherSize <= i) { return 1; }
             
-            String right = o.identifiers.get(i);
+            long left = classifications[i];
+            long right = o.classifications[i];
             
-            boolean leftIsNumeric = DIGITS.matcher(left).matches();
-            boolean rightIsNumeric = DIGITS.matcher(right).matches();
+            boolean leftIsNumeric = left != ALPHANUMERIC;
+            boolean rightIsNumeric = right != ALPHANUMERIC;
             
             // 11.4.1: Identifiers consisting of only digits are compared numerically.
             if (leftIsNumeric && rightIsNumeric)
             {
-                int diff = Integer.parseInt(left) - Integer.parseInt(right);
+                int diff;
+                
+                if (left == LARGE_NUMBER && right == LARGE_NUMBER)
+                {
+                    diff = compareLargeNumbers(identifiers.get(i), o.identifiers.get(i));
+                }
+                else if (left == LARGE_NUMBER) { diff = 1; }
+                else if (right == LARGE_NUMBER) { diff = -1; }
+                else { diff = Long.compare(left, right); }
                 
                 if (diff == 0) { continue; }
                 else { return diff; }
@@ -91,12 +193,12 @@ public final class VersionMetadata implements Versions.Comparable<VersionMetadat
             else if (rightIsNumeric) { return 1; }
             
             // 11.4.2: Identifiers with letters or hyphens are compared lexically in ASCII sort order.
-            int diff = left.compareTo(right);
+            int diff = identifiers.get(i).compareTo(o.identifiers.get(i));
             if (diff != 0) { return diff; }
         }
         
         // Right has more segments, which takes precedence over left
-        if (o.identifiers.size() > identifiers.size()) { return -1; }
+        if (otherSize > size) { return -1; }
         
         // Equal
         return 0;
@@ -105,7 +207,55 @@ public final class VersionMetadata implements Versions.Comparable<VersionMetadat
     @Override
     public String toString()
     {
-        return String.join(".", identifiers);
+        @NullOr String string = this.string;
+        
+        if (string == null)
+        {
+            if (identifiers.size() == 1) { string = identifiers.get(0); }
+            else { string = appendTo(new StringBuilder(16)).toString(); }
+            this.string = string;
+        }
+        
+        return string;
+    }
+    
+    public StringBuilder appendTo(StringBuilder builder)
+    {
+        @NullOr String string = this.string;
+        if (string != null) { return builder.append(string); }
+        
+        for (int i = 0; i < identifiers.size(); i++)
+        {
+            if (i > 0) { builder.append('.'); }
+            builder.append(identifiers.get(i));
+        }
+        
+        return builder;
+    }
+    
+    public <A extends Appendable> A appendTo(A appendable) throws IOException
+    {
+        if (appendable instanceof StringBuilder) { appendTo((StringBuilder) appendable); }
+        else { appendable.append(toString()); }
+        return appendable;
+    }
+    
+    /**
+     * Writes these identifiers as ASCII at the buffer's position, advancing it.
+     *
+     * @param buffer the buffer to write into
+     * @return the buffer
+     * @throws java.nio.BufferOverflowException if there isn't enough room in the buffer
+     */
+    public ByteBuffer writeTo(ByteBuffer buffer)
+    {
+        for (int i = 0; i < identifiers.size(); i++)
+        {
+            if (i > 0) { buffer.put((byte) '.'); }
+            Versions.putAscii(buffer, identifiers.get(i));
+        }
+        
+        return buffer;
     }
     
     @Override
@@ -120,7 +270,10 @@ public final class VersionMetadata implements Versions.Comparable<VersionMetadat
     @Override
     public int hashCode()
     {
-        return Objects.hash(identifiers);
+        // Same as Objects.hash(identifiers), cached (zero just means it isn't yet).
+        int hash = this.hash;
+        if (hash == 0) { this.hash = hash = 31 + identifiers.hashCode(); }
+        return hash;
     }
     
     public class Builder
@@ -0,0 +1,278 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in counters for parsing: successes and failures, and a latency histogram,
+ * per {@link Mode}. Parses that fail (or are slower than a threshold) are also
+ * emitted as JDK Flight Recorder events, if a recording has them enabled.
+ *
+ * <p>Metrics are disabled by default, in which case parsing only checks a flag.
+ * Enable them with {@link #enable()}, or by starting the JVM with
+ * {@code -Dcom.rezzedup.util.versions.metrics=true}.</p>
+ *
+ * <p>Whole-input parses are measured, including those made for bulk parsing and
+ * for constraints. Prefix parses (including {@link VersionScanner scanning}) are
+ * not, since not finding a version at a position is routine there. Cached parses
+ * that hit are not measured either: see {@link Snapshot#cacheStats()}.</p>
+ */
+public final class VersionMetrics
+{
+    private VersionMetrics() {}
+    
+    public enum Mode
+    {
+        PARTIAL,
+        STRICT
+    }
+    
+    // Bucket i counts parses that took less than 2^i nanoseconds (and at least 2^(i-1)).
+    static final int BUCKETS = 64;
+    
+    private static volatile long slowNanos = Duration.ofMillis(1).toNanos();
+    
+    private static final LongAdder[] successes = adders(2);
+    private static final LongAdder[] failures = adders(2);
+    private static final LongAdder[] latencies = adders(2 * BUCKETS);
+    
+    private static LongAdder[] adders(int count)
+    {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) { adders[i] = new LongAdder(); }
+        return adders;
+    }
+    
+    /**
+     * Holds the enabled flag, which the parser reads on every parse. It's kept apart
+     * so that reading it doesn't initialize the metrics (or load Flight Recorder).
+     */
+    static final class Flag
+    {
+        private Flag() {}
+        
+        static volatile boolean enabled = Boolean.getBoolean("com.rezzedup.util.versions.metrics");
+    }
+    
+    // Resolved on the first recorded parse, only once metrics are enabled.
+    private static final class Events
+    {
+        private Events() {}
+        
+        // Null if events can't be emitted
+        static final @NullOr Object TYPE = eventType();
+        
+        // JFR is optional: the jdk.jfr module may not be present (or readable) at runtime.
+        private static @NullOr Object eventType()
+        {
+            try { return EventType.getEventType(ParseEvent.class); }
+            catch (LinkageError e) { return null; }
+        }
+    }
+    
+    public static boolean isEnabled() { return Flag.enabled; }
+    
+    public static void enable() { Flag.enabled = true; }
+    
+    public static void disable() { Flag.enabled = false; }
+    
+    /**
+     * Sets how long a successful parse must take to be emitted as a Flight
+     * Recorder event. Failed parses are always emitted.
+     *
+     * @param threshold the threshold (1 millisecond by default)
+     */
+    public static void slowParseThreshold(Duration threshold)
+    {
+        if (threshold.isNegative()) { throw new IllegalArgumentException("threshold must be positive: " + threshold); }
+        slowNanos = threshold.toNanos();
+    }
+    
+    public static Duration slowParseThreshold()
+    {
+        return Duration.ofNanos(slowNanos);
+    }
+    
+    static int bucket(long nanos)
+    {
+        return Math.min(BUCKETS - 1, Long.SIZE - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+    
+    /**
+     * Records a parse.
+     *
+     * @return {@code true} if the parse should also be emitted as an event
+     */
+    static boolean record(boolean strict, boolean success, long nanos)
+    {
+        int mode = (strict) ? 1 : 0;
+        
+        ((success) ? successes : failures)[mode].increment();
+        latencies[mode * BUCKETS + bucket(nanos)].increment();
+        
+        // Only true while a recording has the event enabled
+        return (!success || nanos >= slowNanos) && isEventEnabled();
+    }
+    
+    private static boolean isEventEnabled()
+    {
+        @NullOr Object type = Events.TYPE;
+        return type != null && ((EventType) type).isEnabled();
+    }
+    
+    static void emit(boolean strict, boolean success, long nanos, String input, int errorIndex)
+    {
+        ParseEvent event = new ParseEvent();
+        event.input = (input.length() > 256) ? input.substring(0, 256) : input;
+        event.strict = strict;
+        event.success = success;
+        event.errorIndex = errorIndex;
+        event.parseTime = nanos;
+        event.commit();
+    }
+    
+    public static Snapshot snapshot()
+    {
+        long[][] histograms = new long[2][BUCKETS];
+        
+        for (int mode = 0; mode < 2; mode++)
+        {
+            for (int i = 0; i < BUCKETS; i++) { histograms[mode][i] = latencies[mode * BUCKETS + i].sum(); }
+        }
+        
+        return new Snapshot(
+            new long[] {successes[0].sum(), successes[1].sum()},
+            new long[] {failures[0].sum(), failures[1].sum()},
+            histograms,
+            VersionCache.shared().stats()
+        );
+    }
+    
+    // Resets all counters to zero (not atomically, if parses are being recorded meanwhile).
+    public static void reset()
+    {
+        for (LongAdder adder : successes) { adder.reset(); }
+        for (LongAdder adder : failures) { adder.reset(); }
+        for (LongAdder adder : latencies) { adder.reset(); }
+    }
+    
+    public static final class Snapshot
+    {
+        private final long[] successes;
+        private final long[] failures;
+        private final long[][] latencies;
+        private final VersionCache.Stats cacheStats;
+        
+        private Snapshot(long[] successes, long[] failures, long[][] latencies, VersionCache.Stats cacheStats)
+        {
+            this.successes = successes;
+            this.failures = failures;
+            this.latencies = latencies;
+            this.cacheStats = cacheStats;
+        }
+        
+        public long successCount(Mode mode) { return successes[mode.ordinal()]; }
+        
+        public long failureCount(Mode mode) { return failures[mode.ordinal()]; }
+        
+        public long parseCount(Mode mode) { return successCount(mode) + failureCount(mode); }
+        
+        /**
+         * Gets the latency histogram, where bucket {@code i} counts the parses
+         * that took less than 2<sup>i</sup> nanoseconds (and at least
+         * 2<sup>i - 1</sup>, for buckets above zero).
+         *
+         * @param mode the parse mode
+         * @return a copy of the histogram's buckets
+         */
+        public long[] latencyHistogram(Mode mode)
+        {
+            return Arrays.copyOf(latencies[mode.ordinal()], BUCKETS);
+        }
+        
+        /**
+         * Estimates a latency percentile, as the upper bound of the bucket it falls in.
+         *
+         * @param mode          the parse mode
+         * @param percentile    the percentile, between {@code 0.0} and {@code 100.0}
+         * @return the estimated latency, or zero if there were no parses
+         */
+        public Duration latencyPercentile(Mode mode, double percentile)
+        {
+            if (!(percentile >= 0 && percentile <= 100))
+            {
+                throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+            }
+            
+            long[] buckets = latencies[mode.ordinal()];
+            long total = 0;
+            for (long count : buckets) { total += count; }
+            if (total == 0) { return Duration.ZERO; }
+            
+            long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+            long seen = 0;
+            int i = 0;
+            
+            for (; i < BUCKETS - 1; i++)
+            {
+                seen += buckets[i];
+                if (seen >= rank) { break; }
+            }
+            
+            return Duration.ofNanos(1L << Math.min(i, 62));
+        }
+        
+        // Statistics of the shared cache (which are always recorded)
+        public VersionCache.Stats cacheStats() { return cacheStats; }
+        
+        @Override
+        public String toString()
+        {
+            return "VersionMetrics.Snapshot{" +
+                "partial=" + successes[0] + "/" + parseCount(Mode.PARTIAL) +
+                ", strict=" + successes[1] + "/" + parseCount(Mode.STRICT) +
+                ", cache=" + cacheStats +
+                "}";
+        }
+    }
+    
+    @Name("com.rezzedup.util.versions.Parse")
+    @Label("Version Parse")
+    @Category("Versions")
+    @Description("A version parse that failed or was slow")
+    static final class ParseEvent extends Event
+    {
+        @Label("Input")
+        String input;
+        
+        @Label("Strict")
+        boolean strict;
+        
+        @Label("Success")
+        boolean success;
+        
+        @Label("Error Index")
+        int errorIndex;
+        
+        @Label("Parse Time")
+        @Timespan(Timespan.NANOSECONDS)
+        long parseTime;
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * The outcome of parsing a version without throwing: either the version, or an
+ * {@link ErrorCode} and the index of the character where parsing failed.
+ *
+ * @see Version#tryParse(String)
+ * @see Version#tryParseStrict(String)
+ */
+public final class VersionParseResult
+{
+    public enum ErrorCode
+    {
+        /** The input ended where another character was required. **/
+        UNEXPECTED_END("unexpected end of input"),
+        
+        /** A character isn't allowed where it appears. **/
+        UNEXPECTED_CHARACTER("unexpected character"),
+        
+        /** A number (or numeric pre-release identifier) has leading zeroes. **/
+        LEADING_ZERO("leading zeroes"),
+        
+        /** A number is greater than {@link Integer#MAX_VALUE}. **/
+        NUMBER_TOO_LARGE("number too large");
+        
+        private final String description;
+        
+        ErrorCode(String description)
+        {
+            this.description = description;
+        }
+        
+        @Override
+        public String toString() { return description; }
+    }
+    
+    static VersionParseResult of(VersionParser parser, String input, @NullOr Version version)
+    {
+        if (version != null) { return new VersionParseResult(input, parser.isStrict(), version, null, -1); }
+        
+        return new VersionParseResult(
+            input, parser.isStrict(), null, Objects.requireNonNull(parser.error(), "error"), parser.errorIndex()
+        );
+    }
+    
+    private final String input;
+    private final boolean strict;
+    private final @NullOr Version version;
+    private final @NullOr ErrorCode error;
+    private final int errorIndex;
+    
+    private VersionParseResult(String input, boolean strict, @NullOr Version version, @NullOr ErrorCode error, int errorIndex)
+    {
+        this.input = input;
+        this.strict = strict;
+        this.version = version;
+        this.error = error;
+        this.errorIndex = errorIndex;
+    }
+    
+    public String input() { return input; }
+    
+    public boolean isStrict() { return strict; }
+    
+    public boolean isValid() { return version != null; }
+    
+    public Optional<Version> version() { return Optional.ofNullable(version); }
+    
+    /**
+     * Gets the parsed version, or throws an exception describing why the input is invalid.
+     *
+     * @return the version
+     * @throws IllegalArgumentException if the input is invalid
+     */
+    public Version versionOrThrow()
+    {
+        if (version != null) { return version; }
+        
+        Pattern pattern = (strict) ? Versions.VALID_SEMVER_PATTERN : Versions.PARTIAL_SEMVER_PATTERN;
+        
+        throw new IllegalArgumentException(
+            "Version must match pattern: `" + pattern + "` but received invalid input: \"" + input + "\"" +
+            " (" + error + " at index " + errorIndex + ")"
+        );
+    }
+    
+    public Optional<ErrorCode> error() { return Optional.ofNullable(error); }
+    
+    /**
+     * Gets the index of the character that caused parsing to fail.
+     *
+     * @return the index of the offending character (which equals the input's
+     *         length if it ended unexpectedly), or {@code -1} if the input is valid
+     */
+    public int errorIndex() { return errorIndex; }
+    
+    @Override
+    public String toString()
+    {
+        return (version != null)
+            ? "VersionParseResult{version=" + version + "}"
+            : "VersionParseResult{error=" + error.name() + ", index=" + errorIndex + ", input=\"" + input + "\"}";
+    }
+    
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        VersionParseResult that = (VersionParseResult) o;
+        return strict == that.strict
+            && errorIndex == that.errorIndex
+            && input.equals(that.input)
+            && Objects.equals(version, that.version)
+            && error == that.error;
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(input, strict, version, error, errorIndex);
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Single-pass, regex-free version scanner.
+ *
+ * <p>Accepts exactly the same inputs as {@link Versions#PARTIAL_SEMVER_PATTERN}
+ * (or {@link Versions#VALID_SEMVER_PATTERN} when strict) whose numbers fit in
+ * an {@code int}, but validates and builds the version while walking the input
+ * once, without a {@link java.util.regex.Matcher} or any intermediate group strings.</p>
+ *
+ * <p>Input may be characters or ASCII bytes ({@code byte[]} or {@link ByteBuffer}),
+ * read in place. Bytes are widened as Latin-1, so any non-ASCII byte (including
+ * every byte of a multibyte UTF-8 sequence) is simply an invalid character.</p>
+ *
+ * <p>In prefix mode, the longest version at the start of the region is parsed and
+ * the rest of the region is left alone. Components are never split: a number or
+ * identifier is either taken whole or the version ends before its separator.</p>
+ *
+ * <p>Instances hold mutable scratch state and are not thread-safe.</p>
+ */
+final class VersionParser
+{
+    private static final int NOT_A_NUMBER = -1;
+    
+    private static final int[] NO_STARTS = {};
+    
+    private static final byte[] NO_BYTES = {};
+    
+    private final boolean strict;
+    
+    // Where each metadata identifier starts (pre-release identifiers, then build)
+    private int[] starts = NO_STARTS;
+    private byte[] scratch = NO_BYTES;
+    
+    // Exactly one source is set while parsing.
+    private @NullOr CharSequence chars;
+    private byte @NullOr [] bytes;
+    private @NullOr ByteBuffer buffer;
+    
+    private boolean prefix;
+    private int start;
+    private int position;
+    private int end;
+    private int errorIndex = -1;
+    private VersionParseResult.@NullOr ErrorCode error;
+    
+    VersionParser(boolean strict)
+    {
+        this.strict = strict;
+    }
+    
+    boolean isStrict() { return strict; }
+    
+    /**
+     * Gets the index of the character that caused the most recent parse to fail.
+     *
+     * @return the index of the offending character (which may equal the input's
+     *         length if input ended unexpectedly), or {@code -1} if the most
+     *         recent parse succeeded
+     */
+    int errorIndex() { return errorIndex; }
+    
+    // Why the most recent parse failed, or null if it succeeded
+    VersionParseResult.@NullOr ErrorCode error() { return error; }
+    
+    /**
+     * Gets the index just past the end of the most recently parsed version,
+     * which is only meaningful after a successful parse.
+     *
+     * @return the end index of the parsed version
+     */
+    int position() { return position; }
+    
+    /**
+     * Parses the entire input.
+     *
+     * @param input the input to parse
+     * @return the parsed version, or {@code null} if the input is invalid
+     */
+    @NullOr Version parse(CharSequence input)
+    {
+        return parse(input, 0, input.length());
+    }
+    
+    /**
+     * Parses the region of the input from {@code start} (inclusive) to {@code end} (exclusive).
+     *
+     * @param input the input to parse
+     * @param start the start index
+     * @param end   the end index
+     * @return the parsed version, or {@code null} if the region is invalid
+     */
+    @NullOr Version parse(CharSequence input, int start, int end)
+    {
+        return parse(input, start, end, false);
+    }
+    
+    @NullOr Version parse(CharSequence input, int start, int end, boolean prefix)
+    {
+        this.chars = input;
+        return run(start, end, prefix);
+    }
+    
+    @NullOr Version parse(byte[] input, int start, int end, boolean prefix)
+    {
+        this.bytes = input;
+        return run(start, end, prefix);
+    }
+    
+    // Indexes are absolute, the buffer's position and limit are ignored.
+    @NullOr Version parse(ByteBuffer input, int start, int end, boolean prefix)
+    {
+        this.buffer = input;
+        return run(start, end, prefix);
+    }
+    
+    private @NullOr Version run(int start, int end, boolean prefix)
+    {
+        this.prefix = prefix;
+        this.start = start;
+        this.position = start;
+        this.end = end;
+        this.errorIndex = -1;
+        this.error = null;
+        
+        try { return (VersionMetrics.Flag.enabled && !prefix) ? measure(start) : scan(); }
+        finally
+        {
+            chars = null;
+            bytes = null;
+            buffer = null;
+        }
+    }
+    
+    private @NullOr Version measure(int start)
+    {
+        long began = System.nanoTime();
+        @NullOr Version version = scan();
+        long nanos = System.nanoTime() - began;
+        
+        if (VersionMetrics.record(strict, version != null, nanos))
+        {
+            VersionMetrics.emit(strict, version != null, nanos, substring(start, end), errorIndex);
+        }
+        
+        return version;
+    }
+    
+    private char charAt(int index)
+    {
+        if (chars != null) { return chars.charAt(index); }
+        if (bytes != null) { return (char) (bytes[index] & 0xFF); }
+        return (char) (buffer.get(index) & 0xFF);
+    }
+    
+    // Only called on validated identifiers, which are always ASCII.
+    private String substring(int start, int end)
+    {
+        if (chars != null) { return chars.subSequence(start, end).toString(); }
+        if (bytes != null) { return new String(bytes, start, end - start, StandardCharsets.ISO_8859_1); }
+        
+        if (buffer.hasArray())
+        {
+            return new String(buffer.array(), buffer.arrayOffset() + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+        
+        int length = end - start;
+        if (scratch.length < length) { scratch = new byte[Math.max(16, length)]; }
+        for (int i = 0; i < length; i++) { scratch[i] = buffer.get(start + i); }
+        return new String(scratch, 0, length, StandardCharsets.ISO_8859_1);
+    }
+    
+    // In prefix mode, abandons a partially scanned component by rewinding to just before its separator.
+    private boolean backtrack(int mark)
+    {
+        if (!prefix) { return false; }
+        
+        position = mark;
+        errorIndex = -1;
+        error = null;
+        return true;
+    }
+    
+    private @NullOr Version scan()
+    {
+        int major = number();
+        if (major == NOT_A_NUMBER) { return null; }
+        
+        int minor = 0;
+        int patch = 0;
+        
+        if (strict)
+        {
+            if (!expect('.')) { return null; }
+            if ((minor = number()) == NOT_A_NUMBER) { return null; }
+            if (!expect('.')) { return null; }
+            if ((patch = number()) == NOT_A_NUMBER) { return null; }
+        }
+        else
+        {
+            if (peek('.'))
+            {
+                int mark = position++;
+                
+                if ((minor = number()) == NOT_A_NUMBER)
+                {
+                    if (!backtrack(mark)) { return null; }
+                    minor = 0;
+                }
+                else if (peek('.'))
+                {
+                    mark = position++;
+                    
+                    if ((patch = number()) == NOT_A_NUMBER)
+                    {
+                        if (!backtrack(mark)) { return null; }
+                        patch = 0;
+                    }
+                }
+            }
+        }
+        
+        int metadataStart = position;
+        int prereleases = 0;
+        int count = 0;
+        
+        if (peek('-'))
+        {
+            int mark = position++;
+            int parsed = metadata(true, 0);
+            
+            if (parsed > 0) { prereleases = count = parsed; }
+            else if (!backtrack(mark)) { return null; }
+        }
+        
+        if (peek('+'))
+        {
+            int mark = position++;
+            int parsed = metadata(false, count);
+            
+            if (parsed > count) { count = parsed; }
+            else if (!backtrack(mark)) { return null; }
+        }
+        
+        if (position != end && !prefix) { return fail(); }
+        if (count == 0) { return Version.compact(major, minor, patch, null, null); }
+        
+        // Metadata is already canonical: identifiers separated by single characters.
+        int coreLength = Versions.decimalLength(major) + Versions.decimalLength(minor) + Versions.decimalLength(patch) + 2;
+        int shift = coreLength - metadataStart;
+        
+        int[] identifiers = Version.identifiers(prereleases, count);
+        for (int i = 0; i < count; i++) { identifiers[i + 1] = starts[i] + shift; }
+        identifiers[count + 1] = position + shift + 1;
+        
+        return Version.compact(major, minor, patch, text(major, minor, patch, metadataStart, coreLength), identifiers);
+    }
+    
+    // The canonical text of the parsed version, which is the input itself if it's already canonical
+    private String text(int major, int minor, int patch, int metadataStart, int coreLength)
+    {
+        // Numbers never have leading zeroes, so the core is canonical if it's as long as it would be.
+        if (metadataStart - start == coreLength)
+        {
+            boolean whole = chars instanceof String && start == 0 && position == chars.length();
+            return (whole) ? (String) chars : substring(start, position);
+        }
+        
+        StringBuilder text = new StringBuilder(coreLength + position - metadataStart);
+        text.append(major).append('.').append(minor).append('.').append(patch);
+        for (int i = metadataStart; i < position; i++) { text.append(charAt(i)); }
+        return text.toString();
+    }
+    
+    // 0|[1-9]\d*
+    private int number()
+    {
+        if (position >= end) { return failNumber(); }
+        
+        char first = charAt(position);
+        if (!isDigit(first)) { return failNumber(); }
+        
+        position++;
+        
+        if (first == '0')
+        {
+            // Leading zeroes: fail here rather than at whatever follows.
+            boolean leadingZero = position < end && isDigit(charAt(position));
+            return (leadingZero) ? failNumber(VersionParseResult.ErrorCode.LEADING_ZERO) : 0;
+        }
+        
+        int value = first - '0';
+        
+        while (position < end)
+        {
+            char c = charAt(position);
+            if (!isDigit(c)) { break; }
+            
+            int digit = c - '0';
+            
+            // Overflow: Integer.parseInt would have rejected this too.
+            if (value > (Integer.MAX_VALUE - digit) / 10) { return failNumber(VersionParseResult.ErrorCode.NUMBER_TOO_LARGE); }
+            
+            value = (value * 10) + digit;
+            position++;
+        }
+        
+        return value;
+    }
+    
+    // Pre-release: (?:0|[1-9]\d*|\d*[a-zA-Z-][0-9a-zA-Z-]*)(?:\.(?:...))*
+    // Build:       [0-9a-zA-Z-]+(?:\.[0-9a-zA-Z-]+)*
+    // Returns the number of identifiers parsed so far (including the offset), or -1 if there are none.
+    private int metadata(boolean prerelease, int offset)
+    {
+        int count = offset;
+        int separator = -1;
+        
+        while (true)
+        {
+            int start = position;
+            boolean numeric = true;
+            
+            while (position < end)
+            {
+                char c = charAt(position);
+                if (isDigit(c)) { position++; }
+                else if (isIdentifierLetter(c)) { numeric = false; position++; }
+                else { break; }
+            }
+            
+            boolean empty = position == start;
+            
+            // Numeric pre-release identifiers must not include leading zeroes.
+            boolean leadingZeroes = prerelease && numeric && position - start > 1 && charAt(start) == '0';
+            
+            if (empty || leadingZeroes)
+            {
+                // Keep the identifiers before this one (the first is handled by the caller).
+                if (count > offset && backtrack(separator)) { break; }
+                
+                if (empty) { fail(); }
+                else { fail(start, VersionParseResult.ErrorCode.LEADING_ZERO); }
+                
+                return -1;
+            }
+            
+            if (count == starts.length) { starts = Arrays.copyOf(starts, Math.max(8, count * 2)); }
+            starts[count++] = start;
+            
+            if (!peek('.')) { break; }
+            separator = position++;
+        }
+        
+        return count;
+    }
+    
+    private boolean peek(char expected)
+    {
+        return position < end && charAt(position) == expected;
+    }
+    
+    private boolean expect(char expected)
+    {
+        if (peek(expected))
+        {
+            position++;
+            return true;
+        }
+        
+        fail();
+        return false;
+    }
+    
+    // Fails at the current position, which is either past the end or an unexpected character.
+    private @NullOr Version fail()
+    {
+        VersionParseResult.ErrorCode error = (position >= end)
+            ? VersionParseResult.ErrorCode.UNEXPECTED_END
+            : VersionParseResult.ErrorCode.UNEXPECTED_CHARACTER;
+        
+        return fail(position, error);
+    }
+    
+    private @NullOr Version fail(int index, VersionParseResult.ErrorCode error)
+    {
+        this.errorIndex = index;
+        this.error = error;
+        return null;
+    }
+    
+    private int failNumber()
+    {
+        fail();
+        return NOT_A_NUMBER;
+    }
+    
+    private int failNumber(VersionParseResult.ErrorCode error)
+    {
+        fail(position, error);
+        return NOT_A_NUMBER;
+    }
+    
+    static boolean isDigit(char c)
+    {
+        return c >= '0' && c <= '9';
+    }
+    
+    static boolean isIdentifierLetter(char c)
+    {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '-';
+    }
+    
+    static boolean isIdentifierCharacter(char c)
+    {
+        return isDigit(c) || isIdentifierLetter(c);
+    }
+}
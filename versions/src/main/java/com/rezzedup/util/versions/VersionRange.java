@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A contiguous interval of versions ordered by precedence, where either bound
+ * may be inclusive, exclusive, or absent (unbounded).
+ *
+ * <p>Ranges are plain intervals: a pre-release is contained whenever it falls
+ * between the bounds. See {@link VersionConstraint} for the rules that limit
+ * which pre-releases satisfy a constraint.</p>
+ */
+public final class VersionRange
+{
+    private static final VersionRange ALL = new VersionRange(null, false, null, false);
+    
+    private static final VersionRange EMPTY = new VersionRange(Version.ZERO, false, Version.ZERO, false);
+    
+    public static VersionRange all() { return ALL; }
+    
+    public static VersionRange empty() { return EMPTY; }
+    
+    public static VersionRange exactly(Version version)
+    {
+        Objects.requireNonNull(version, "version");
+        return new VersionRange(version, true, version, true);
+    }
+    
+    // >= version
+    public static VersionRange atLeast(Version version)
+    {
+        return new VersionRange(Objects.requireNonNull(version, "version"), true, null, false);
+    }
+    
+    // > version
+    public static VersionRange greaterThan(Version version)
+    {
+        return new VersionRange(Objects.requireNonNull(version, "version"), false, null, false);
+    }
+    
+    // <= version
+    public static VersionRange atMost(Version version)
+    {
+        return new VersionRange(null, false, Objects.requireNonNull(version, "version"), true);
+    }
+    
+    // < version
+    public static VersionRange lessThan(Version version)
+    {
+        return new VersionRange(null, false, Objects.requireNonNull(version, "version"), false);
+    }
+    
+    /**
+     * Creates a range between two bounds, either of which may be {@code null} to leave it unbounded.
+     *
+     * @param lower          the lower bound, or {@code null} if unbounded
+     * @param lowerInclusive whether the lower bound is included in the range
+     * @param upper          the upper bound, or {@code null} if unbounded
+     * @param upperInclusive whether the upper bound is included in the range
+     * @return the range, or {@link #empty()} if no version can satisfy both bounds
+     */
+    public static VersionRange between(
+        @NullOr Version lower, boolean lowerInclusive, @NullOr Version upper, boolean upperInclusive)
+    {
+        if (lower == null && upper == null) { return ALL; }
+        
+        VersionRange range = new VersionRange(lower, lower != null && lowerInclusive, upper, upper != null && upperInclusive);
+        return (range.isEmpty()) ? EMPTY : range;
+    }
+    
+    private final @NullOr Version lower;
+    private final boolean lowerInclusive;
+    private final @NullOr Version upper;
+    private final boolean upperInclusive;
+    
+    private VersionRange(@NullOr Version lower, boolean lowerInclusive, @NullOr Version upper, boolean upperInclusive)
+    {
+        this.lower = lower;
+        this.lowerInclusive = lowerInclusive;
+        this.upper = upper;
+        this.upperInclusive = upperInclusive;
+    }
+    
+    public Optional<Version> lowerBound() { return Optional.ofNullable(lower); }
+    
+    public boolean isLowerInclusive() { return lowerInclusive; }
+    
+    public Optional<Version> upperBound() { return Optional.ofNullable(upper); }
+    
+    public boolean isUpperInclusive() { return upperInclusive; }
+    
+    // Direct bound access for allocation-free callers.
+    @NullOr Version lower() { return lower; }
+    
+    @NullOr Version upper() { return upper; }
+    
+    public boolean isEmpty()
+    {
+        if (lower == null || upper == null) { return false; }
+        
+        int diff = lower.compareTo(upper);
+        return diff > 0 || (diff == 0 && !(lowerInclusive && upperInclusive));
+    }
+    
+    public boolean isBoundedBelow() { return lower != null; }
+    
+    public boolean isBoundedAbove() { return upper != null; }
+    
+    public boolean contains(Version version)
+    {
+        return isAboveLowerBound(version) && isBelowUpperBound(version);
+    }
+    
+    boolean isAboveLowerBound(Version version)
+    {
+        if (lower == null) { return true; }
+        int diff = version.compareTo(lower);
+        return diff > 0 || (diff == 0 && lowerInclusive);
+    }
+    
+    boolean isBelowUpperBound(Version version)
+    {
+        if (upper == null) { return true; }
+        int diff = version.compareTo(upper);
+        return diff < 0 || (diff == 0 && upperInclusive);
+    }
+    
+    public VersionRange intersection(VersionRange other)
+    {
+        if (this == ALL) { return other; }
+        if (other == ALL) { return this; }
+        
+        @NullOr Version lower = this.lower;
+        boolean lowerInclusive = this.lowerInclusive;
+        
+        if (other.lower != null)
+        {
+            int diff = (lower == null) ? -1 : lower.compareTo(other.lower);
+            
+            if (diff < 0)
+            {
+                lower = other.lower;
+                lowerInclusive = other.lowerInclusive;
+            }
+            else if (diff == 0) { lowerInclusive &= other.lowerInclusive; }
+        }
+        
+        @NullOr Version upper = this.upper;
+        boolean upperInclusive = this.upperInclusive;
+        
+        if (other.upper != null)
+        {
+            int diff = (upper == null) ? 1 : upper.compareTo(other.upper);
+            
+            if (diff > 0)
+            {
+                upper = other.upper;
+                upperInclusive = other.upperInclusive;
+            }
+            else if (diff == 0) { upperInclusive &= other.upperInclusive; }
+        }
+        
+        return between(lower, lowerInclusive, upper, upperInclusive);
+    }
+    
+    public boolean overlaps(VersionRange other)
+    {
+        return !isEmpty() && !other.isEmpty() && !intersection(other).isEmpty();
+    }
+    
+    // Maven-style interval notation, e.g. [1.0.0,2.0.0)
+    @Override
+    public String toString()
+    {
+        if (this == EMPTY) { return "(0.0.0,0.0.0)"; }
+        
+        return ((lowerInclusive) ? "[" : "(") +
+            ((lower == null) ? "" : lower.toString()) + "," +
+            ((upper == null) ? "" : upper.toString()) +
+            ((upperInclusive) ? "]" : ")");
+    }
+    
+    @Override
+    public boolean equals(@NullOr Object o)
+    {
+        if (this == o) { return true; }
+        if (o == null || getClass() != o.getClass()) { return false; }
+        VersionRange range = (VersionRange) o;
+        return lowerInclusive == range.lowerInclusive
+            && upperInclusive == range.upperInclusive
+            && Objects.equals(lower, range.lower)
+            && Objects.equals(upper, range.upper);
+    }
+    
+    @Override
+    public int hashCode()
+    {
+        return Objects.hash(lower, lowerInclusive, upper, upperInclusive);
+    }
+}
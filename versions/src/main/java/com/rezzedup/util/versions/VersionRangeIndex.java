@@ -0,0 +1,292 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+
+/**
+ * An immutable index of version ranges (each with a value) that finds every range
+ * containing a version, or overlapping another range, without checking them all.
+ *
+ * <p>Ranges are sorted by lower bound and laid out as an implicit balanced tree (the
+ * middle of each slice is its root), where every node also records the highest upper
+ * bound in its subtree. Queries skip any subtree whose ranges all end too early, and
+ * stop at the first range that starts too late, so they take time proportional to the
+ * height of the tree plus the number of matches rather than the number of ranges.</p>
+ *
+ * <p>Empty ranges are never matched. Results are in order of lower bound, and ranges
+ * with the same lower bound keep the order they were added in. Indexes are safe to
+ * share between threads.</p>
+ *
+ * @param <T> the type of value
+ */
+public final class VersionRangeIndex<T>
+{
+    public static <T> Builder<T> builder() { return new Builder<>(); }
+    
+    // Indexes the ranges themselves.
+    public static VersionRangeIndex<VersionRange> of(Collection<VersionRange> ranges)
+    {
+        Builder<VersionRange> builder = builder();
+        for (VersionRange range : ranges) { builder.add(range, range); }
+        return builder.build();
+    }
+    
+    // Unbounded sorts first, and an inclusive bound before an exclusive bound on the same version.
+    private static final Comparator<VersionRange> LOWER_ORDER = (a, b) ->
+    {
+        @NullOr Version x = a.lower();
+        @NullOr Version y = b.lower();
+        
+        if (x == null || y == null) { return (x == null) ? ((y == null) ? 0 : -1) : 1; }
+        
+        int diff = x.compareTo(y);
+        return (diff != 0) ? diff : Boolean.compare(b.isLowerInclusive(), a.isLowerInclusive());
+    };
+    
+    // Unbounded sorts last, and an inclusive bound after an exclusive bound on the same version.
+    private static final Comparator<VersionRange> UPPER_ORDER = (a, b) ->
+    {
+        @NullOr Version x = a.upper();
+        @NullOr Version y = b.upper();
+        
+        if (x == null || y == null) { return (x == null) ? ((y == null) ? 0 : 1) : -1; }
+        
+        int diff = x.compareTo(y);
+        return (diff != 0) ? diff : Boolean.compare(a.isUpperInclusive(), b.isUpperInclusive());
+    };
+    
+    // Whether some version can be both within the lower bound of one range and the upper bound of another.
+    private static boolean meets(VersionRange lower, VersionRange upper)
+    {
+        @NullOr Version from = lower.lower();
+        @NullOr Version to = upper.upper();
+        
+        if (from == null || to == null) { return true; }
+        
+        int diff = from.compareTo(to);
+        return diff < 0 || (diff == 0 && lower.isLowerInclusive() && upper.isUpperInclusive());
+    }
+    
+    // Sorted by lower bound
+    private final VersionRange[] ranges;
+    private final Object[] values;
+    
+    // Per node (the middle of a slice), the index of the range in its subtree with the highest upper bound
+    private final int[] highest;
+    
+    private VersionRangeIndex(VersionRange[] ranges, Object[] values)
+    {
+        this.ranges = ranges;
+        this.values = values;
+        this.highest = new int[ranges.length];
+        
+        augment(0, ranges.length);
+    }
+    
+    private int augment(int low, int high)
+    {
+        if (low >= high) { return -1; }
+        
+        int middle = (low + high) >>> 1;
+        int max = middle;
+        
+        int left = augment(low, middle);
+        if (left >= 0 && UPPER_ORDER.compare(ranges[left], ranges[max]) > 0) { max = left; }
+        
+        int right = augment(middle + 1, high);
+        if (right >= 0 && UPPER_ORDER.compare(ranges[right], ranges[max]) > 0) { max = right; }
+        
+        highest[middle] = max;
+        return max;
+    }
+    
+    public int size() { return ranges.length; }
+    
+    public boolean isEmpty() { return ranges.length == 0; }
+    
+    @SuppressWarnings("unchecked")
+    private T value(int index) { return (T) values[index]; }
+    
+    /**
+     * Gets the values of every range containing the version.
+     *
+     * @param version the version
+     * @return the values, in order of their ranges' lower bounds
+     */
+    public List<T> containing(Version version)
+    {
+        List<T> values = new ArrayList<>();
+        forEachContaining(version, (range, value) -> values.add(value));
+        return values;
+    }
+    
+    /**
+     * Calls the action with every range containing the version (and its value),
+     * without collecting them.
+     *
+     * @param version   the version
+     * @param action    the action
+     */
+    public void forEachContaining(Version version, BiConsumer<VersionRange, ? super T> action)
+    {
+        Objects.requireNonNull(version, "version");
+        Objects.requireNonNull(action, "action");
+        
+        containing(0, ranges.length, version, action);
+    }
+    
+    private void containing(int low, int high, Version version, BiConsumer<VersionRange, ? super T> action)
+    {
+        // Left subtrees are recursive, right subtrees continue the loop.
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            
+            // Every range in this subtree ends below the version.
+            if (!ranges[highest[middle]].isBelowUpperBound(version)) { return; }
+            
+            containing(low, middle, version, action);
+            
+            // This range, and every range after it, starts above the version.
+            VersionRange range = ranges[middle];
+            if (!range.isAboveLowerBound(version)) { return; }
+            
+            if (range.isBelowUpperBound(version)) { action.accept(range, value(middle)); }
+            low = middle + 1;
+        }
+    }
+    
+    /**
+     * Checks whether any range contains the version, stopping at the first one found.
+     *
+     * @param version the version
+     * @return {@code true} if at least one range contains the version
+     */
+    public boolean anyContains(Version version)
+    {
+        return anyContains(0, ranges.length, Objects.requireNonNull(version, "version"));
+    }
+    
+    private boolean anyContains(int low, int high, Version version)
+    {
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (!ranges[highest[middle]].isBelowUpperBound(version)) { return false; }
+            if (anyContains(low, middle, version)) { return true; }
+            
+            VersionRange range = ranges[middle];
+            if (!range.isAboveLowerBound(version)) { return false; }
+            if (range.isBelowUpperBound(version)) { return true; }
+            
+            low = middle + 1;
+        }
+        
+        return false;
+    }
+    
+    /**
+     * Gets the values of every range overlapping the query range, i.e.
+     * sharing at least one version with it.
+     *
+     * @param query the query range
+     * @return the values, in order of their ranges' lower bounds
+     */
+    public List<T> overlapping(VersionRange query)
+    {
+        List<T> values = new ArrayList<>();
+        forEachOverlapping(query, (range, value) -> values.add(value));
+        return values;
+    }
+    
+    public void forEachOverlapping(VersionRange query, BiConsumer<VersionRange, ? super T> action)
+    {
+        Objects.requireNonNull(query, "query");
+        Objects.requireNonNull(action, "action");
+        
+        if (!query.isEmpty()) { overlapping(0, ranges.length, query, action); }
+    }
+    
+    private void overlapping(int low, int high, VersionRange query, BiConsumer<VersionRange, ? super T> action)
+    {
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            
+            // Every range in this subtree ends before the query starts.
+            if (!meets(query, ranges[highest[middle]])) { return; }
+            
+            overlapping(low, middle, query, action);
+            
+            // This range, and every range after it, starts after the query ends.
+            VersionRange range = ranges[middle];
+            if (!meets(range, query)) { return; }
+            
+            if (meets(query, range)) { action.accept(range, value(middle)); }
+            low = middle + 1;
+        }
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "VersionRangeIndex{ranges=" + ranges.length + "}";
+    }
+    
+    public static final class Builder<T>
+    {
+        private final List<VersionRange> ranges = new ArrayList<>();
+        private final List<T> values = new ArrayList<>();
+        
+        private Builder() {}
+        
+        public Builder<T> add(VersionRange range, T value)
+        {
+            ranges.add(Objects.requireNonNull(range, "range"));
+            values.add(Objects.requireNonNull(value, "value"));
+            return this;
+        }
+        
+        public Builder<T> addAll(Map<VersionRange, ? extends T> ranges)
+        {
+            ranges.forEach(this::add);
+            return this;
+        }
+        
+        public VersionRangeIndex<T> build()
+        {
+            List<Integer> order = new ArrayList<>(ranges.size());
+            
+            // Empty ranges contain nothing and overlap nothing.
+            for (int i = 0; i < ranges.size(); i++) { if (!ranges.get(i).isEmpty()) { order.add(i); } }
+            
+            // Stable, so equal lower bounds keep the order they were added in.
+            order.sort((a, b) -> LOWER_ORDER.compare(ranges.get(a), ranges.get(b)));
+            
+            VersionRange[] sorted = new VersionRange[order.size()];
+            Object[] values = new Object[order.size()];
+            
+            for (int i = 0; i < sorted.length; i++)
+            {
+                sorted[i] = ranges.get(order.get(i));
+                values[i] = this.values.get(order.get(i));
+            }
+            
+            return new VersionRangeIndex<>(sorted, values);
+        }
+    }
+}
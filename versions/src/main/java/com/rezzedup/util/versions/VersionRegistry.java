@@ -0,0 +1,409 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.RandomAccess;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * A thread-safe registry of version sources by name, ordered by version within each name.
+ *
+ * <p>Each name maps to an immutable {@link Snapshot} of its registrations, sorted by
+ * the version each source reported when it was registered. Writes replace a name's
+ * snapshot with an updated copy (only writes to the same name, or to names sharing one
+ * of a fixed number of locks, contend), and reads just query whichever snapshot is
+ * current, so they never lock or wait for writers. Use
+ * {@link #snapshot(String)} to make several queries against the same state.</p>
+ *
+ * @param <T> the type of version source
+ */
+public final class VersionRegistry<T extends VersionSource>
+{
+    public static <T extends VersionSource> VersionRegistry<T> create()
+    {
+        return new VersionRegistry<>();
+    }
+    
+    // Locks ordering each name's changes and their notifications, shared between names by hash.
+    // Held while notifying, so listeners mustn't change the registry (see addListener).
+    private static final int LOCK_STRIPES = 64;
+    
+    private static final Snapshot<?> EMPTY = new Snapshot<>(new VersionSource[0], new Version[0]);
+    
+    @SuppressWarnings("unchecked")
+    private static <T extends VersionSource> Snapshot<T> emptySnapshot() { return (Snapshot<T>) EMPTY; }
+    
+    private final ConcurrentHashMap<String, Snapshot<T>> snapshots = new ConcurrentHashMap<>();
+    private final CopyOnWriteArrayList<Listener<? super T>> listeners = new CopyOnWriteArrayList<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+    
+    private VersionRegistry()
+    {
+        for (int i = 0; i < LOCK_STRIPES; i++) { locks[i] = new Object(); }
+    }
+    
+    private Object lock(String name)
+    {
+        int hash = name.hashCode();
+        return locks[(hash ^ (hash >>> 16)) & (LOCK_STRIPES - 1)];
+    }
+    
+    /**
+     * Registers a source under the name, unless an equal source is already registered there.
+     * Its version is read once, now, and determines where it's ordered.
+     *
+     * @param name      the name
+     * @param source    the source
+     * @return {@code true} if the source was registered
+     */
+    public boolean register(String name, T source)
+    {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(source, "source");
+        Version version = Objects.requireNonNull(source.version(), "version");
+        
+        boolean[] registered = {false};
+        
+        synchronized (lock(name))
+        {
+            snapshots.compute(name, (k, snapshot) ->
+            {
+                if (snapshot == null) { snapshot = emptySnapshot(); }
+                if (snapshot.indexOf(source) >= 0) { return snapshot; }
+                
+                registered[0] = true;
+                return snapshot.with(source, version);
+            });
+            
+            if (registered[0]) { for (Listener<? super T> listener : listeners) { listener.registered(name, source); } }
+        }
+        
+        return registered[0];
+    }
+    
+    /**
+     * Unregisters a source from the name.
+     *
+     * @param name      the name
+     * @param source    the source
+     * @return {@code true} if the source was registered
+     */
+    public boolean unregister(String name, T source)
+    {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(source, "source");
+        
+        // Holds the removed source, if there was one
+        VersionSource[] removed = new VersionSource[1];
+        
+        synchronized (lock(name))
+        {
+            snapshots.computeIfPresent(name, (k, snapshot) ->
+            {
+                int index = snapshot.indexOf(source);
+                if (index < 0) { return snapshot; }
+                
+                removed[0] = snapshot.sources[index];
+                return (snapshot.size() == 1) ? null : snapshot.without(index);
+            });
+            
+            @SuppressWarnings("unchecked")
+            @NullOr T unregistered = (T) removed[0];
+            if (unregistered == null) { return false; }
+            
+            for (Listener<? super T> listener : listeners) { listener.unregistered(name, unregistered); }
+            return true;
+        }
+    }
+    
+    /**
+     * Unregisters every source from the name.
+     *
+     * @param name  the name
+     * @return the sources that were registered
+     */
+    public Snapshot<T> unregisterAll(String name)
+    {
+        Objects.requireNonNull(name, "name");
+        
+        synchronized (lock(name))
+        {
+            @NullOr Snapshot<T> removed = snapshots.remove(name);
+            if (removed == null) { return emptySnapshot(); }
+            
+            for (T source : removed.asList())
+            {
+                for (Listener<? super T> listener : listeners) { listener.unregistered(name, source); }
+            }
+            
+            return removed;
+        }
+    }
+    
+    // Names with at least one registration (a live, weakly consistent, unmodifiable view)
+    public Set<String> names()
+    {
+        return Collections.unmodifiableSet(snapshots.keySet());
+    }
+    
+    /**
+     * Gets the current registrations under the name. The snapshot is unaffected
+     * by later changes to the registry.
+     *
+     * @param name  the name
+     * @return the current registrations (empty if there are none)
+     */
+    public Snapshot<T> snapshot(String name)
+    {
+        @NullOr Snapshot<T> snapshot = snapshots.get(Objects.requireNonNull(name, "name"));
+        return (snapshot == null) ? emptySnapshot() : snapshot;
+    }
+    
+    public Optional<T> highest(String name) { return snapshot(name).highest(); }
+    
+    public Optional<T> lowest(String name) { return snapshot(name).lowest(); }
+    
+    public Optional<T> floor(String name, Version version) { return snapshot(name).floor(version); }
+    
+    public Optional<T> ceiling(String name, Version version) { return snapshot(name).ceiling(version); }
+    
+    public List<T> range(String name, VersionRange range) { return snapshot(name).range(range); }
+    
+    /**
+     * Adds a listener, which is notified on the registering (or unregistering)
+     * thread after each change has taken effect. Changes to the same name are
+     * notified one at a time, in the order they were made, but changes to
+     * different names may be notified concurrently.
+     *
+     * <p>Notifications hold a lock shared with other names, so listeners must
+     * not register or unregister sources while being notified, on any thread
+     * or under any name: two threads notifying listeners that change names
+     * locked by each other deadlock. Hand such changes off to run after the
+     * listener returns instead.</p>
+     *
+     * @param listener  the listener
+     */
+    public void addListener(Listener<? super T> listener)
+    {
+        listeners.add(Objects.requireNonNull(listener, "listener"));
+    }
+    
+    public void removeListener(Listener<? super T> listener)
+    {
+        listeners.remove(listener);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "VersionRegistry" + snapshots;
+    }
+    
+    public interface Listener<T extends VersionSource>
+    {
+        void registered(String name, T source);
+        
+        void unregistered(String name, T source);
+    }
+    
+    /**
+     * An immutable set of registrations under one name, sorted by version.
+     * Registrations with versions of equal precedence are kept in the order they were registered.
+     *
+     * @param <T> the type of version source
+     */
+    public static final class Snapshot<T extends VersionSource>
+    {
+        private final VersionSource[] sources;
+        
+        // Versions of the sources when they were registered
+        private final Version[] versions;
+        
+        private Snapshot(VersionSource[] sources, Version[] versions)
+        {
+            this.sources = sources;
+            this.versions = versions;
+        }
+        
+        public int size() { return sources.length; }
+        
+        public boolean isEmpty() { return sources.length == 0; }
+        
+        @SuppressWarnings("unchecked")
+        public T get(int index)
+        {
+            return (T) sources[index];
+        }
+        
+        // The version the source at the index was registered with
+        public Version version(int index)
+        {
+            return versions[index];
+        }
+        
+        public List<T> asList()
+        {
+            return new View(0, sources.length);
+        }
+        
+        private int indexOf(VersionSource source)
+        {
+            for (int i = 0; i < sources.length; i++) { if (sources[i].equals(source)) { return i; } }
+            return -1;
+        }
+        
+        private Snapshot<T> with(VersionSource source, Version version)
+        {
+            int index = search(0, sources.length, version, false);
+            
+            VersionSource[] sources = new VersionSource[this.sources.length + 1];
+            Version[] versions = new Version[sources.length];
+            
+            System.arraycopy(this.sources, 0, sources, 0, index);
+            System.arraycopy(this.versions, 0, versions, 0, index);
+            sources[index] = source;
+            versions[index] = version;
+            System.arraycopy(this.sources, index, sources, index + 1, this.sources.length - index);
+            System.arraycopy(this.versions, index, versions, index + 1, this.versions.length - index);
+            
+            return new Snapshot<>(sources, versions);
+        }
+        
+        private Snapshot<T> without(int index)
+        {
+            VersionSource[] sources = new VersionSource[this.sources.length - 1];
+            Version[] versions = new Version[sources.length];
+            
+            System.arraycopy(this.sources, 0, sources, 0, index);
+            System.arraycopy(this.versions, 0, versions, 0, index);
+            System.arraycopy(this.sources, index + 1, sources, index, sources.length - index);
+            System.arraycopy(this.versions, index + 1, versions, index, versions.length - index);
+            
+            return new Snapshot<>(sources, versions);
+        }
+        
+        // Index of the first version with precedence greater than (or equal to, if inclusive) the target.
+        private int search(int low, int high, Version target, boolean inclusive)
+        {
+            while (low < high)
+            {
+                int middle = (low + high) >>> 1;
+                int diff = versions[middle].compareTo(target);
+                
+                if (diff < 0 || (diff == 0 && !inclusive)) { low = middle + 1; }
+                else { high = middle; }
+            }
+            
+            return low;
+        }
+        
+        private Optional<T> at(int index)
+        {
+            return (index >= 0 && index < sources.length) ? Optional.of(get(index)) : Optional.empty();
+        }
+        
+        // The most recently registered source with the highest version
+        public Optional<T> highest() { return at(sources.length - 1); }
+        
+        public Optional<T> lowest() { return at(0); }
+        
+        /**
+         * Gets the source with the greatest version whose precedence is less than
+         * or equal to the provided version.
+         *
+         * @param version the version
+         * @return the floor source, or empty if there isn't one
+         */
+        public Optional<T> floor(Version version)
+        {
+            return at(search(0, sources.length, version, false) - 1);
+        }
+        
+        /**
+         * Gets the source with the least version whose precedence is greater than
+         * or equal to the provided version.
+         *
+         * @param version the version
+         * @return the ceiling source, or empty if there isn't one
+         */
+        public Optional<T> ceiling(Version version)
+        {
+            return at(search(0, sources.length, version, true));
+        }
+        
+        /**
+         * Gets a view of the sources with versions within the range, in order.
+         *
+         * @param range the range
+         * @return the sources within the range
+         */
+        public List<T> range(VersionRange range)
+        {
+            if (range.isEmpty()) { return List.of(); }
+            
+            @NullOr Version lower = range.lower();
+            @NullOr Version upper = range.upper();
+            
+            int low = (lower == null) ? 0 : search(0, sources.length, lower, range.isLowerInclusive());
+            int high = (upper == null) ? sources.length : search(low, sources.length, upper, !range.isUpperInclusive());
+            
+            return new View(low, Math.max(low, high));
+        }
+        
+        /**
+         * Gets the sources with versions that satisfy the constraint, in order.
+         *
+         * @param constraint the constraint
+         * @return the satisfying sources
+         */
+        public List<T> matching(VersionConstraint constraint)
+        {
+            List<T> matching = new ArrayList<>();
+            for (int i = 0; i < sources.length; i++) { if (constraint.isSatisfiedBy(versions[i])) { matching.add(get(i)); } }
+            return List.copyOf(matching);
+        }
+        
+        @Override
+        public String toString()
+        {
+            return asList().toString();
+        }
+        
+        private final class View extends AbstractList<T> implements RandomAccess
+        {
+            private final int from;
+            private final int to;
+            
+            View(int from, int to)
+            {
+                this.from = from;
+                this.to = to;
+            }
+            
+            @Override
+            public T get(int index)
+            {
+                Objects.checkIndex(index, to - from);
+                return Snapshot.this.get(from + index);
+            }
+            
+            @Override
+            public int size() { return to - from; }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The outcome of {@link VersionResolver#resolve(Map) resolving} requirements:
+ * either a version for every required artifact, or a minimal set of
+ * requirements that conflict.
+ */
+public final class VersionResolution
+{
+    static VersionResolution resolved(Map<String, Version> versions)
+    {
+        return new VersionResolution(versions, List.of());
+    }
+    
+    static VersionResolution conflict(List<Requirement> conflict)
+    {
+        return new VersionResolution(Map.of(), conflict);
+    }
+    
+    private final Map<String, Version> versions;
+    private final List<Requirement> conflict;
+    
+    private VersionResolution(Map<String, Version> versions, List<Requirement> conflict)
+    {
+        this.versions = versions;
+        this.conflict = conflict;
+    }
+    
+    public boolean isResolved() { return conflict.isEmpty(); }
+    
+    /**
+     * Gets the selected version of every required artifact, directly or transitively.
+     *
+     * @return artifact names to selected versions, or an empty map if there's a conflict
+     */
+    public Map<String, Version> versions() { return versions; }
+    
+    public Optional<Version> version(String artifact)
+    {
+        return Optional.ofNullable(versions.get(artifact));
+    }
+    
+    /**
+     * Gets a minimal set of requirements that can't all be satisfied: these alone
+     * conflict, but every smaller subset of them could be resolved.
+     *
+     * @return the conflicting requirements, or an empty list if resolved
+     */
+    public List<Requirement> conflict() { return conflict; }
+    
+    @Override
+    public String toString()
+    {
+        if (isResolved()) { return "Resolved" + versions; }
+        
+        StringBuilder explanation = new StringBuilder("Conflicting requirements:");
+        for (Requirement requirement : conflict) { explanation.append("\n  - ").append(requirement); }
+        return explanation.toString();
+    }
+    
+    /**
+     * A constraint on an artifact, required either directly or by a specific version of another artifact.
+     */
+    public static final class Requirement
+    {
+        private final @NullOr String dependent;
+        private final @NullOr Version dependentVersion;
+        private final String artifact;
+        private final VersionConstraint constraint;
+        
+        Requirement(@NullOr String dependent, @NullOr Version dependentVersion, String artifact, VersionConstraint constraint)
+        {
+            this.dependent = dependent;
+            this.dependentVersion = dependentVersion;
+            this.artifact = artifact;
+            this.constraint = constraint;
+        }
+        
+        // Empty for requirements passed directly to the resolver
+        public Optional<String> dependent() { return Optional.ofNullable(dependent); }
+        
+        public Optional<Version> dependentVersion() { return Optional.ofNullable(dependentVersion); }
+        
+        public String artifact() { return artifact; }
+        
+        public VersionConstraint constraint() { return constraint; }
+        
+        @Override
+        public String toString()
+        {
+            String requires = artifact + " " + constraint;
+            return (dependent == null) ? "requires " + requires : dependent + " " + dependentVersion + " requires " + requires;
+        }
+        
+        @Override
+        public boolean equals(@NullOr Object o)
+        {
+            if (this == o) { return true; }
+            if (o == null || getClass() != o.getClass()) { return false; }
+            Requirement that = (Requirement) o;
+            return Objects.equals(dependent, that.dependent)
+                && Objects.equals(dependentVersion, that.dependentVersion)
+                && artifact.equals(that.artifact)
+                && constraint.equals(that.constraint);
+        }
+        
+        @Override
+        public int hashCode()
+        {
+            return Objects.hash(dependent, dependentVersion, artifact, constraint);
+        }
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import com.rezzedup.util.versions.VersionCatalog.Dependency;
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Selects a version of every artifact required (directly or transitively) so that
+ * all constraints between them are satisfied, preferring the highest versions.
+ *
+ * <p>Artifacts are decided breadth-first, in the order they become required, each
+ * taking its highest candidate consistent with the decisions so far. When every
+ * candidate of an artifact is ruled out, the search jumps straight back to the most
+ * recent decision that contributed to the conflict (conflict-directed backjumping),
+ * and remembers the combination of decisions that caused it as a "nogood" so that
+ * it's never explored again. The candidates matching each constraint are computed
+ * once per resolver as bit sets, so checking a constraint is a bitwise {@code and}.</p>
+ *
+ * <p>When resolution fails, the conflict is reduced to a minimal set of requirements
+ * by removing each one in turn and keeping only those without which the remaining
+ * requirements could be resolved on their own (a deletion filter).</p>
+ *
+ * <p>Resolvers are thread-safe.</p>
+ */
+public final class VersionResolver
+{
+    // Larger nogoods cost more to check than they're likely to save.
+    private static final int MAX_NOGOOD_SIZE = 32;
+    
+    private static final BitSet NONE = new BitSet();
+    
+    public static VersionResolver of(VersionCatalog catalog)
+    {
+        return new VersionResolver(Objects.requireNonNull(catalog, "catalog"));
+    }
+    
+    private final VersionCatalog catalog;
+    
+    // Per catalog artifact: candidates (by index) satisfying each constraint seen so far
+    private final List<Map<VersionConstraint, BitSet>> masks;
+    
+    private VersionResolver(VersionCatalog catalog)
+    {
+        this.catalog = catalog;
+        this.masks = new ArrayList<>(catalog.names.length);
+        for (int i = 0; i < catalog.names.length; i++) { masks.add(new ConcurrentHashMap<>()); }
+    }
+    
+    public VersionCatalog catalog() { return catalog; }
+    
+    private BitSet mask(int artifact, VersionConstraint constraint)
+    {
+        if (artifact >= catalog.names.length) { return NONE; }
+        
+        return masks.get(artifact).computeIfAbsent(constraint, c ->
+        {
+            Version[] candidates = catalog.candidates[artifact];
+            BitSet mask = new BitSet(candidates.length);
+            for (int i = 0; i < candidates.length; i++) { if (c.isSatisfiedBy(candidates[i])) { mask.set(i); } }
+            return mask;
+        });
+    }
+    
+    /**
+     * Resolves the requirements against the catalog.
+     *
+     * @param requirements  artifact names to constraints
+     * @return the highest compatible versions, or a minimal conflict
+     */
+    public VersionResolution resolve(Map<String, VersionConstraint> requirements)
+    {
+        List<String> missing = new ArrayList<>();
+        Dependency[] roots = new Dependency[requirements.size()];
+        
+        int i = 0;
+        for (Map.Entry<String, VersionConstraint> entry : requirements.entrySet())
+        {
+            String name = Objects.requireNonNull(entry.getKey(), "artifact");
+            VersionConstraint constraint = Objects.requireNonNull(entry.getValue(), "constraint");
+            
+            @NullOr Integer id = catalog.ids.get(name);
+            
+            if (id == null)
+            {
+                id = catalog.names.length + missing.size();
+                missing.add(name);
+            }
+            
+            roots[i] = new Dependency(catalog.edges.length + i, -1, null, id, constraint);
+            i++;
+        }
+        
+        Search search = new Search(roots, missing, null);
+        if (search.solve()) { return VersionResolution.resolved(search.versions()); }
+        
+        // Deletion filter: drop every edge that the conflict doesn't need. Each failed trial only
+        // involves edges it activated, so the conflict shrinks to those (which are still unsatisfiable).
+        BitSet conflict = search.involved;
+        
+        for (int edge = conflict.nextSetBit(0); edge >= 0; edge = conflict.nextSetBit(edge + 1))
+        {
+            BitSet without = (BitSet) conflict.clone();
+            without.clear(edge);
+            
+            Search trial = new Search(roots, missing, without);
+            if (!trial.solve()) { conflict = trial.involved; }
+        }
+        
+        List<VersionResolution.Requirement> explanation = new ArrayList<>();
+        
+        for (int edge = conflict.nextSetBit(0); edge >= 0; edge = conflict.nextSetBit(edge + 1))
+        {
+            Dependency dependency = (edge < catalog.edges.length) ? catalog.edges[edge] : roots[edge - catalog.edges.length];
+            
+            explanation.add(new VersionResolution.Requirement(
+                (dependency.source < 0) ? null : catalog.names[dependency.source],
+                dependency.sourceVersion,
+                name(dependency.target, missing),
+                dependency.constraint
+            ));
+        }
+        
+        return VersionResolution.conflict(List.copyOf(explanation));
+    }
+    
+    private String name(int artifact, List<String> missing)
+    {
+        return (artifact < catalog.names.length) ? catalog.names[artifact] : missing.get(artifact - catalog.names.length);
+    }
+    
+    // An active constraint on an artifact, and the candidates still allowed once it's applied.
+    private static final class Active
+    {
+        final int level;
+        final BitSet allowed;
+        
+        Active(int level, BitSet allowed)
+        {
+            this.level = level;
+            this.allowed = allowed;
+        }
+    }
+    
+    private final class Search
+    {
+        private final Dependency[] roots;
+        private final List<String> missing;
+        private final @NullOr BitSet enabled;
+        
+        // Per artifact
+        private final int[] assignment;
+        private final int[] levelOf;
+        private final List<List<Active>> active;
+        
+        // Per decision level (level 0 holds the requirements passed to the resolver)
+        private final int[] artifactAt;
+        private final int[] nextCandidate;
+        private final BitSet[] conflicts;
+        
+        // Required artifacts without a version, ordered by the level that first required them (see: key)
+        private final TreeSet<Long> pending = new TreeSet<>();
+        
+        // Learned nogoods, by each of their literals (see: literal)
+        private final Map<Long, List<long[]>> nogoods = new HashMap<>();
+        
+        // Every edge that was activated, for explaining conflicts
+        final BitSet involved = new BitSet();
+        
+        // Number of decisions in the solution, once solved
+        private int depth;
+        
+        Search(Dependency[] roots, List<String> missing, @NullOr BitSet enabled)
+        {
+            this.roots = roots;
+            this.missing = missing;
+            this.enabled = enabled;
+            
+            int artifacts = catalog.names.length + missing.size();
+            
+            this.assignment = new int[artifacts];
+            this.levelOf = new int[artifacts];
+            this.active = new ArrayList<>(artifacts);
+            this.artifactAt = new int[artifacts + 1];
+            this.nextCandidate = new int[artifacts + 1];
+            this.conflicts = new BitSet[artifacts + 1];
+            
+            for (int i = 0; i < artifacts; i++)
+            {
+                assignment[i] = -1;
+                active.add(new ArrayList<>());
+            }
+        }
+        
+        private boolean isEnabled(Dependency dependency)
+        {
+            return enabled == null || enabled.get(dependency.edge);
+        }
+        
+        private Dependency[] dependencies(int artifact, int candidate)
+        {
+            return catalog.dependencies[artifact][candidate];
+        }
+        
+        private BitSet allowed(int artifact)
+        {
+            List<Active> constraints = active.get(artifact);
+            return constraints.get(constraints.size() - 1).allowed;
+        }
+        
+        boolean solve()
+        {
+            for (Dependency root : roots) { if (isEnabled(root)) { activate(root, 0); } }
+            for (Dependency root : roots) { if (isEnabled(root) && allowed(root.target).isEmpty()) { return false; } }
+            
+            int level = 0;
+            
+            while (true)
+            {
+                int artifact = next();
+                
+                if (artifact < 0)
+                {
+                    depth = level;
+                    return true;
+                }
+                
+                level++;
+                artifactAt[level] = artifact;
+                nextCandidate[level] = 0;
+                conflicts[level] = new BitSet();
+                
+                while (!assignNext(level))
+                {
+                    // Every candidate failed: blame the decisions that ruled them out.
+                    BitSet conflict = conflicts[level];
+                    explainExclusions(artifactAt[level], conflict);
+                    conflict.clear(level);
+                    
+                    int culprit = conflict.length() - 1;
+                    if (culprit <= 0) { return false; }
+                    
+                    learn(conflict);
+                    
+                    for (int undone = level - 1; undone >= culprit; undone--) { unassign(undone); }
+                    
+                    conflicts[culprit].or(conflict);
+                    conflicts[culprit].clear(culprit);
+                    level = culprit;
+                }
+            }
+        }
+        
+        // The earliest required artifact without a version (ties broken by catalog order), or -1 if there's none.
+        private int next()
+        {
+            return (pending.isEmpty()) ? -1 : (int) (long) pending.first();
+        }
+        
+        private long key(int artifact)
+        {
+            return ((long) active.get(artifact).get(0).level << 32) | artifact;
+        }
+        
+        private boolean assignNext(int level)
+        {
+            int artifact = artifactAt[level];
+            BitSet allowed = allowed(artifact);
+            BitSet conflict = conflicts[level];
+            
+            for (int i = allowed.nextSetBit(nextCandidate[level]); i >= 0; i = allowed.nextSetBit(i + 1))
+            {
+                nextCandidate[level] = i + 1;
+                if (violatesNogood(artifact, i, conflict)) { continue; }
+                
+                assign(artifact, i, level);
+                if (isConsistent(artifact, i, level, conflict)) { return true; }
+                unassign(level);
+            }
+            
+            return false;
+        }
+        
+        private void assign(int artifact, int candidate, int level)
+        {
+            pending.remove(key(artifact));
+            assignment[artifact] = candidate;
+            levelOf[artifact] = level;
+            
+            for (Dependency dependency : dependencies(artifact, candidate))
+            {
+                if (isEnabled(dependency)) { activate(dependency, level); }
+            }
+        }
+        
+        private void activate(Dependency dependency, int level)
+        {
+            involved.set(dependency.edge);
+            
+            BitSet mask = mask(dependency.target, dependency.constraint);
+            List<Active> constraints = active.get(dependency.target);
+            BitSet allowed = mask;
+            
+            // Masks are shared, so only ever intersect copies.
+            if (!constraints.isEmpty())
+            {
+                allowed = (BitSet) allowed(dependency.target).clone();
+                allowed.and(mask);
+            }
+            
+            constraints.add(new Active(level, allowed));
+            if (constraints.size() == 1) { pending.add(key(dependency.target)); }
+        }
+        
+        private void unassign(int level)
+        {
+            int artifact = artifactAt[level];
+            Dependency[] dependencies = dependencies(artifact, assignment[artifact]);
+            
+            // Constraints from this level are on top of every stack, since later levels were undone first.
+            for (int i = dependencies.length - 1; i >= 0; i--)
+            {
+                if (!isEnabled(dependencies[i])) { continue; }
+                int target = dependencies[i].target;
+                List<Active> constraints = active.get(target);
+                
+                if (constraints.size() == 1) { pending.remove(key(target)); }
+                constraints.remove(constraints.size() - 1);
+            }
+            
+            assignment[artifact] = -1;
+            pending.add(key(artifact));
+        }
+        
+        // Checks the new constraints against decided artifacts, and that undecided ones still have candidates.
+        private boolean isConsistent(int artifact, int candidate, int level, BitSet conflict)
+        {
+            for (Dependency dependency : dependencies(artifact, candidate))
+            {
+                if (!isEnabled(dependency)) { continue; }
+                
+                int target = dependency.target;
+                
+                if (assignment[target] >= 0)
+                {
+                    if (!mask(target, dependency.constraint).get(assignment[target]))
+                    {
+                        conflict.set(levelOf[target]);
+                        return false;
+                    }
+                }
+                else if (allowed(target).isEmpty())
+                {
+                    explainExclusions(target, conflict);
+                    conflict.clear(level);
+                    return false;
+                }
+            }
+            
+            return true;
+        }
+        
+        // Adds the level that first required the artifact and, for each candidate that isn't
+        // allowed, the level of the earliest constraint that excluded it.
+        private void explainExclusions(int artifact, BitSet conflict)
+        {
+            List<Active> constraints = active.get(artifact);
+            conflict.set(constraints.get(0).level);
+            
+            int candidates = (artifact < catalog.names.length) ? catalog.candidates[artifact].length : 0;
+            BitSet allowed = allowed(artifact);
+            
+            for (int i = allowed.nextClearBit(0); i < candidates; i = allowed.nextClearBit(i + 1))
+            {
+                for (Active constraint : constraints)
+                {
+                    if (!constraint.allowed.get(i))
+                    {
+                        conflict.set(constraint.level);
+                        break;
+                    }
+                }
+            }
+        }
+        
+        private long literal(int artifact, int candidate)
+        {
+            return ((long) artifact << 32) | candidate;
+        }
+        
+        // The decisions at these levels can't all hold in any solution.
+        private void learn(BitSet levels)
+        {
+            if (levels.cardinality() > MAX_NOGOOD_SIZE) { return; }
+            
+            long[] nogood = new long[levels.cardinality()];
+            int i = 0;
+            
+            for (int level = levels.nextSetBit(1); level >= 0; level = levels.nextSetBit(level + 1))
+            {
+                int artifact = artifactAt[level];
+                nogood[i++] = literal(artifact, assignment[artifact]);
+            }
+            
+            if (i < nogood.length) { nogood = Arrays.copyOf(nogood, i); }
+            for (long literal : nogood) { nogoods.computeIfAbsent(literal, k -> new ArrayList<>()).add(nogood); }
+        }
+        
+        private boolean violatesNogood(int artifact, int candidate, BitSet conflict)
+        {
+            long assigning = literal(artifact, candidate);
+            @NullOr List<long[]> watching = nogoods.get(assigning);
+            if (watching == null) { return false; }
+            
+            for (long[] nogood : watching)
+            {
+                if (!holdsExcept(nogood, assigning)) { continue; }
+                
+                for (long literal : nogood)
+                {
+                    if (literal != assigning) { conflict.set(levelOf[(int) (literal >>> 32)]); }
+                }
+                return true;
+            }
+            
+            return false;
+        }
+        
+        private boolean holdsExcept(long[] nogood, long excluded)
+        {
+            for (long literal : nogood)
+            {
+                if (literal == excluded) { continue; }
+                if (assignment[(int) (literal >>> 32)] != (int) literal) { return false; }
+            }
+            return true;
+        }
+        
+        Map<String, Version> versions()
+        {
+            Map<String, Version> versions = new LinkedHashMap<>();
+            
+            for (int level = 1; level <= depth; level++)
+            {
+                int artifact = artifactAt[level];
+                versions.put(name(artifact, missing), catalog.candidates[artifact][assignment[artifact]]);
+            }
+            
+            return Collections.unmodifiableMap(versions);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Finds every version embedded in free-form text, such as log lines, user agents and
+ * banners (e.g. {@code "git-Paper-123 (MC: 1.19.2)"} contains {@code 123} and {@code 1.19.2}).
+ *
+ * <p>Text is scanned in a single pass without regular expressions: at each digit that
+ * could begin a version, the longest version is parsed in place (see:
+ * {@link Version#parsePrefix(CharSequence, java.text.ParsePosition)}) and scanning resumes
+ * after it. A version can't begin in the middle of a word, a number, or a dotted sequence,
+ * so the {@code 86} in {@code "x86"} and the {@code 4} in {@code "1.2.3.4"} aren't matched.
+ * A {@code v} or {@code V} prefix is allowed, as in {@code "v1.2.0"}.</p>
+ *
+ * <p>The lenient scanner finds the same versions as {@link Version#parse(String)} accepts,
+ * including bare numbers; the strict scanner only finds complete {@code major.minor.patch}
+ * versions. Scanners are stateless and thread-safe.</p>
+ */
+public final class VersionScanner
+{
+    private static final int BUFFER_SIZE = 8192;
+    
+    private static final VersionScanner LENIENT = new VersionScanner(false);
+    
+    private static final VersionScanner STRICT = new VersionScanner(true);
+    
+    public static VersionScanner lenient() { return LENIENT; }
+    
+    public static VersionScanner strict() { return STRICT; }
+    
+    private final boolean strict;
+    
+    private VersionScanner(boolean strict)
+    {
+        this.strict = strict;
+    }
+    
+    public boolean isStrict() { return strict; }
+    
+    public List<VersionMatch> findAll(CharSequence input)
+    {
+        List<VersionMatch> matches = new ArrayList<>();
+        scan(input, matches::add);
+        return matches;
+    }
+    
+    public void scan(CharSequence input, Consumer<? super VersionMatch> action)
+    {
+        Objects.requireNonNull(action, "action");
+        scan(new VersionParser(strict), input, 0, input.length(), 0, action);
+    }
+    
+    /**
+     * Scans each line read from the reader, in place in a reused buffer, reporting
+     * matches with their line and position within it. Lines end at {@code \n},
+     * {@code \r\n} or the end of input. The reader isn't closed.
+     *
+     * @param reader    the reader
+     * @param action    the action to perform for each match
+     * @return the number of lines scanned
+     * @throws IOException if the reader throws
+     */
+    public long scan(Reader reader, Consumer<? super VersionMatch> action) throws IOException
+    {
+        Objects.requireNonNull(reader, "reader");
+        Objects.requireNonNull(action, "action");
+        
+        VersionParser parser = new VersionParser(strict);
+        char[] buffer = new char[BUFFER_SIZE];
+        CharBuffer view = CharBuffer.wrap(buffer);
+        
+        long line = 0;
+        int length = 0;
+        int lineStart = 0;
+        int searched = 0;
+        
+        while (true)
+        {
+            int read = reader.read(buffer, length, buffer.length - length);
+            if (read > 0) { length += read; }
+            
+            for (int i = searched; i < length; i++)
+            {
+                if (buffer[i] != '\n') { continue; }
+                
+                int lineEnd = (i > lineStart && buffer[i - 1] == '\r') ? i - 1 : i;
+                scan(parser, view, lineStart, lineEnd, line++, action);
+                lineStart = i + 1;
+            }
+            
+            if (read < 0)
+            {
+                if (lineStart < length) { scan(parser, view, lineStart, length, line++, action); }
+                return line;
+            }
+            
+            // Keep the incomplete last line, growing the buffer if it's all one line.
+            if (lineStart > 0)
+            {
+                System.arraycopy(buffer, lineStart, buffer, 0, length - lineStart);
+                length -= lineStart;
+                lineStart = 0;
+            }
+            else if (length == buffer.length)
+            {
+                char[] larger = new char[buffer.length * 2];
+                System.arraycopy(buffer, 0, larger, 0, length);
+                buffer = larger;
+                view = CharBuffer.wrap(buffer);
+            }
+            
+            searched = length;
+        }
+    }
+    
+    /**
+     * Scans each line of a UTF-8 file.
+     *
+     * @param file      the file
+     * @param action    the action to perform for each match
+     * @return the number of lines scanned
+     * @throws IOException if the file cannot be read
+     * @see #scan(Reader, Consumer)
+     */
+    public long scan(Path file, Consumer<? super VersionMatch> action) throws IOException
+    {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8))
+        {
+            return scan(reader, action);
+        }
+    }
+    
+    // Reports positions relative to the start of the region.
+    private static void scan(
+        VersionParser parser, CharSequence input, int from, int to, long line, Consumer<? super VersionMatch> action)
+    {
+        int i = from;
+        
+        while (i < to)
+        {
+            if (!VersionParser.isDigit(input.charAt(i))) { i++; continue; }
+            
+            if (!isStart(input, from, i))
+            {
+                i = skipDigits(input, i + 1, to);
+                continue;
+            }
+            
+            @NullOr Version version = parser.parse(input, i, to, true);
+            
+            if (version == null)
+            {
+                // Nothing can begin within the rest of this number, or after a dot that follows it.
+                i = skipDigits(input, i + 1, to);
+                continue;
+            }
+            
+            int end = parser.position();
+            action.accept(new VersionMatch(line, i - from, end - from, version));
+            i = end;
+        }
+    }
+    
+    private static int skipDigits(CharSequence input, int i, int to)
+    {
+        while (i < to && VersionParser.isDigit(input.charAt(i))) { i++; }
+        return i;
+    }
+    
+    // Versions start at the beginning of a region, or after a character that can't continue a
+    // word, number or dotted sequence, or after a "v" prefix that itself starts a word.
+    private static boolean isStart(CharSequence input, int from, int index)
+    {
+        if (index == from) { return true; }
+        
+        char previous = input.charAt(index - 1);
+        
+        if (previous == 'v' || previous == 'V')
+        {
+            return index - 1 == from || isSeparator(input.charAt(index - 2));
+        }
+        
+        return isSeparator(previous);
+    }
+    
+    private static boolean isSeparator(char c)
+    {
+        return !VersionParser.isDigit(c) && !Character.isLetter(c) && c != '.';
+    }
+}
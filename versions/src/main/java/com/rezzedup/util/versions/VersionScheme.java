@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import java.util.Optional;
+
+/**
+ * A way of writing versions, such as SemVer, Maven, or calendar versioning, that
+ * parses inputs into {@link SchemeVersion}s ordered by a precomputed key.
+ *
+ * <p>Implementations encode each version as a byte array whose unsigned lexicographic
+ * order is the scheme's precedence (see {@link SchemeVersion#of(VersionScheme, String, byte[])}),
+ * so comparing and sorting never re-parse or re-interpret the input.</p>
+ *
+ * <p>Use {@link #detect(String)} or {@link #parseAny(String)} for inputs of unknown
+ * schemes. Detection looks at the shape of the input in a single pass and picks one
+ * scheme, rather than trying every parser in turn.</p>
+ */
+public interface VersionScheme
+{
+    /**
+     * Semantic versions, parsed leniently like {@link Version#parse(String)}
+     * (e.g. {@code 1.2.3-rc.1}, {@code 1.2}).
+     *
+     * @return the SemVer scheme
+     */
+    static VersionScheme semver() { return VersionSchemes.SemVer.INSTANCE; }
+    
+    /**
+     * Maven versions: any number of numeric components and qualifiers (e.g.
+     * {@code 1.2.3.4}, {@code 1.0-SNAPSHOT}, {@code 2.0-RC1}, {@code 22w13a}),
+     * ordered like Maven's {@code ComparableVersion}.
+     *
+     * @return the Maven scheme
+     */
+    static VersionScheme maven() { return VersionSchemes.Maven.INSTANCE; }
+    
+    /**
+     * Calendar versions (e.g. {@code 2024.01.15}, {@code 22.04}, {@code 2023.10-beta}).
+     *
+     * @return the CalVer scheme
+     */
+    static VersionScheme calver() { return VersionSchemes.CalVer.INSTANCE; }
+    
+    /**
+     * Picks the built-in scheme an input is most likely written in, by its shape:
+     * a four-digit year or a zero-padded month makes it CalVer; up to three numeric
+     * components optionally followed by SemVer pre-release or build metadata (but no
+     * Maven qualifiers, like {@code RC1} or {@code SNAPSHOT}) makes it SemVer; and
+     * anything else is Maven.
+     *
+     * @param input the input
+     * @return the detected scheme
+     */
+    static VersionScheme detect(String input)
+    {
+        return VersionSchemes.detect(input);
+    }
+    
+    /**
+     * Parses an input in the {@link #detect(String) detected} scheme. If that scheme
+     * rejects it, the input is parsed as Maven, which accepts the most inputs.
+     *
+     * @param input the input
+     * @return the parsed version, or empty if no built-in scheme accepts the input
+     */
+    static Optional<SchemeVersion> parseAny(String input)
+    {
+        VersionScheme scheme = detect(input);
+        Optional<SchemeVersion> version = scheme.parse(input);
+        return (version.isPresent() || scheme == maven()) ? version : maven().parse(input);
+    }
+    
+    /**
+     * Gets the name of this scheme. Versions of different schemes are ordered by
+     * their schemes' names, so names should be unique.
+     *
+     * @return the name
+     */
+    String name();
+    
+    /**
+     * Parses the input.
+     *
+     * @param input the input
+     * @return the parsed version, or empty if the input isn't valid in this scheme
+     */
+    Optional<SchemeVersion> parse(String input);
+}
@@ -0,0 +1,407 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Built-in {@link VersionScheme}s, and detecting which of them an input is written in.
+ */
+final class VersionSchemes
+{
+    private VersionSchemes() {}
+    
+    static boolean isDigit(char c) { return VersionParser.isDigit(c); }
+    
+    static boolean isLetter(char c) { return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'); }
+    
+    static VersionScheme detect(String input)
+    {
+        int length = input.length();
+        int position = 0;
+        int components = 0;
+        int yearDigits = 0;
+        boolean leadingZero = false;
+        boolean paddedMonth = false;
+        
+        // Numeric components separated by dots
+        while (position < length && isDigit(input.charAt(position)))
+        {
+            int start = position;
+            while (position < length && isDigit(input.charAt(position))) { position++; }
+            
+            boolean padded = position - start > 1 && input.charAt(start) == '0';
+            leadingZero |= padded;
+            
+            if (components == 0) { yearDigits = position - start; }
+            else if (components == 1) { paddedMonth = padded; }
+            
+            components++;
+            
+            if (position + 1 < length && input.charAt(position) == '.' && isDigit(input.charAt(position + 1))) { position++; }
+            else { break; }
+        }
+        
+        if (components >= 2)
+        {
+            boolean year = yearDigits == 4 && (input.charAt(0) == '1' || input.charAt(0) == '2');
+            if (year || (yearDigits == 2 && paddedMonth)) { return CalVer.INSTANCE; }
+        }
+        
+        if (components == 0 || components > 3 || leadingZero) { return Maven.INSTANCE; }
+        if (position == length) { return SemVer.INSTANCE; }
+        
+        char next = input.charAt(position);
+        if (next != '-' && next != '+') { return Maven.INSTANCE; }
+        
+        return (hasMavenQualifier(input, position + 1)) ? Maven.INSTANCE : SemVer.INSTANCE;
+    }
+    
+    // Whether any pre-release identifier looks like a Maven qualifier: letters then digits (RC1), or a Maven-only word.
+    private static boolean hasMavenQualifier(String input, int position)
+    {
+        int length = input.length();
+        
+        while (position < length && input.charAt(position) != '+')
+        {
+            int start = position;
+            while (position < length && isLetter(input.charAt(position))) { position++; }
+            
+            int letters = position - start;
+            while (position < length && isDigit(input.charAt(position))) { position++; }
+            
+            boolean end = position == length || input.charAt(position) == '.' || input.charAt(position) == '+';
+            
+            if (end && letters > 0)
+            {
+                if (position > start + letters) { return true; }
+                if (Maven.isMavenOnly(input.substring(start, position).toLowerCase(Locale.ROOT))) { return true; }
+            }
+            
+            // Skip the rest of the identifier.
+            while (position < length && input.charAt(position) != '.' && input.charAt(position) != '+') { position++; }
+            if (position < length && input.charAt(position) == '.') { position++; }
+        }
+        
+        return false;
+    }
+    
+    // A growable key of bytes
+    static final class Key
+    {
+        private byte[] bytes = new byte[16];
+        private int length;
+        
+        void put(int value)
+        {
+            if (length == bytes.length) { bytes = Arrays.copyOf(bytes, length * 2); }
+            bytes[length++] = (byte) value;
+        }
+        
+        void putInt(int value)
+        {
+            put(value >>> 24);
+            put(value >>> 16);
+            put(value >>> 8);
+            put(value);
+        }
+        
+        void putText(String text)
+        {
+            for (int i = 0; i < text.length(); i++) { put(text.charAt(i)); }
+        }
+        
+        /**
+         * Puts a run of digits as their significant digit count and then the digits,
+         * so that longer numbers sort higher without being limited to any size.
+         *
+         * @return {@code false} if there are too many digits (more than 255)
+         */
+        boolean putDigits(CharSequence digits, int start, int end)
+        {
+            while (start < end && digits.charAt(start) == '0') { start++; }
+            if (end - start > 0xFF) { return false; }
+            
+            put(end - start);
+            for (int i = start; i < end; i++) { put(digits.charAt(i)); }
+            return true;
+        }
+        
+        byte[] toArray() { return Arrays.copyOf(bytes, length); }
+    }
+    
+    static final class SemVer implements VersionScheme
+    {
+        static final SemVer INSTANCE = new SemVer();
+        
+        @Override
+        public String name() { return "semver"; }
+        
+        @Override
+        public Optional<SchemeVersion> parse(String input)
+        {
+            return Version.parse(input).map(version -> new SchemeVersion(this, input, VersionSortKey.encode(version)));
+        }
+        
+        @Override
+        public String toString() { return name(); }
+    }
+    
+    /**
+     * Parses Maven versions into items: numbers, and qualifiers (runs of letters).
+     * Items are separated by dots, hyphens, and transitions between digits and letters.
+     * Hyphens and transitions also start a new group of items, and any trailing
+     * "null" items of a group (zeroes, or a release qualifier like {@code final})
+     * are dropped, so {@code 1.0-SNAPSHOT} is the same as {@code 1-SNAPSHOT}.
+     *
+     * <p>Items compare like Maven: numbers numerically and above qualifiers, then
+     * {@code alpha < beta < milestone < rc < snapshot < (release) < sp < others}
+     * (others lexically, case-insensitive). Groups are flattened rather than nested,
+     * so {@code 1-1} equals {@code 1.1}, which Maven orders slightly differently.</p>
+     */
+    static final class Maven implements VersionScheme
+    {
+        static final Maven INSTANCE = new Maven();
+        
+        private static final int QUALIFIER = 0x01;
+        private static final int END = 0x02;
+        private static final int SERVICE_PACK = 0x03;
+        private static final int OTHER = 0x04;
+        private static final int NUMBER = 0x05;
+        
+        private static final List<String> QUALIFIERS = List.of("alpha", "beta", "milestone", "rc", "snapshot");
+        
+        // Qualifiers that SemVer would order differently (or that only Maven uses)
+        static boolean isMavenOnly(String qualifier)
+        {
+            return qualifier.equals("snapshot") || isRelease(qualifier) || qualifier.equals("cr") || qualifier.equals("sp");
+        }
+        
+        private static boolean isRelease(String qualifier)
+        {
+            return qualifier.equals("ga") || qualifier.equals("final") || qualifier.equals("release");
+        }
+        
+        @Override
+        public String name() { return "maven"; }
+        
+        @Override
+        public Optional<SchemeVersion> parse(String input)
+        {
+            int length = input.length();
+            if (length == 0 || !isDigit(input.charAt(0))) { return Optional.empty(); }
+            
+            // Numbers as their digits, qualifiers as lowercase words (prefixed with a space to tell them apart)
+            List<String> items = new ArrayList<>();
+            int group = 0;
+            int position = 0;
+            
+            while (position < length)
+            {
+                char c = input.charAt(position);
+                
+                if (c == '.' || c == '-')
+                {
+                    // Empty items aren't allowed.
+                    char previous = input.charAt(position - 1);
+                    if (position + 1 == length || previous == '.' || previous == '-') { return Optional.empty(); }
+                    
+                    if (c == '-') { group = trim(items, group); }
+                    position++;
+                    continue;
+                }
+                
+                int start = position;
+                
+                // A transition from digits to letters (or back) without a separator acts like a hyphen.
+                if (start > 0 && isDigit(input.charAt(start - 1)) != isDigit(c) && input.charAt(start - 1) != '.' && input.charAt(start - 1) != '-')
+                {
+                    group = trim(items, group);
+                }
+                
+                if (isDigit(c))
+                {
+                    while (position < length && isDigit(input.charAt(position))) { position++; }
+                    items.add(input.substring(start, position));
+                }
+                else if (isLetter(c))
+                {
+                    while (position < length && isLetter(input.charAt(position))) { position++; }
+                    
+                    String qualifier = input.substring(start, position).toLowerCase(Locale.ROOT);
+                    
+                    // Single-letter aliases only apply directly before a number, e.g. a1 or M2.
+                    if (position < length && isDigit(input.charAt(position)))
+                    {
+                        if (qualifier.equals("a")) { qualifier = "alpha"; }
+                        else if (qualifier.equals("b")) { qualifier = "beta"; }
+                        else if (qualifier.equals("m")) { qualifier = "milestone"; }
+                    }
+                    
+                    items.add(" " + qualifier);
+                }
+                else { return Optional.empty(); }
+            }
+            
+            trim(items, group);
+            
+            Key key = new Key();
+            
+            for (String item : items)
+            {
+                if (item.charAt(0) != ' ')
+                {
+                    key.put(NUMBER);
+                    if (!key.putDigits(item, 0, item.length())) { return Optional.empty(); }
+                    continue;
+                }
+                
+                String qualifier = item.substring(1);
+                int rank = QUALIFIERS.indexOf(qualifier.equals("cr") ? "rc" : qualifier);
+                
+                if (rank >= 0)
+                {
+                    key.put(QUALIFIER);
+                    key.put(rank);
+                }
+                else if (qualifier.equals("sp")) { key.put(SERVICE_PACK); }
+                else
+                {
+                    key.put(OTHER);
+                    key.putText(qualifier);
+                    key.put(0);
+                }
+            }
+            
+            key.put(END);
+            return Optional.of(new SchemeVersion(this, input, key.toArray()));
+        }
+        
+        // Drops the group's trailing null items, returning the start of the next group.
+        private static int trim(List<String> items, int group)
+        {
+            while (items.size() > group && isNull(items.get(items.size() - 1))) { items.remove(items.size() - 1); }
+            return items.size();
+        }
+        
+        private static boolean isNull(String item)
+        {
+            return (item.charAt(0) == ' ') ? isRelease(item.substring(1)) : item.chars().allMatch(c -> c == '0');
+        }
+        
+        @Override
+        public String toString() { return name(); }
+    }
+    
+    /**
+     * Parses calendar versions: two to four numeric components, where the first is a
+     * two- or four-digit year (two-digit years are in the 2000s), and components may be
+     * zero-padded. A modifier may follow a hyphen (e.g. {@code 2024.01-beta.2}), which
+     * orders below the same version without one, with identifiers compared like SemVer
+     * pre-release identifiers.
+     */
+    static final class CalVer implements VersionScheme
+    {
+        static final CalVer INSTANCE = new CalVer();
+        
+        private static final int MODIFIER = 0x01;
+        private static final int RELEASE = 0x02;
+        private static final int COMPONENT = 0x03;
+        
+        private static final int NUMERIC = 0x01;
+        private static final int ALPHANUMERIC = 0x02;
+        
+        @Override
+        public String name() { return "calver"; }
+        
+        @Override
+        public Optional<SchemeVersion> parse(String input)
+        {
+            int length = input.length();
+            int position = 0;
+            int components = 0;
+            Key key = new Key();
+            
+            while (true)
+            {
+                int start = position;
+                while (position < length && isDigit(input.charAt(position))) { position++; }
+                
+                int digits = position - start;
+                if (digits == 0 || digits > 9) { return Optional.empty(); }
+                
+                int value = Integer.parseInt(input, start, position, 10);
+                
+                if (components == 0)
+                {
+                    if (digits == 2) { value += 2000; }
+                    else if (digits != 4) { return Optional.empty(); }
+                }
+                
+                key.put(COMPONENT);
+                key.putInt(value);
+                components++;
+                
+                if (position < length && input.charAt(position) == '.' && components < 4) { position++; }
+                else { break; }
+            }
+            
+            if (components < 2) { return Optional.empty(); }
+            
+            // Ending (with or without a modifier) sorts below another component.
+            if (position == length)
+            {
+                key.put(RELEASE);
+                return Optional.of(new SchemeVersion(this, input, key.toArray()));
+            }
+            
+            if (input.charAt(position++) != '-') { return Optional.empty(); }
+            
+            key.put(MODIFIER);
+            
+            while (true)
+            {
+                int start = position;
+                boolean numeric = true;
+                
+                while (position < length && VersionParser.isIdentifierCharacter(input.charAt(position)))
+                {
+                    numeric &= isDigit(input.charAt(position));
+                    position++;
+                }
+                
+                if (position == start) { return Optional.empty(); }
+                
+                if (numeric)
+                {
+                    key.put(NUMERIC);
+                    if (!key.putDigits(input, start, position)) { return Optional.empty(); }
+                }
+                else
+                {
+                    key.put(ALPHANUMERIC);
+                    key.putText(input.substring(start, position).toLowerCase(Locale.ROOT));
+                    key.put(0);
+                }
+                
+                if (position == length) { break; }
+                if (input.charAt(position++) != '.') { return Optional.empty(); }
+            }
+            
+            key.put(0);
+            return Optional.of(new SchemeVersion(this, input, key.toArray()));
+        }
+        
+        @Override
+        public String toString() { return name(); }
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Encodes versions as byte arrays whose unsigned lexicographic order
+ * (see: {@link Arrays#compareUnsigned(byte[], byte[])}) is version precedence.
+ *
+ * <p>Layout, where every part sorts correctly as raw bytes:</p>
+ *
+ * <ul>
+ *     <li>Major, minor, and patch: a byte count (0-4), then the minimal big-endian bytes
+ *     of the number. Fewer bytes means a smaller number.</li>
+ *     <li>{@code 0x01}, pre-release identifiers, and {@code 0x00}; or {@code 0x02} for
+ *     releases, so that releases sort above their pre-releases (11.3).</li>
+ *     <li>Build metadata identifiers, as a tiebreaker between equal precedence.</li>
+ * </ul>
+ *
+ * <p>Numeric identifiers are {@code 0x01}, a digit count (or {@code 0xFF} and four
+ * bytes, for 255 or more digits), then their significant digits; more digits means
+ * a larger number (11.4.1). Alphanumeric identifiers are {@code 0x02}, their ASCII
+ * characters, and a {@code 0x00} terminator, so they sort above numeric identifiers
+ * (11.4.3) and against each other lexically (11.4.2). Since {@code 0x00} ends a list
+ * of identifiers and sorts below both, longer lists win (11.4.4). Build metadata
+ * identifiers are always encoded as alphanumeric, which orders builds lexically.</p>
+ */
+final class VersionSortKey
+{
+    private VersionSortKey() {}
+    
+    private static final byte END = 0x00;
+    
+    private static final byte PRERELEASE = 0x01;
+    private static final byte RELEASE = 0x02;
+    
+    private static final byte NUMERIC = 0x01;
+    private static final byte ALPHANUMERIC = 0x02;
+    
+    // Digit counts of at least this are written as this byte followed by an int.
+    private static final int LONG_LENGTH = 0xFF;
+    
+    static byte[] encode(Version version)
+    {
+        ByteBuffer key = ByteBuffer.allocate(length(version));
+        
+        putNumber(key, version.major());
+        putNumber(key, version.minor());
+        putNumber(key, version.patch());
+        
+        // Identifiers are read straight from the version's text, see: Version.text()
+        @NullOr String text = version.text();
+        int prereleases = version.prereleaseCount();
+        int identifiers = prereleases + version.buildCount();
+        
+        if (prereleases == 0) { key.put(RELEASE); }
+        else
+        {
+            key.put(PRERELEASE);
+            
+            for (int i = 0; i < prereleases; i++)
+            {
+                int start = version.identifierStart(i);
+                int end = version.identifierEnd(i);
+                
+                if (!isNumeric(text, start, end)) { putText(key, text, start, end); }
+                else
+                {
+                    start = significantDigitsStart(text, start, end);
+                    int digits = end - start;
+                    
+                    key.put(NUMERIC);
+                    
+                    if (digits < LONG_LENGTH) { key.put((byte) digits); }
+                    else { key.put((byte) LONG_LENGTH).putInt(digits); }
+                    
+                    for (int c = start; c < end; c++) { key.put((byte) text.charAt(c)); }
+                }
+            }
+            
+            key.put(END);
+        }
+        
+        for (int i = prereleases; i < identifiers; i++) { putText(key, text, version.identifierStart(i), version.identifierEnd(i)); }
+        
+        return key.array();
+    }
+    
+    private static int length(Version version)
+    {
+        int length = numberLength(version.major()) + numberLength(version.minor()) + numberLength(version.patch()) + 1;
+        
+        @NullOr String text = version.text();
+        int prereleases = version.prereleaseCount();
+        int identifiers = prereleases + version.buildCount();
+        
+        for (int i = 0; i < prereleases; i++)
+        {
+            int start = version.identifierStart(i);
+            int end = version.identifierEnd(i);
+            
+            if (!isNumeric(text, start, end)) { length += end - start + 2; }
+            else
+            {
+                int digits = end - significantDigitsStart(text, start, end);
+                length += digits + ((digits < LONG_LENGTH) ? 2 : 6);
+            }
+        }
+        
+        if (prereleases > 0) { length++; }
+        
+        for (int i = prereleases; i < identifiers; i++) { length += version.identifierEnd(i) - version.identifierStart(i) + 2; }
+        
+        return length;
+    }
+    
+    private static boolean isNumeric(String text, int start, int end)
+    {
+        for (int i = start; i < end; i++) { if (!VersionParser.isDigit(text.charAt(i))) { return false; } }
+        return start < end;
+    }
+    
+    // Only possible for unvalidated pre-releases, but numeric order must ignore them regardless.
+    private static int significantDigitsStart(String digits, int start, int end)
+    {
+        while (start < end - 1 && digits.charAt(start) == '0') { start++; }
+        return start;
+    }
+    
+    private static int numberLength(int number)
+    {
+        return 1 + (Integer.SIZE - Integer.numberOfLeadingZeros(number) + 7) / 8;
+    }
+    
+    private static void putNumber(ByteBuffer key, int number)
+    {
+        int bytes = numberLength(number) - 1;
+        key.put((byte) bytes);
+        for (int shift = (bytes - 1) * 8; shift >= 0; shift -= 8) { key.put((byte) (number >>> shift)); }
+    }
+    
+    private static void putText(ByteBuffer key, String text, int start, int end)
+    {
+        key.put(ALPHANUMERIC);
+        for (int c = start; c < end; c++) { key.put((byte) text.charAt(c)); }
+        key.put(END);
+    }
+    
+    static Version decode(byte[] key)
+    {
+        ByteBuffer in = ByteBuffer.wrap(key);
+        
+        try
+        {
+            int major = getNumber(in);
+            int minor = getNumber(in);
+            int patch = getNumber(in);
+            
+            VersionMetadata prerelease = VersionMetadata.EMPTY;
+            byte section = in.get();
+            
+            if (section == PRERELEASE) { prerelease = getIdentifiers(in, true); }
+            else if (section != RELEASE) { throw malformed(in.position() - 1); }
+            
+            VersionMetadata build = getIdentifiers(in, false);
+            
+            return Version.of(VersionCore.of(major, minor, patch), prerelease, build);
+        }
+        catch (BufferUnderflowException e)
+        {
+            throw new IllegalArgumentException("Malformed sort key: unexpected end of key");
+        }
+    }
+    
+    private static IllegalArgumentException malformed(int index)
+    {
+        return new IllegalArgumentException("Malformed sort key: unexpected byte at index " + index);
+    }
+    
+    private static int getNumber(ByteBuffer in)
+    {
+        int bytes = in.get();
+        if (bytes < 0 || bytes > 4) { throw malformed(in.position() - 1); }
+        
+        int number = 0;
+        for (int i = 0; i < bytes; i++) { number = (number << 8) | (in.get() & 0xFF); }
+        
+        // Only the minimal encoding is canonical: anything else would sort incorrectly.
+        if (number < 0 || numberLength(number) - 1 != bytes) { throw malformed(in.position() - bytes - 1); }
+        return number;
+    }
+    
+    // Pre-release identifiers are terminated by END, build identifiers by the end of the key.
+    private static VersionMetadata getIdentifiers(ByteBuffer in, boolean prerelease)
+    {
+        String[] identifiers = new String[4];
+        int count = 0;
+        
+        while (true)
+        {
+            if (!prerelease && !in.hasRemaining()) { break; }
+            
+            int start = in.position();
+            byte type = in.get();
+            
+            if (prerelease && type == END) { break; }
+            
+            String identifier;
+            
+            if (type == NUMERIC && prerelease) { identifier = getDigits(in); }
+            else if (type == ALPHANUMERIC) { identifier = getText(in, prerelease); }
+            else { throw malformed(start); }
+            
+            if (count == identifiers.length) { identifiers = Arrays.copyOf(identifiers, count * 2); }
+            identifiers[count++] = identifier;
+        }
+        
+        return VersionMetadata.of(identifiers, count);
+    }
+    
+    private static String getDigits(ByteBuffer in)
+    {
+        int start = in.position();
+        int digits = in.get() & 0xFF;
+        if (digits == LONG_LENGTH) { digits = in.getInt(); }
+        
+        if (digits <= 0 || (digits < LONG_LENGTH && in.position() - start > 1)) { throw malformed(start); }
+        if (digits > in.remaining()) { throw new BufferUnderflowException(); }
+        
+        int offset = in.position();
+        byte[] key = in.array();
+        
+        for (int i = offset; i < offset + digits; i++)
+        {
+            if (!VersionParser.isDigit((char) key[i]) || (i == offset && digits > 1 && key[i] == '0')) { throw malformed(i); }
+        }
+        
+        in.position(offset + digits);
+        return new String(key, offset, digits, StandardCharsets.ISO_8859_1);
+    }
+    
+    private static String getText(ByteBuffer in, boolean prerelease)
+    {
+        int offset = in.position();
+        byte[] key = in.array();
+        boolean numeric = true;
+        
+        int end = offset;
+        
+        for (; end < key.length && key[end] != END; end++)
+        {
+            char c = (char) (key[end] & 0xFF);
+            if (!VersionParser.isIdentifierCharacter(c)) { throw malformed(end); }
+            if (!VersionParser.isDigit(c)) { numeric = false; }
+        }
+        
+        if (end == key.length) { throw new BufferUnderflowException(); }
+        
+        // Numeric pre-release identifiers must be encoded as numbers to sort correctly.
+        if (end == offset || (prerelease && numeric)) { throw malformed(offset); }
+        
+        in.position(end + 1);
+        return new String(key, offset, end - offset, StandardCharsets.ISO_8859_1);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import pl.tlinkowski.annotation.basic.NullOr;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * The highest (or lowest) version reported so far, updated by any number of
+ * threads without locking.
+ *
+ * <p>Releases with a {@link VersionCore#isPackable() packable} core and no build
+ * metadata, which are most versions, are tracked as a packed {@code long} updated by
+ * compare-and-set. Other versions are tracked separately by an atomic reference, and
+ * the watermark is whichever of the two has the higher (or lower) precedence. Reports
+ * that don't move the watermark, as most don't once it settles, are just reads.</p>
+ *
+ * <p>Versions are compared by precedence, so of versions that differ only in build
+ * metadata, whichever was reported first is kept.</p>
+ *
+ * @see Keyed
+ */
+public final class VersionWatermark
+{
+    // No packed version has been reported (packed cores are never negative).
+    private static final long NONE = -1;
+    
+    private static final AtomicLongFieldUpdater<VersionWatermark> PACKED =
+        AtomicLongFieldUpdater.newUpdater(VersionWatermark.class, "packed");
+    
+    private static final AtomicReferenceFieldUpdater<VersionWatermark, Version> UNPACKED =
+        AtomicReferenceFieldUpdater.newUpdater(VersionWatermark.class, Version.class, "unpacked");
+    
+    // Tracks the highest version reported.
+    public static VersionWatermark highest() { return new VersionWatermark(true); }
+    
+    // Tracks the lowest version reported.
+    public static VersionWatermark lowest() { return new VersionWatermark(false); }
+    
+    public static <K> Keyed<K> highestByKey() { return new Keyed<>(true); }
+    
+    public static <K> Keyed<K> lowestByKey() { return new Keyed<>(false); }
+    
+    private final boolean highest;
+    
+    private volatile long packed = NONE;
+    private volatile @NullOr Version unpacked;
+    
+    // The version last seen as packed, so current() doesn't create one each time
+    private volatile @NullOr Version last;
+    
+    private VersionWatermark(boolean highest)
+    {
+        this.highest = highest;
+    }
+    
+    public boolean isHighest() { return highest; }
+    
+    private static boolean isPackable(Version version)
+    {
+        return !version.hasMetadata() && VersionCore.isPackable(version.major(), version.minor(), version.patch());
+    }
+    
+    // Whether the version would move a watermark at the other version
+    private boolean passes(Version version, Version other)
+    {
+        int diff = version.compareTo(other);
+        return (highest) ? diff > 0 : diff < 0;
+    }
+    
+    private boolean passes(long packed, long other)
+    {
+        return other == NONE || ((highest) ? packed > other : packed < other);
+    }
+    
+    /**
+     * Reports a version, moving the watermark to it if it's higher (or lower, for
+     * a low watermark) than the current one.
+     *
+     * @param version the version
+     * @return {@code true} if the watermark moved to the version
+     */
+    public boolean advanceTo(Version version)
+    {
+        Objects.requireNonNull(version, "version");
+        
+        if (!isPackable(version)) { return advanceUnpacked(version); }
+        
+        @NullOr Version unpacked = this.unpacked;
+        if (unpacked != null && !passes(version, unpacked)) { return false; }
+        
+        long key = VersionCore.pack(version.major(), version.minor(), version.patch());
+        
+        for (long current = packed; passes(key, current); current = packed)
+        {
+            if (PACKED.compareAndSet(this, current, key))
+            {
+                last = version;
+                return true;
+            }
+        }
+        
+        return false;
+    }
+    
+    private boolean advanceUnpacked(Version version)
+    {
+        for (@NullOr Version current = unpacked; current == null || passes(version, current); current = unpacked)
+        {
+            // Only checked once the unpacked version is passed, which most reports don't.
+            long packed = this.packed;
+            if (packed != NONE && !passes(version, packed(packed))) { return false; }
+            
+            if (UNPACKED.compareAndSet(this, current, version)) { return true; }
+        }
+        
+        return false;
+    }
+    
+    private Version packed(long packed)
+    {
+        @NullOr Version last = this.last;
+        if (last != null && VersionCore.pack(last.major(), last.minor(), last.patch()) == packed) { return last; }
+        
+        Version version = Version.of(VersionCore.fromPackedLong(packed), VersionMetadata.EMPTY, VersionMetadata.EMPTY);
+        this.last = version;
+        return version;
+    }
+    
+    /**
+     * Gets the current watermark. Both of its halves are read, one after the other,
+     * so while versions are being reported the result may already be behind.
+     *
+     * @return the highest (or lowest) version reported, or empty if none have been
+     */
+    public Optional<Version> current()
+    {
+        long packed = this.packed;
+        @NullOr Version unpacked = this.unpacked;
+        
+        if (packed == NONE) { return Optional.ofNullable(unpacked); }
+        
+        Version version = packed(packed);
+        return Optional.of((unpacked != null && passes(unpacked, version)) ? unpacked : version);
+    }
+    
+    @Override
+    public String toString()
+    {
+        return "VersionWatermark{" + ((highest) ? "highest=" : "lowest=") + current().map(Version::toString).orElse("none") + "}";
+    }
+    
+    /**
+     * Watermarks for any number of keys, such as channels or peers, each
+     * created on its first report.
+     *
+     * @param <K> the key type
+     */
+    public static final class Keyed<K>
+    {
+        private final boolean highest;
+        private final ConcurrentHashMap<K, VersionWatermark> watermarks = new ConcurrentHashMap<>();
+        
+        private Keyed(boolean highest)
+        {
+            this.highest = highest;
+        }
+        
+        private VersionWatermark watermark(K key)
+        {
+            // Plain get first: computeIfAbsent may lock even when the key is present.
+            @NullOr VersionWatermark watermark = watermarks.get(key);
+            return (watermark != null) ? watermark : watermarks.computeIfAbsent(key, k -> new VersionWatermark(highest));
+        }
+        
+        /**
+         * Reports a version for the key.
+         *
+         * @param key       the key
+         * @param version   the version
+         * @return {@code true} if the key's watermark moved to the version
+         * @see VersionWatermark#advanceTo(Version)
+         */
+        public boolean advanceTo(K key, Version version)
+        {
+            Objects.requireNonNull(key, "key");
+            return watermark(key).advanceTo(version);
+        }
+        
+        public Optional<Version> current(K key)
+        {
+            @NullOr VersionWatermark watermark = watermarks.get(key);
+            return (watermark == null) ? Optional.empty() : watermark.current();
+        }
+        
+        // Stops tracking the key, until it's reported again.
+        public void remove(K key)
+        {
+            watermarks.remove(key);
+        }
+        
+        public int size() { return watermarks.size(); }
+        
+        // The current watermark of every key
+        public Map<K, Version> snapshot()
+        {
+            Map<K, Version> snapshot = new HashMap<>();
+            watermarks.forEach((key, watermark) -> watermark.current().ifPresent(version -> snapshot.put(key, version)));
+            return Collections.unmodifiableMap(snapshot);
+        }
+        
+        @Override
+        public String toString()
+        {
+            return "VersionWatermark.Keyed{" + snapshot() + "}";
+        }
+    }
+}
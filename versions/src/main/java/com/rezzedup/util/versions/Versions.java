@@ -9,7 +9,15 @@ package com.rezzedup.util.versions;
 
 import pl.tlinkowski.annotation.basic.NullOr;
 
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 public final class Versions
 {
@@ -43,6 +51,36 @@ public final class Versions
         throw new IllegalArgumentException(name + " must be positive: " + number);
     }
     
+    // Writes the decimal digits of a non-negative number as ASCII, without an intermediate string.
+    static void putDecimal(ByteBuffer buffer, int number)
+    {
+        int digits = decimalLength(number);
+        int start = buffer.position();
+        if (buffer.remaining() < digits) { throw new BufferOverflowException(); }
+        
+        for (int i = start + digits - 1; i >= start; i--)
+        {
+            buffer.put(i, (byte) ('0' + number % 10));
+            number /= 10;
+        }
+        
+        buffer.position(start + digits);
+    }
+    
+    // Number of decimal digits of a non-negative number
+    static int decimalLength(int number)
+    {
+        int digits = 1;
+        for (int remaining = number / 10; remaining > 0; remaining /= 10) { digits++; }
+        return digits;
+    }
+    
+    static void putAscii(ByteBuffer buffer, String text)
+    {
+        if (buffer.remaining() < text.length()) { throw new BufferOverflowException(); }
+        for (int i = 0; i < text.length(); i++) { buffer.put((byte) text.charAt(i)); }
+    }
+    
     static boolean isNullOrEmpty(@NullOr String string)
     {
         return string == null || string.isEmpty();
@@ -64,9 +102,72 @@ public final class Versions
         );
     }
     
-    static int intOrZero(@NullOr String text)
+    /**
+     * Leniently parses every input (like {@link Version#parse(String)}), splitting
+     * large lists across the common fork/join pool.
+     *
+     * @param inputs the inputs to parse
+     * @return the parsed versions and errors, in input order
+     */
+    public static ParsedVersions parseAll(List<String> inputs)
+    {
+        return ParsedVersions.parse(inputs.toArray(String[]::new), false);
+    }
+    
+    public static ParsedVersions parseAll(Stream<String> inputs)
+    {
+        return ParsedVersions.parse(inputs.toArray(String[]::new), false);
+    }
+    
+    /**
+     * Strictly parses every input (like {@link Version#parseStrict(String)}), splitting
+     * large lists across the common fork/join pool.
+     *
+     * @param inputs the inputs to parse
+     * @return the parsed versions and errors, in input order
+     */
+    public static ParsedVersions parseAllStrict(List<String> inputs)
+    {
+        return ParsedVersions.parse(inputs.toArray(String[]::new), true);
+    }
+    
+    public static ParsedVersions parseAllStrict(Stream<String> inputs)
+    {
+        return ParsedVersions.parse(inputs.toArray(String[]::new), true);
+    }
+    
+    /**
+     * Leniently parses each line of a UTF-8 file. Line numbers
+     * in the result are zero-based.
+     *
+     * @param file the file to read
+     * @return the parsed versions and errors, by line
+     * @throws IOException if the file cannot be read
+     */
+    public static ParsedVersions parseLines(Path file) throws IOException
+    {
+        return parseAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+    
+    public static ParsedVersions parseLinesStrict(Path file) throws IOException
+    {
+        return parseAllStrict(Files.readAllLines(file, StandardCharsets.UTF_8));
+    }
+    
+    /**
+     * Finds every version embedded in the text (see: {@link VersionScanner#lenient()}).
+     *
+     * @param text the text to scan
+     * @return the versions found, with their positions, in order
+     */
+    public static List<VersionMatch> findAll(CharSequence text)
+    {
+        return VersionScanner.lenient().findAll(text);
+    }
+    
+    public static List<VersionMatch> findAllStrict(CharSequence text)
     {
-        return (text == null) ? 0 : Integer.parseInt(text);
+        return VersionScanner.strict().findAll(text);
     }
     
     public interface Comparable<T extends Comparable<T>> extends java.lang.Comparable<T>
@@ -8,6 +8,7 @@
 module com.rezzedup.util.versions
 {
     requires static pl.tlinkowski.annotation.basic;
+    requires static jdk.jfr;
     
     exports com.rezzedup.util.versions;
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import com.rezzedup.util.versions.CachedVersionSource.Refresh;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class CachedVersionSourceTests
+{
+    // Writes the file with an explicit modification time, since file systems may only track whole seconds.
+    static void write(Path file, String contents, long seconds) throws IOException
+    {
+        Files.writeString(file, contents);
+        Files.setLastModifiedTime(file, FileTime.from(seconds, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    public void testFileReadOnceUntilModified(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("version.txt");
+        write(file, "1.2.3\n", 1000);
+        
+        CachedVersionSource source = CachedVersionSource.ofFile(file, Refresh.MODIFICATION_TIME);
+        
+        for (int i = 0; i < 100; i++) { assertThat(source.version()).isEqualTo(Version.of(1, 2, 3)); }
+        assertThat(source.reads()).isEqualTo(1);
+        
+        write(file, "1.3", 2000);
+        
+        assertThat(source.version()).isEqualTo(Version.of(1, 3, 0));
+        assertThat(source.version()).isEqualTo(Version.of(1, 3, 0));
+        assertThat(source.reads()).isEqualTo(2);
+        
+        source.invalidate();
+        assertThat(source.version()).isEqualTo(Version.of(1, 3, 0));
+        assertThat(source.reads()).isEqualTo(3);
+    }
+    
+    @Test
+    public void testNeverRefreshed(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("version.txt");
+        write(file, "1.0.0", 1000);
+        
+        CachedVersionSource source = CachedVersionSource.ofFile(file, Refresh.NEVER);
+        assertThat(source.version()).isEqualTo(Version.of(1, 0, 0));
+        
+        write(file, "2.0.0", 2000);
+        assertThat(source.version()).isEqualTo(Version.of(1, 0, 0));
+        assertThat(source.reads()).isEqualTo(1);
+    }
+    
+    @Test
+    public void testFailuresAreCachedUntilFixed(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("plugin.properties");
+        CachedVersionSource source = CachedVersionSource.ofProperties(file, "version", Refresh.MODIFICATION_TIME);
+        
+        Throwable first = catchThrowable(source::version);
+        Throwable second = catchThrowable(source::version);
+        
+        assertThat(first).isInstanceOf(UncheckedIOException.class).hasCauseInstanceOf(NoSuchFileException.class);
+        assertThat(second).isNotSameAs(first).hasMessage(first.getMessage()).hasCause(first.getCause());
+        assertThat(source.reads()).isEqualTo(1);
+        
+        write(file, "name=example\nversion=one\n", 1000);
+        assertThatThrownBy(source::version).isInstanceOf(IllegalStateException.class).hasMessageContaining("\"one\"");
+        
+        write(file, "name=example\n", 2000);
+        assertThatThrownBy(source::version).isInstanceOf(IllegalStateException.class).hasMessageContaining("Missing");
+        
+        write(file, "name=example\nversion=2.1.0-rc.1\n", 3000);
+        assertThat(source.version()).isEqualTo(Version.parseOrThrow("2.1.0-rc.1"));
+        assertThat(source.reads()).isEqualTo(4);
+    }
+    
+    @Test
+    public void testManifests(@TempDir Path directory) throws IOException
+    {
+        Manifest manifest = new Manifest();
+        manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+        manifest.getMainAttributes().put(Attributes.Name.IMPLEMENTATION_VERSION, "4.5.6");
+        manifest.getMainAttributes().putValue("Plugin-Version", "7.8");
+        
+        Path jar = directory.resolve("plugin.jar");
+        try (JarOutputStream stream = new JarOutputStream(Files.newOutputStream(jar), manifest)) { stream.flush(); }
+        
+        Path file = directory.resolve("MANIFEST.MF");
+        try (OutputStream stream = Files.newOutputStream(file)) { manifest.write(stream); }
+        
+        assertThat(CachedVersionSource.ofManifest(jar, CachedVersionSource.IMPLEMENTATION_VERSION, Refresh.NEVER).version())
+            .isEqualTo(Version.of(4, 5, 6));
+        assertThat(CachedVersionSource.ofManifest(file, "Plugin-Version", Refresh.NEVER).version())
+            .isEqualTo(Version.of(7, 8, 0));
+    }
+    
+    @Test
+    public void testConcurrentCallersReadOncePerChange(@TempDir Path directory) throws Exception
+    {
+        Path file = directory.resolve("version.txt");
+        write(file, "1.0.0", 1000);
+        
+        CachedVersionSource source = CachedVersionSource.ofFile(file, Refresh.MODIFICATION_TIME);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        try
+        {
+            for (int change = 1; change <= 3; change++)
+            {
+                write(file, change + ".0.0", 1000 + change);
+                
+                List<Future<Version>> versions = new ArrayList<>();
+                for (int i = 0; i < 8; i++) { versions.add(executor.submit(source::version)); }
+                for (Future<Version> version : versions) { assertThat(version.get()).isEqualTo(Version.of(change, 0, 0)); }
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        
+        assertThat(source.reads()).isEqualTo(3);
+    }
+    
+    @Test
+    public void testWatchService(@TempDir Path directory) throws Exception
+    {
+        Path file = directory.resolve("version.txt");
+        write(file, "1.0.0", 1000);
+        
+        try (CachedVersionSource source = CachedVersionSource.ofFile(file, Refresh.WATCH_SERVICE))
+        {
+            assertThat(source.version()).isEqualTo(Version.of(1, 0, 0));
+            
+            Files.writeString(file, "2.0.0");
+            
+            // Changes are reported asynchronously (and only periodically on some platforms).
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (!source.version().equals(Version.of(2, 0, 0)) && System.nanoTime() < deadline) { Thread.sleep(10); }
+            
+            assertThat(source.version()).isEqualTo(Version.of(2, 0, 0));
+        }
+    }
+}
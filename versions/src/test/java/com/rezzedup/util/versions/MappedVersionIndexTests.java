@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MappedVersionIndexTests
+{
+    static Version v(String version) { return Version.parse(version).orElseThrow(); }
+    
+    static MappedVersionIndex index(Path dir, Stream<String> versions) throws IOException
+    {
+        Path path = dir.resolve("versions.idx");
+        MappedVersionIndex.write(path, versions.map(MappedVersionIndexTests::v));
+        return MappedVersionIndex.open(path);
+    }
+    
+    @Test
+    public void testWritesSortedDistinctVersions(@TempDir Path dir) throws IOException
+    {
+        MappedVersionIndex index = index(dir, Stream.of(
+            "2.0.0", "1.0.0-beta", "1.0.0+build.2", "1.0.0", "1.0.0-alpha", "1.0.0+build.1", "1.0.0", "0.1.0"
+        ));
+        
+        assertThat(index.asList()).extracting(Version::toString).containsExactly(
+            "0.1.0", "1.0.0-alpha", "1.0.0-beta", "1.0.0", "1.0.0+build.1", "1.0.0+build.2", "2.0.0"
+        );
+        
+        assertThat(index.get(1)).isNotSameAs(index.get(1)).isEqualTo(v("1.0.0-alpha"));
+        assertThat(index.stream().collect(Collectors.toList())).isEqualTo(index.asList());
+        assertThatThrownBy(() -> index.get(7)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+    
+    @Test
+    public void testLookups(@TempDir Path dir) throws IOException
+    {
+        MappedVersionIndex index = index(dir, Stream.of("1.0.0-alpha", "1.0.0", "1.0.0+build.1", "1.2.0", "2.0.0-rc.1", "2.0.0"));
+        
+        assertThat(index.contains(v("1.0.0+build.1"))).isTrue();
+        assertThat(index.contains(v("1.0.0+build.2"))).isFalse();
+        assertThat(index.contains(v("2.0.0-rc.2"))).isFalse();
+        assertThat(index.contains(v("1.1.0"))).isFalse();
+        
+        assertThat(index.floor(v("1.1.0"))).contains(v("1.0.0+build.1"));
+        assertThat(index.floor(v("1.0.0"))).contains(v("1.0.0+build.1"));
+        assertThat(index.floor(v("0.9.0"))).isEmpty();
+        assertThat(index.ceiling(v("1.0.0"))).contains(v("1.0.0"));
+        assertThat(index.ceiling(v("2.0.0-beta"))).contains(v("2.0.0-rc.1"));
+        assertThat(index.ceiling(v("2.0.1"))).isEmpty();
+        assertThat(index.lower(v("1.0.0"))).contains(v("1.0.0-alpha"));
+        assertThat(index.higher(v("1.0.0"))).contains(v("1.2.0"));
+        assertThat(index.earliest()).contains(v("1.0.0-alpha"));
+        assertThat(index.latest()).contains(v("2.0.0"));
+        
+        MappedVersionIndex range = index.range(VersionRange.between(v("1.0.0"), true, v("2.0.0"), false));
+        
+        assertThat(range.asList()).containsExactly(v("1.0.0"), v("1.0.0+build.1"), v("1.2.0"), v("2.0.0-rc.1"));
+        assertThat(range.floor(v("3.0.0"))).contains(v("2.0.0-rc.1"));
+        assertThat(range.contains(v("2.0.0"))).isFalse();
+        assertThat(index.range(VersionRange.all())).isSameAs(index);
+        assertThat(index.range(VersionRange.empty()).isEmpty()).isTrue();
+    }
+    
+    @Test
+    public void testMatchesVersionIndex(@TempDir Path dir) throws IOException
+    {
+        Random random = new Random(23);
+        List<Version> versions = VersionArrayTests.random(random, 5000);
+        Path path = dir.resolve("versions.idx");
+        
+        MappedVersionIndex.write(path, versions);
+        
+        // Small segments, so that records span several mappings.
+        MappedVersionIndex mapped = MappedVersionIndex.open(path, 8);
+        VersionIndex expected = VersionIndex.of(versions);
+        
+        assertThat(mapped.asList()).isEqualTo(expected.asList());
+        
+        List<Version> queries = new ArrayList<>(VersionArrayTests.random(random, 500));
+        queries.addAll(versions.subList(0, 500));
+        
+        for (Version query : queries)
+        {
+            assertThat(mapped.contains(query)).as("contains %s", query).isEqualTo(expected.contains(query));
+            assertThat(mapped.floor(query)).as("floor %s", query).isEqualTo(expected.floor(query));
+            assertThat(mapped.ceiling(query)).as("ceiling %s", query).isEqualTo(expected.ceiling(query));
+            assertThat(mapped.lower(query)).as("lower %s", query).isEqualTo(expected.lower(query));
+            assertThat(mapped.higher(query)).as("higher %s", query).isEqualTo(expected.higher(query));
+        }
+        
+        for (int i = 0; i < 500; i++)
+        {
+            Version a = queries.get(random.nextInt(queries.size()));
+            Version b = queries.get(random.nextInt(queries.size()));
+            VersionRange range = VersionRange.between(a, random.nextBoolean(), b, random.nextBoolean());
+            
+            assertThat(mapped.range(range).asList()).as("%s", range).isEqualTo(expected.range(range).asList());
+        }
+    }
+    
+    @Test
+    public void testEmptyIndex(@TempDir Path dir) throws IOException
+    {
+        MappedVersionIndex index = index(dir, Stream.empty());
+        
+        assertThat(index.isEmpty()).isTrue();
+        assertThat(index.floor(v("1.0.0"))).isEmpty();
+        assertThat(index.contains(v("1.0.0"))).isFalse();
+        assertThat(index.latest()).isEmpty();
+    }
+    
+    @Test
+    public void testRejectsMalformedFiles(@TempDir Path dir) throws IOException
+    {
+        Path path = dir.resolve("versions.idx");
+        
+        Files.write(path, new byte[] {1, 2, 3});
+        assertThatThrownBy(() -> MappedVersionIndex.open(path)).isInstanceOf(IOException.class).hasMessageContaining("too small");
+        
+        Files.write(path, new byte[64]);
+        assertThatThrownBy(() -> MappedVersionIndex.open(path)).isInstanceOf(IOException.class).hasMessageContaining("not a version index");
+        
+        MappedVersionIndex.write(path, List.of(v("1.0.0"), v("2.0.0")));
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 10));
+        
+        assertThatThrownBy(() -> MappedVersionIndex.open(path)).isInstanceOf(IOException.class).hasMessageContaining("doesn't match");
+        
+        // Offset tables that don't match the metadata, in a file of the right size
+        MappedVersionIndex.write(path, List.of(v("1.0.0-rc.1"), v("1.0.0+build.1")));
+        bytes = Files.readAllBytes(path);
+        
+        // After the header and two records: the pre-release's offset and end, then
+        // the offsets of the builds (none and "build.1") and their end.
+        int tables = 32 + 2 * 20;
+        
+        ByteBuffer prereleases = ByteBuffer.wrap(bytes.clone()).putInt(tables + 4, 1000);
+        Files.write(path, prereleases.array());
+        
+        assertThatThrownBy(() -> MappedVersionIndex.open(path)).isInstanceOf(IOException.class).hasMessageContaining("pre-release offsets");
+        
+        ByteBuffer builds = ByteBuffer.wrap(bytes.clone());
+        builds.putInt(tables + 16, builds.getInt(tables + 16) - 1);
+        Files.write(path, builds.array());
+        
+        assertThatThrownBy(() -> MappedVersionIndex.open(path)).isInstanceOf(IOException.class).hasMessageContaining("build offsets");
+    }
+}
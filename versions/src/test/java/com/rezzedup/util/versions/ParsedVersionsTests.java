@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ParsedVersionsTests
+{
+    @Test
+    public void testResultsAreInInputOrder()
+    {
+        ParsedVersions parsed = Versions.parseAll(List.of("1.2.3", "nope", "1.0", "1.0.0-", "2.0.0+build"));
+        
+        assertThat(parsed.size()).isEqualTo(5);
+        assertThat(parsed.successCount()).isEqualTo(3);
+        assertThat(parsed.versions()).map(Version::toString).containsExactly("1.2.3", "1.0.0", "2.0.0+build");
+        assertThat(parsed.version(1)).isEmpty();
+        assertThat(parsed.version(2)).contains(Version.parseOrThrow("1.0"));
+        
+        assertThat(parsed.errors()).extracting(ParsedVersions.Error::line).containsExactly(1, 3);
+        assertThat(parsed.errors().get(0).index()).isEqualTo(0);
+        assertThat(parsed.errors().get(1).input()).isEqualTo("1.0.0-");
+        assertThat(parsed.errors().get(1).index()).isEqualTo(6);
+    }
+    
+    @Test
+    public void testStrictMode()
+    {
+        ParsedVersions parsed = Versions.parseAllStrict(Stream.of("1.2.3", "1.2", "1"));
+        
+        assertThat(parsed.versions()).containsExactly(Version.parseOrThrow("1.2.3"));
+        assertThat(parsed.errors()).extracting(ParsedVersions.Error::line).containsExactly(1, 2);
+    }
+    
+    @Test
+    public void testParallelMatchesSequential()
+    {
+        List<String> inputs = new ArrayList<>();
+        for (int i = 0; i < ParsedVersions.THRESHOLD * 9 + 7; i++)
+        {
+            inputs.add((i % 13 == 0) ? "v" + i : i % 5 + "." + i + "." + i % 3 + ((i % 4 == 0) ? "-rc." + i : ""));
+        }
+        
+        ParsedVersions parsed = Versions.parseAll(inputs);
+        
+        assertThat(parsed.size()).isEqualTo(inputs.size());
+        
+        List<Integer> errorLines = new ArrayList<>();
+        for (int i = 0; i < inputs.size(); i++)
+        {
+            Optional<Version> expected = Version.parse(inputs.get(i));
+            assertThat(parsed.version(i)).isEqualTo(expected);
+            if (expected.isEmpty()) { errorLines.add(i); }
+        }
+        
+        assertThat(parsed.errors()).extracting(ParsedVersions.Error::line).containsExactlyElementsOf(errorLines);
+    }
+    
+    @Test
+    public void testParseLines(@TempDir Path directory) throws IOException
+    {
+        Path file = directory.resolve("versions.txt");
+        Files.write(file, List.of("1.0.0", "", "2.0.0-beta"));
+        
+        ParsedVersions parsed = Versions.parseLines(file);
+        
+        assertThat(parsed.successCount()).isEqualTo(2);
+        assertThat(parsed.errors()).extracting(ParsedVersions.Error::line).containsExactly(1);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionArrayTests
+{
+    static final String[] PRERELEASES = {"", "", "alpha", "alpha.1", "alpha.beta", "beta.2", "beta.11", "rc.1", "1", "11", "x-y"};
+    
+    static final String[] BUILDS = {"", "", "build.1", "build.2", "001", "sha.5114f85"};
+    
+    static final int[] NUMBERS = {0, 1, 2, 9, 10, 2047, 2048, 65536, 1 << 22, Integer.MAX_VALUE};
+    
+    static List<Version> random(Random random, int count)
+    {
+        List<Version> versions = new ArrayList<>(count);
+        
+        for (int i = 0; i < count; i++)
+        {
+            versions.add(Version.of(
+                NUMBERS[random.nextInt(NUMBERS.length)],
+                NUMBERS[random.nextInt(4)],
+                NUMBERS[random.nextInt(NUMBERS.length)],
+                PRERELEASES[random.nextInt(PRERELEASES.length)],
+                BUILDS[random.nextInt(BUILDS.length)]
+            ));
+        }
+        
+        return versions;
+    }
+    
+    @Test
+    public void testStoresAndMaterializesVersions()
+    {
+        List<Version> versions = random(new Random(1), 1000);
+        VersionArray array = VersionArray.of(versions);
+        
+        assertThat(array.size()).isEqualTo(1000);
+        assertThat(array.asList()).isEqualTo(versions);
+        assertThat(array.get(10)).isNotSameAs(array.get(10)).isEqualTo(versions.get(10));
+        assertThat(array.major(10)).isEqualTo(versions.get(10).major());
+        assertThat(array.prerelease(10)).isEqualTo(versions.get(10).prerelease());
+        
+        // Each distinct metadata is stored once: non-empty pre-releases and builds, plus empty.
+        assertThat(array.metadataCount()).isEqualTo((PRERELEASES.length - 2) + (BUILDS.length - 2) + 1);
+        
+        assertThatThrownBy(() -> array.get(1000)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+    
+    @Test
+    public void testSortMatchesComparisonSort()
+    {
+        Random random = new Random(2);
+        
+        for (int trial = 0; trial < 20; trial++)
+        {
+            List<Version> versions = random(random, random.nextInt(5000));
+            VersionArray array = VersionArray.of(versions);
+            
+            versions.sort(VersionIndex.ORDER);
+            array.sort();
+            
+            assertThat(array.isSorted()).isTrue();
+            assertThat(array.asList()).isEqualTo(versions);
+        }
+    }
+    
+    @Test
+    public void testSortIsStable()
+    {
+        VersionArray array = VersionArray.create();
+        array.add(Version.parseOrThrow("2.0.0"));
+        array.add(Version.parseOrThrow("1.0.0-rc.1"));
+        array.add(Version.parseOrThrow("1.0.0"));
+        array.add(Version.parseOrThrow("1.0.0-rc.1"));
+        array.add(Version.parseOrThrow("1.0.0-rc.1+b"));
+        array.add(Version.parseOrThrow("1.0.0-rc.1+a"));
+        
+        assertThat(array.isSorted()).isFalse();
+        array.sort();
+        
+        assertThat(array.asList()).map(Version::toString).containsExactly(
+            "1.0.0-rc.1", "1.0.0-rc.1", "1.0.0-rc.1+a", "1.0.0-rc.1+b", "1.0.0", "2.0.0"
+        );
+    }
+    
+    @Test
+    public void testBinarySearch()
+    {
+        List<Version> versions = random(new Random(3), 2000);
+        VersionArray array = VersionArray.of(versions);
+        
+        assertThatThrownBy(() -> array.binarySearch(Version.ZERO)).isInstanceOf(IllegalStateException.class);
+        
+        array.sort();
+        
+        for (Version version : versions)
+        {
+            int index = array.binarySearch(version);
+            assertThat(index).isGreaterThanOrEqualTo(0);
+            assertThat(array.get(index).compareTo(version)).isZero();
+        }
+        
+        Version missing = Version.of(3, 0, 0);
+        int insertion = -array.binarySearch(missing) - 1;
+        
+        assertThat(insertion).isBetween(0, array.size());
+        if (insertion > 0) { assertThat(array.get(insertion - 1)).isLessThan(missing); }
+        if (insertion < array.size()) { assertThat(array.get(insertion)).isGreaterThan(missing); }
+    }
+}
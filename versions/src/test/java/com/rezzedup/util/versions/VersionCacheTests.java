@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionCacheTests
+{
+    @Test
+    public void testInternReturnsCanonicalInstance()
+    {
+        VersionCache cache = VersionCache.create(16);
+        Version first = Version.parseOrThrow("1.19.2");
+        Version second = Version.parseOrThrow("1.19.2");
+        
+        assertThat(first).isNotSameAs(second);
+        assertThat(cache.intern(first)).isSameAs(first);
+        assertThat(cache.intern(second)).isSameAs(first);
+        assertThat(cache.intern(Version.of(0, 0, 0))).isSameAs(Version.zero());
+    }
+    
+    @Test
+    public void testCachedParsingReturnsCanonicalInstances()
+    {
+        VersionCache cache = VersionCache.create(16);
+        Version parsed = cache.parse("2.3.0-SNAPSHOT").orElseThrow();
+        
+        assertThat(cache.parse("2.3.0-SNAPSHOT")).containsSame(parsed);
+        assertThat(cache.parseStrict("2.3.0-SNAPSHOT")).containsSame(parsed);
+        assertThat(cache.intern(Version.parseOrThrow("2.3.0-SNAPSHOT"))).isSameAs(parsed);
+        assertThat(cache.parse("2.3-SNAPSHOT")).containsSame(parsed);
+        assertThat(cache.parseStrict("2.3-SNAPSHOT")).isEmpty();
+        
+        VersionCache.Stats stats = cache.stats();
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(4);
+    }
+    
+    @Test
+    public void testCacheIsBounded()
+    {
+        VersionCache cache = VersionCache.create(8);
+        Version hot = cache.intern(Version.of(1, 0, 0));
+        
+        for (int i = 1; i <= 100; i++)
+        {
+            cache.intern(Version.of(2, i, 0));
+            cache.intern(Version.of(1, 0, 0)); // keep referenced
+        }
+        
+        VersionCache.Stats stats = cache.stats();
+        
+        assertThat(stats.size()).isLessThanOrEqualTo(8);
+        assertThat(stats.evictionCount()).isGreaterThan(0);
+        assertThat(cache.intern(Version.of(1, 0, 0))).isSameAs(hot);
+    }
+    
+    @Test
+    public void testConcurrentInterningAgreesOnCanonicalInstance()
+    {
+        VersionCache cache = VersionCache.create(64);
+        List<String> inputs = List.of("1.0.0", "1.1.0-rc.1", "2.0.0+build.5", "3.4.5");
+        ConcurrentHashMap<String, Version> seen = new ConcurrentHashMap<>();
+        
+        IntStream.range(0, 10_000).parallel().forEach(i -> {
+            String input = inputs.get(i % inputs.size());
+            Version version = cache.parse(input).orElseThrow();
+            assertThat(seen.computeIfAbsent(input, k -> version)).isSameAs(version);
+        });
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionCodecTests
+{
+    static final List<Version> VERSIONS = VersionParsingTests.INPUTS.stream()
+        .map(Version::parse)
+        .flatMap(Optional::stream)
+        .collect(Collectors.toList());
+    
+    static void assertRoundTrip(Version version)
+    {
+        byte[] bytes = VersionCodec.encode(version);
+        
+        assertThat(bytes).hasSize(VersionCodec.encodedLength(version));
+        
+        // Versions are encoded from their text, metadata alone from its identifiers: both must agree.
+        ByteBuffer metadata = ByteBuffer.allocate(
+            VersionCodec.encodedLength(version.prerelease()) + VersionCodec.encodedLength(version.build())
+        );
+        VersionCodec.write(version.prerelease(), metadata);
+        VersionCodec.write(version.build(), metadata);
+        
+        assertThat(Arrays.copyOfRange(bytes, bytes.length - metadata.capacity(), bytes.length)).isEqualTo(metadata.array());
+        assertThat(VersionCodec.decode(bytes))
+            .describedAs("\"%s\"", version)
+            .isEqualTo(version)
+            .hasToString(version.toString());
+    }
+    
+    @Test
+    public void testRoundTrip()
+    {
+        VERSIONS.forEach(VersionCodecTests::assertRoundTrip);
+        
+        assertRoundTrip(Version.of(Integer.MAX_VALUE, 0, 128, "0.999999999999999999.1000000000000000000", "007.0.00"));
+        assertThat(VersionCodec.decode(VersionCodec.encode(Version.zero()))).isSameAs(Version.zero());
+    }
+    
+    @Test
+    public void testRoundTripForRandomVersions()
+    {
+        Random random = new Random(0xC0DECL);
+        String alphabet = "0123456789-aZ";
+        
+        for (int i = 0; i < 10_000; i++)
+        {
+            List<String> identifiers = new ArrayList<>();
+            int count = random.nextInt(4);
+            
+            for (int j = 0; j < count; j++)
+            {
+                StringBuilder identifier = new StringBuilder();
+                int length = 1 + random.nextInt(22);
+                for (int k = 0; k < length; k++) { identifier.append(alphabet.charAt(random.nextInt(alphabet.length()))); }
+                identifiers.add(identifier.toString());
+            }
+            
+            String build = String.join(".", identifiers);
+            String prerelease = (Versions.VALID_PRE_RELEASE_PATTERN.matcher(build).matches()) ? build : "";
+            
+            assertRoundTrip(Version.of(random.nextInt(Integer.MAX_VALUE), random.nextInt(300), random.nextInt(3), prerelease, build));
+        }
+    }
+    
+    @Test
+    public void testEncodingIsCompact()
+    {
+        assertThat(VersionCodec.encode(Version.parseOrThrow("1.2.3-rc.1"))).containsExactly(1, 2, 3, 2, 4, 'r', 'c', 3, 0);
+        assertThat(VersionCodec.encodedLength(Version.parseOrThrow("1.19.2"))).isEqualTo(5);
+    }
+    
+    @Test
+    public void testStreams() throws IOException
+    {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        
+        for (Version version : VERSIONS)
+        {
+            VersionCodec.write(version, out);
+            VersionCodec.writeFramed(version, out);
+        }
+        
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        
+        for (Version version : VERSIONS)
+        {
+            assertThat(VersionCodec.read(in)).isEqualTo(version);
+            assertThat(VersionCodec.readFramed(in)).isEqualTo(version);
+        }
+        
+        assertThatThrownBy(() -> VersionCodec.read(in)).isInstanceOf(EOFException.class);
+    }
+    
+    @Test
+    public void testMalformedFramesAreRejected()
+    {
+        // A frame claiming to be 2 GiB long, followed by a few bytes
+        byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 1, 2, 3};
+        assertThatThrownBy(() -> VersionCodec.readFramed(new DataInputStream(new ByteArrayInputStream(huge))))
+            .isInstanceOf(EOFException.class);
+        
+        // Frames shorter or longer than the version they hold
+        byte[] version = VersionCodec.encode(Version.parseOrThrow("1.2.3-rc.1"));
+        
+        for (int length : new int[] {0, version.length - 1, version.length + 1})
+        {
+            byte[] framed = new byte[version.length + 2];
+            framed[0] = (byte) length;
+            System.arraycopy(version, 0, framed, 1, version.length);
+            
+            assertThatThrownBy(() -> VersionCodec.readFramed(new DataInputStream(new ByteArrayInputStream(framed))))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining((length > version.length) ? "trailing" : "end of frame");
+        }
+    }
+    
+    @Test
+    public void testBuffers()
+    {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(4096);
+        for (Version version : VERSIONS) { VersionCodec.write(version, buffer); }
+        buffer.flip();
+        
+        for (Version version : VERSIONS) { assertThat(VersionCodec.read(buffer)).isEqualTo(version); }
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+    
+    @Test
+    public void testMalformedInputIsRejected()
+    {
+        byte[] valid = VersionCodec.encode(Version.parseOrThrow("1.2.3-rc.1"));
+        
+        // Truncated
+        for (int length = 0; length < valid.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(valid, length);
+            assertThatThrownBy(() -> VersionCodec.decode(truncated)).isInstanceOf(IllegalArgumentException.class);
+        }
+        
+        // Trailing bytes
+        assertThatThrownBy(() -> VersionCodec.decode(Arrays.copyOf(valid, valid.length + 1)))
+            .hasMessageContaining("trailing");
+        
+        // Invalid characters, leading zeroes in pre-release, major overflow
+        assertThatThrownBy(() -> VersionCodec.decode(new byte[] {1, 0, 0, 1, 2, '_', 0}))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VersionCodec.decode(new byte[] {1, 0, 0, 1, 4, '0', '1', 0}))
+            .hasMessageContaining("leading zeroes");
+        assertThatThrownBy(() -> VersionCodec.decode(new byte[] {(byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x08, 0, 0, 0, 0}))
+            .hasMessageContaining("too large");
+        
+        // Leading zeroes are fine in build metadata
+        assertThat(VersionCodec.decode(new byte[] {1, 0, 0, 0, 1, 4, '0', '1'})).hasToString("1.0.0+01");
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionComparisonTests
+{
+    // SemVer 2.0.0, section 11.4 (in ascending order of precedence)
+    static final List<String> ORDERED = List.of(
+        "1.0.0-alpha",
+        "1.0.0-alpha.1",
+        "1.0.0-alpha.beta",
+        "1.0.0-beta",
+        "1.0.0-beta.2",
+        "1.0.0-beta.11",
+        "1.0.0-beta.2147483647",
+        "1.0.0-beta.2147483648",
+        "1.0.0-beta.9223372036854775807",
+        "1.0.0-beta.9223372036854775808",
+        "1.0.0-beta.100000000000000000000000",
+        "1.0.0-beta.a",
+        "1.0.0-rc.1",
+        "1.0.0",
+        "1.0.1",
+        "1.2.0",
+        "1.10.0",
+        "2.0.0-0",
+        "2.0.0",
+        "2147483647.0.0"
+    );
+    
+    @Test
+    public void testPrecedence()
+    {
+        List<Version> expected = ORDERED.stream().map(Version::parseOrThrow).collect(Collectors.toList());
+        List<Version> shuffled = new ArrayList<>(expected);
+        
+        Collections.shuffle(shuffled, new Random(11));
+        Collections.sort(shuffled);
+        
+        assertThat(shuffled).containsExactlyElementsOf(expected);
+        
+        for (int i = 0; i < expected.size() - 1; i++)
+        {
+            assertThat(expected.get(i)).isLessThan(expected.get(i + 1));
+            assertThat(expected.get(i + 1)).isGreaterThan(expected.get(i));
+        }
+    }
+    
+    @Test
+    public void testBuildMetadataDoesNotAffectPrecedence()
+    {
+        assertThat(Version.parseOrThrow("1.0.0+build.1"))
+            .isEqualByComparingTo(Version.parseOrThrow("1.0.0+build.2"))
+            .isNotEqualTo(Version.parseOrThrow("1.0.0+build.2"));
+    }
+    
+    @Test
+    public void testMetadataComparesNumericIdentifiersNumerically()
+    {
+        VersionMetadata leadingZeroes = Version.meta("build.007");
+        VersionMetadata seven = Version.meta("build.7");
+        
+        assertThat(leadingZeroes).isEqualByComparingTo(seven);
+        assertThat(Version.meta(Stream.of("000100000000000000000000000").collect(Collectors.toList())))
+            .isEqualByComparingTo(Version.meta("100000000000000000000000"))
+            .isGreaterThan(Version.meta("99999999999999999999999"));
+    }
+    
+    @Test
+    public void testVersionsCompareLikeTheirMetadata()
+    {
+        String[] identifiers = {"0", "1", "9", "10", "2147483647", "2147483648", "99999999999", "a", "b-1", "rc"};
+        Random random = new Random(4);
+        
+        for (int i = 0; i < 5000; i++)
+        {
+            // Always pre-releases, whose precedence is that of their metadata
+            Version left = Version.of(1, 0, 0, metadata(random, identifiers, 1), metadata(random, identifiers, 0));
+            Version right = Version.of(1, 0, 0, metadata(random, identifiers, 1), metadata(random, identifiers, 0));
+            
+            assertThat(Integer.signum(left.compareTo(right)))
+                .as("%s vs %s", left, right)
+                .isEqualTo(Integer.signum(left.prerelease().compareTo(right.prerelease())));
+            
+            assertThat(Integer.signum(left.compareBuild(right)))
+                .as("%s vs %s (build)", left, right)
+                .isEqualTo(Integer.signum(VersionIndex.BUILD_ORDER.compare(left.build(), right.build())));
+        }
+    }
+    
+    static String metadata(Random random, String[] identifiers, int minimum)
+    {
+        return Stream.generate(() -> identifiers[random.nextInt(identifiers.length)])
+            .limit(minimum + random.nextInt(4))
+            .collect(Collectors.joining("."));
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionConstraintTests
+{
+    static void assertSatisfied(String constraint, String... versions)
+    {
+        VersionConstraint parsed = VersionConstraint.parseOrThrow(constraint);
+        
+        for (String version : versions)
+        {
+            assertThat(parsed.isSatisfiedBy(Version.parseOrThrow(version)))
+                .describedAs("%s should satisfy %s", version, constraint)
+                .isTrue();
+        }
+    }
+    
+    static void assertNotSatisfied(String constraint, String... versions)
+    {
+        VersionConstraint parsed = VersionConstraint.parseOrThrow(constraint);
+        
+        for (String version : versions)
+        {
+            assertThat(parsed.isSatisfiedBy(Version.parseOrThrow(version)))
+                .describedAs("%s should not satisfy %s", version, constraint)
+                .isFalse();
+        }
+    }
+    
+    @Test
+    public void testComparators()
+    {
+        assertSatisfied(">=1.2.0 <2.0.0", "1.2.0", "1.9.9", "1.2.0+build");
+        assertNotSatisfied(">=1.2.0 <2.0.0", "1.1.9", "2.0.0", "2.0.0-rc.1", "1.5.0-beta");
+        assertSatisfied(">= 1.2 < 2", "1.2.0", "1.99.0");
+        assertNotSatisfied(">= 1.2 < 2", "2.0.0", "2.0.0-alpha");
+        assertSatisfied(">1.2", "1.3.0");
+        assertNotSatisfied(">1.2", "1.2.9");
+        assertSatisfied("<=1.2", "1.2.9", "0.1.0");
+        assertNotSatisfied("<=1.2", "1.3.0");
+        assertSatisfied("=1.2.3", "1.2.3");
+        assertNotSatisfied("=1.2.3", "1.2.4");
+    }
+    
+    @Test
+    public void testWildcards()
+    {
+        assertSatisfied("*", "0.0.0", "1.2.3", "99.0.0");
+        assertSatisfied("", "1.0.0");
+        assertSatisfied("1.x", "1.0.0", "1.99.99");
+        assertNotSatisfied("1.x", "2.0.0", "0.9.0", "1.1.0-rc.1");
+        assertSatisfied("1.2.*", "1.2.0", "1.2.7");
+        assertNotSatisfied("1.2.*", "1.3.0");
+        assertSatisfied("1", "1.5.0");
+    }
+    
+    @Test
+    public void testCaretAndTilde()
+    {
+        assertSatisfied("^1.2.3", "1.2.3", "1.9.0");
+        assertNotSatisfied("^1.2.3", "1.2.2", "2.0.0", "2.0.0-0");
+        assertSatisfied("^0.2.3", "0.2.3", "0.2.9");
+        assertNotSatisfied("^0.2.3", "0.3.0");
+        assertSatisfied("^0.0.3", "0.0.3");
+        assertNotSatisfied("^0.0.3", "0.0.4");
+        assertSatisfied("^1.2", "1.2.0", "1.9.0");
+        assertSatisfied("^0.x", "0.9.0");
+        assertNotSatisfied("^0.x", "1.0.0");
+        assertSatisfied("~1.2.3", "1.2.3", "1.2.9");
+        assertNotSatisfied("~1.2.3", "1.3.0", "1.2.2");
+        assertSatisfied("~1", "1.9.0");
+        assertNotSatisfied("~1", "2.0.0");
+    }
+    
+    @Test
+    public void testHyphenAndUnions()
+    {
+        assertSatisfied("1.2.3 - 2.3", "1.2.3", "2.3.9");
+        assertNotSatisfied("1.2.3 - 2.3", "2.4.0", "1.2.2");
+        assertSatisfied("1.x || >=3.0.0 <3.5.0", "1.5.0", "3.4.0");
+        assertNotSatisfied("1.x || >=3.0.0 <3.5.0", "2.0.0", "3.5.0");
+    }
+    
+    @Test
+    public void testMavenRanges()
+    {
+        assertSatisfied("[1.0,2.0)", "1.0.0", "1.9.9", "2.0.0-SNAPSHOT");
+        assertNotSatisfied("[1.0,2.0)", "2.0.0", "0.9.0");
+        assertSatisfied("(,1.0]", "0.1.0", "1.0.0");
+        assertNotSatisfied("(,1.0]", "1.0.1");
+        assertSatisfied("[1.5]", "1.5.0");
+        assertNotSatisfied("[1.5]", "1.5.1");
+        assertSatisfied("[1.0,1.2),[1.3,)", "1.1.0", "1.3.0", "5.0.0");
+        assertNotSatisfied("[1.0,1.2),[1.3,)", "1.2.5");
+    }
+    
+    @Test
+    public void testPrereleaseInclusion()
+    {
+        assertSatisfied(">=1.2.3-beta.2", "1.2.3-beta.4", "1.2.3", "1.3.0");
+        assertNotSatisfied(">=1.2.3-beta.2", "1.2.3-beta.1", "1.2.4-beta.1");
+        assertSatisfied("^1.2.3-beta.2", "1.2.3-beta.3", "1.2.3");
+        assertNotSatisfied("^1.2.3-beta.2", "1.3.0-beta");
+        
+        VersionConstraint including = VersionConstraint.parseOrThrow("^1.2.0").includingPrereleases();
+        
+        assertThat(including.isSatisfiedBy(Version.parseOrThrow("1.3.0-beta"))).isTrue();
+        assertThat(including.isSatisfiedBy(Version.parseOrThrow("2.0.0-0"))).isFalse();
+    }
+    
+    @Test
+    public void testUnsatisfiableConstraintHasNoRanges()
+    {
+        VersionConstraint constraint = VersionConstraint.parseOrThrow(">=2.0.0 <1.0.0");
+        
+        assertThat(constraint.ranges()).isEmpty();
+        assertThat(constraint.isSatisfiedBy(Version.of(1, 5))).isFalse();
+        assertThat(VersionConstraint.parseOrThrow("^1.2").ranges())
+            .containsExactly(VersionRange.between(Version.of(1, 2), true, Version.of(2, 0, 0, "0"), false));
+    }
+    
+    @Test
+    public void testInvalidConstraints()
+    {
+        for (String invalid : List.of(">>1.0.0", "1.2.3.4", "[1.0,2.0", "1.2-beta", "abc", "1.0.0 -", "[2.0,1.0]", ">=01.0.0"))
+        {
+            assertThatThrownBy(() -> VersionConstraint.parseOrThrow(invalid))
+                .describedAs(invalid)
+                .isInstanceOf(IllegalArgumentException.class);
+            
+            assertThat(VersionConstraint.parse(invalid)).isEmpty();
+        }
+    }
+}
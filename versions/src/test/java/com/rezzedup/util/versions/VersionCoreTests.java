@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionCoreTests
+{
+    static int component(Random random)
+    {
+        switch (random.nextInt(4))
+        {
+            case 0: return random.nextInt(3);
+            case 1: return VersionCore.PACKED_COMPONENT_MAX - random.nextInt(3);
+            default: return random.nextInt(VersionCore.PACKED_COMPONENT_MAX + 1);
+        }
+    }
+    
+    @Test
+    public void testPackedOrderMatchesCompareTo()
+    {
+        Random random = new Random(5);
+        VersionCore[] cores = new VersionCore[10_000];
+        long[] packed = new long[cores.length];
+        
+        for (int i = 0; i < cores.length; i++)
+        {
+            cores[i] = VersionCore.of(component(random), component(random), component(random));
+            packed[i] = cores[i].toPackedLong();
+            
+            assertThat(VersionCore.fromPackedLong(packed[i])).isEqualTo(cores[i]);
+        }
+        
+        Arrays.sort(cores);
+        Arrays.sort(packed);
+        
+        for (int i = 0; i < cores.length; i++)
+        {
+            assertThat(cores[i].toPackedLong()).isEqualTo(packed[i]);
+        }
+    }
+    
+    @Test
+    public void testComparisonsWithAndWithoutPacking()
+    {
+        VersionCore packable = VersionCore.of(1, 2, 3);
+        VersionCore large = VersionCore.of(Integer.MAX_VALUE, 0, 0);
+        
+        assertThat(packable.isPackable()).isTrue();
+        assertThat(large.isPackable()).isFalse();
+        assertThat(packable).isLessThan(large);
+        assertThat(large).isGreaterThan(packable);
+        
+        assertThat(packable.atLeast(1, 2, 3)).isTrue();
+        assertThat(packable.atLeast(1, 3)).isFalse();
+        assertThat(packable.atMost(1, 2)).isTrue();
+        assertThat(packable.atMost(1)).isTrue();
+        assertThat(packable.atMost(0)).isFalse();
+        assertThat(packable.isAny(1, 2)).isTrue();
+        assertThat(packable.isAny(1, 3)).isFalse();
+        assertThat(packable.isAny(1)).isTrue();
+        assertThat(packable.atMost(1, Integer.MAX_VALUE)).isTrue();
+        assertThat(packable.atLeast(-1)).isTrue();
+        
+        assertThat(large.atLeast(Integer.MAX_VALUE)).isTrue();
+        assertThat(large.atMost(Integer.MAX_VALUE, 0)).isTrue();
+        assertThat(large.isAny(Integer.MAX_VALUE)).isTrue();
+        assertThat(large.atMost(1)).isFalse();
+    }
+    
+    @Test
+    public void testOutOfRangeCannotBePacked()
+    {
+        assertThatThrownBy(() -> VersionCore.pack(VersionCore.PACKED_COMPONENT_MAX + 1, 0, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> VersionCore.of(0, 0, Integer.MAX_VALUE).toPackedLong())
+            .isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> VersionCore.fromPackedLong(-1))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionFootprintTests
+{
+    // The previous layout: a version referring to a separate core and metadata objects.
+    @SuppressWarnings("unused")
+    static final class SeparateLayout
+    {
+        final VersionCore core;
+        final VersionMetadata prerelease;
+        final VersionMetadata build;
+        String string;
+        int hash;
+        
+        SeparateLayout(Version version)
+        {
+            this.core = version.core();
+            this.prerelease = version.prerelease();
+            this.build = version.build();
+        }
+    }
+    
+    static long compact(Version version)
+    {
+        return GraphLayout.parseInstance(version).totalSize();
+    }
+    
+    static long separate(Version version)
+    {
+        // The shared empty metadata isn't part of any one version.
+        return GraphLayout.parseInstance(new SeparateLayout(version))
+            .subtract(GraphLayout.parseInstance(VersionMetadata.EMPTY))
+            .totalSize();
+    }
+    
+    @Test
+    public void testMetadataVersionsAreSmaller()
+    {
+        for (String input : new String[] {"1.2.3-rc.1+build.5", "1.0.0-alpha.beta.1", "2.0.0+20220101.sha.5114f85"})
+        {
+            Version version = Version.parse(input).orElseThrow();
+            long compact = compact(version);
+            long separate = separate(version);
+            
+            assertThat(compact).as("%s (previously %d bytes)", input, separate).isLessThan(separate / 2);
+        }
+    }
+    
+    @Test
+    public void testReleasesAreOneObject()
+    {
+        Version version = Version.parse("1.2.3").orElseThrow();
+        GraphLayout layout = GraphLayout.parseInstance(version);
+        
+        assertThat(layout.totalCount()).isEqualTo(1);
+        assertThat(layout.totalSize()).isLessThan(separate(version));
+    }
+    
+    @Test
+    public void testParsedCanonicalInputIsShared()
+    {
+        String input = "1.2.3-rc.1+build.5";
+        Version version = Version.parse(input).orElseThrow();
+        
+        // The version, its offsets, and the input string it keeps
+        assertThat(GraphLayout.parseInstance(version).subtract(GraphLayout.parseInstance(input)).totalCount()).isEqualTo(2);
+    }
+}
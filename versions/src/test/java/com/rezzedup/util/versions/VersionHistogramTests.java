@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionHistogramTests
+{
+    static Version v(String version)
+    {
+        return Version.parseOrThrow(version);
+    }
+    
+    static VersionHistogram histogram(String ... inputs)
+    {
+        VersionHistogram histogram = VersionHistogram.create();
+        for (String input : inputs) { histogram.record(input); }
+        return histogram;
+    }
+    
+    @Test
+    public void testCountsAndRollups()
+    {
+        VersionHistogram histogram = histogram(
+            "1.19.2", "1.19.2", "1.19", "1.19.3-rc.1", "1.18.2", "2.0.0", "2.0.0", "2.0.0", "nope", "1.19.2"
+        );
+        histogram.record(v("1.18.2"), 5);
+        
+        VersionHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertThat(snapshot.count(v("1.19.2"))).isEqualTo(3);
+        assertThat(snapshot.count(v("1.19.0"))).isEqualTo(1);
+        assertThat(snapshot.count(v("3.0.0"))).isZero();
+        assertThat(snapshot.total()).isEqualTo(14);
+        assertThat(snapshot.invalidCount()).isEqualTo(1);
+        assertThat(snapshot.stableCount()).isEqualTo(13);
+        assertThat(snapshot.prereleaseCount()).isEqualTo(1);
+        
+        assertThat(snapshot.byMajor()).containsExactly(Map.entry(1, 11L), Map.entry(2, 3L));
+        assertThat(snapshot.byMinor()).containsExactly(
+            Map.entry(v("1.18.0"), 6L), Map.entry(v("1.19.0"), 5L), Map.entry(v("2.0.0"), 3L)
+        );
+        
+        assertThat(snapshot.top(2)).containsExactly(Map.entry(v("1.18.2"), 6L), Map.entry(v("2.0.0"), 3L));
+        assertThat(snapshot.top(0)).isEmpty();
+        assertThat(snapshot.top(100)).hasSize(snapshot.size());
+    }
+    
+    @Test
+    public void testTopBreaksTiesByHigherVersion()
+    {
+        VersionHistogram.Snapshot snapshot = histogram("1.0.0", "3.0.0", "2.0.0", "2.0.0").snapshot();
+        
+        assertThat(snapshot.top(3)).containsExactly(
+            Map.entry(v("2.0.0"), 2L), Map.entry(v("3.0.0"), 1L), Map.entry(v("1.0.0"), 1L)
+        );
+    }
+    
+    @Test
+    public void testDrainAndMerge()
+    {
+        VersionHistogram first = histogram("1.0.0", "1.0.0", "2.0.0", "bad");
+        VersionHistogram second = histogram("2.0.0", "3.0.0-beta");
+        
+        VersionHistogram.Snapshot drained = first.drain();
+        
+        assertThat(drained.total()).isEqualTo(3);
+        assertThat(first.snapshot().total()).isZero();
+        assertThat(first.snapshot().size()).isZero();
+        
+        VersionHistogram.Snapshot merged = drained.merge(second.snapshot());
+        
+        assertThat(merged.counts()).containsExactly(
+            Map.entry(v("1.0.0"), 2L), Map.entry(v("2.0.0"), 2L), Map.entry(v("3.0.0-beta"), 1L)
+        );
+        assertThat(merged.invalidCount()).isEqualTo(1);
+        assertThat(merged.merge(VersionHistogram.Snapshot.empty()).counts()).isEqualTo(merged.counts());
+        
+        second.merge(drained);
+        assertThat(second.snapshot().counts()).isEqualTo(merged.counts());
+    }
+    
+    @Test
+    public void testConcurrentRecording() throws Exception
+    {
+        VersionHistogram histogram = VersionHistogram.create();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        
+        try
+        {
+            List<Future<?>> tasks = new ArrayList<>();
+            
+            for (int t = 0; t < 4; t++)
+            {
+                tasks.add(executor.submit(() ->
+                {
+                    for (int i = 0; i < 10000; i++) { histogram.record("1." + (i % 10) + ".0"); }
+                }));
+            }
+            
+            for (Future<?> task : tasks) { task.get(); }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        
+        VersionHistogram.Snapshot snapshot = histogram.snapshot();
+        
+        assertThat(snapshot.total()).isEqualTo(40000);
+        assertThat(snapshot.size()).isEqualTo(10);
+        assertThat(snapshot.count(v("1.7.0"))).isEqualTo(4000);
+    }
+    
+    @Test
+    public void testConcurrentDrainsIncludeEveryIncrementOnce() throws Exception
+    {
+        VersionHistogram histogram = VersionHistogram.create();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        VersionHistogram.Snapshot drained = VersionHistogram.Snapshot.empty();
+        
+        try
+        {
+            List<Future<?>> tasks = new ArrayList<>();
+            
+            for (int t = 0; t < 4; t++)
+            {
+                tasks.add(executor.submit(() ->
+                {
+                    for (int i = 0; i < 50_000; i++) { histogram.record((i % 5 == 0) ? "nope" : "1." + (i % 3) + ".0"); }
+                }));
+            }
+            
+            for (Future<?> task : tasks)
+            {
+                while (!task.isDone()) { drained = drained.merge(histogram.drain()); }
+                task.get();
+            }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        
+        drained = drained.merge(histogram.drain());
+        
+        assertThat(drained.total()).isEqualTo(4 * 40_000);
+        assertThat(drained.invalidCount()).isEqualTo(4 * 10_000);
+        assertThat(histogram.drain().total()).isZero();
+    }
+}
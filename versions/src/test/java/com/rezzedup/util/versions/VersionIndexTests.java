@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionIndexTests
+{
+    static final VersionIndex INDEX = VersionIndex.of(
+        Stream.of(
+            "2.0.0", "1.0.0", "1.1.0-rc.1", "1.1.0", "1.2.0", "1.2.0", "2.1.0-beta",
+            "0.9.0", "1.19.2", "1.2.0+build.2", "1.2.0+build.1", "3.0.0-SNAPSHOT"
+        )
+        .map(Version::parseOrThrow)
+        .collect(Collectors.toList())
+    );
+    
+    static Version v(String version)
+    {
+        return Version.parseOrThrow(version);
+    }
+    
+    @Test
+    public void testSortedAndDistinct()
+    {
+        assertThat(INDEX.asList()).map(Version::toString).containsExactly(
+            "0.9.0", "1.0.0", "1.1.0-rc.1", "1.1.0", "1.2.0", "1.2.0+build.1", "1.2.0+build.2",
+            "1.19.2", "2.0.0", "2.1.0-beta", "3.0.0-SNAPSHOT"
+        );
+        assertThat(INDEX.contains(v("1.2.0+build.2"))).isTrue();
+        assertThat(INDEX.contains(v("1.2.0+build.3"))).isFalse();
+    }
+    
+    @Test
+    public void testNavigation()
+    {
+        assertThat(INDEX.floor(v("1.5.0"))).contains(v("1.2.0+build.2"));
+        assertThat(INDEX.floor(v("1.1.0"))).contains(v("1.1.0"));
+        assertThat(INDEX.floor(v("0.1.0"))).isEmpty();
+        assertThat(INDEX.ceiling(v("1.1.0-alpha"))).contains(v("1.1.0-rc.1"));
+        assertThat(INDEX.ceiling(v("1.2.0"))).contains(v("1.2.0"));
+        assertThat(INDEX.ceiling(v("4.0.0"))).isEmpty();
+        assertThat(INDEX.lower(v("1.1.0"))).contains(v("1.1.0-rc.1"));
+        assertThat(INDEX.higher(v("1.2.0"))).contains(v("1.19.2"));
+        assertThat(INDEX.latest()).contains(v("3.0.0-SNAPSHOT"));
+        assertThat(INDEX.latestStable()).contains(v("2.0.0"));
+        assertThat(VersionIndex.empty().latest()).isEmpty();
+    }
+    
+    @Test
+    public void testConstraintQueries()
+    {
+        assertThat(INDEX.latest(VersionConstraint.parseOrThrow("1.x"))).contains(v("1.19.2"));
+        assertThat(INDEX.latest(VersionConstraint.parseOrThrow("<1.2 || >=5"))).contains(v("1.1.0"));
+        assertThat(INDEX.latest(VersionConstraint.parseOrThrow("^2.0.0"))).contains(v("2.0.0"));
+        assertThat(INDEX.latest(VersionConstraint.parseOrThrow("^2.0.0").includingPrereleases())).contains(v("2.1.0-beta"));
+        assertThat(INDEX.latest(VersionConstraint.parseOrThrow(">=4"))).isEmpty();
+        assertThat(INDEX.matching(VersionConstraint.parseOrThrow("~1.1"))).containsExactly(v("1.1.0"));
+    }
+    
+    @Test
+    public void testRangeSlices()
+    {
+        VersionIndex slice = INDEX.range(VersionRange.between(v("1.1.0"), true, v("2.0.0"), false));
+        
+        assertThat(slice.asList()).map(Version::toString)
+            .containsExactly("1.1.0", "1.2.0", "1.2.0+build.1", "1.2.0+build.2", "1.19.2");
+        assertThat(slice.latest()).contains(v("1.19.2"));
+        assertThat(slice.floor(v("5.0.0"))).contains(v("1.19.2"));
+        assertThat(slice.range(VersionRange.atLeast(v("1.3.0"))).asList()).containsExactly(v("1.19.2"));
+        assertThat(INDEX.range(VersionRange.empty()).isEmpty()).isTrue();
+        assertThat(VersionIndex.ofSources(List.of(() -> v("1.0.0"), () -> v("0.1.0"))).asList())
+            .containsExactly(v("0.1.0"), v("1.0.0"));
+    }
+}
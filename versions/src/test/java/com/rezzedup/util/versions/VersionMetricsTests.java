@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.text.ParsePosition;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionMetricsTests
+{
+    @BeforeEach
+    public void enable()
+    {
+        VersionMetrics.reset();
+        VersionMetrics.enable();
+    }
+    
+    @AfterEach
+    public void disable()
+    {
+        VersionMetrics.disable();
+        VersionMetrics.slowParseThreshold(Duration.ofMillis(1));
+    }
+    
+    @Test
+    public void testCountsParses()
+    {
+        Version.parse("1.2");
+        Version.parse("1.2.3-rc.1");
+        Version.parse("nope");
+        Version.parseStrict("1.2");
+        Versions.parseAllStrict(List.of("1.0.0", "2.0.0", "3.0"));
+        
+        // Prefix parses aren't measured.
+        Version.parsePrefix("1.0.0 and more", new ParsePosition(0));
+        
+        VersionMetrics.Snapshot snapshot = VersionMetrics.snapshot();
+        
+        assertThat(snapshot.successCount(VersionMetrics.Mode.PARTIAL)).isEqualTo(2);
+        assertThat(snapshot.failureCount(VersionMetrics.Mode.PARTIAL)).isEqualTo(1);
+        assertThat(snapshot.successCount(VersionMetrics.Mode.STRICT)).isEqualTo(2);
+        assertThat(snapshot.failureCount(VersionMetrics.Mode.STRICT)).isEqualTo(2);
+        
+        assertThat(Arrays.stream(snapshot.latencyHistogram(VersionMetrics.Mode.PARTIAL)).sum()).isEqualTo(3);
+        assertThat(snapshot.latencyPercentile(VersionMetrics.Mode.STRICT, 99)).isPositive();
+        assertThat(snapshot.latencyPercentile(VersionMetrics.Mode.STRICT, 50))
+            .isLessThanOrEqualTo(snapshot.latencyPercentile(VersionMetrics.Mode.STRICT, 100));
+        
+        VersionMetrics.reset();
+        assertThat(VersionMetrics.snapshot().parseCount(VersionMetrics.Mode.PARTIAL)).isZero();
+        assertThat(VersionMetrics.snapshot().latencyPercentile(VersionMetrics.Mode.PARTIAL, 50)).isZero();
+    }
+    
+    @Test
+    public void testDisabled()
+    {
+        VersionMetrics.disable();
+        
+        Version.parse("1.0.0");
+        Version.parse("nope");
+        
+        assertThat(VersionMetrics.snapshot().parseCount(VersionMetrics.Mode.PARTIAL)).isZero();
+    }
+    
+    // Loads this library's classes afresh, recording every class it's asked for.
+    static final class IsolatingClassLoader extends URLClassLoader
+    {
+        final Set<String> requested = ConcurrentHashMap.newKeySet();
+        
+        IsolatingClassLoader(URL classes)
+        {
+            super(new URL[] {classes}, VersionMetricsTests.class.getClassLoader());
+        }
+        
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException
+        {
+            requested.add(name);
+            if (!name.startsWith("com.rezzedup.util.versions.")) { return super.loadClass(name, resolve); }
+            
+            synchronized (getClassLoadingLock(name))
+            {
+                Class<?> loaded = findLoadedClass(name);
+                return (loaded != null) ? loaded : findClass(name);
+            }
+        }
+    }
+    
+    @Test
+    public void testDisabledDoesNotLoadFlightRecorder() throws Exception
+    {
+        URL classes = Version.class.getProtectionDomain().getCodeSource().getLocation();
+        
+        try (IsolatingClassLoader loader = new IsolatingClassLoader(classes))
+        {
+            Class<?> version = Class.forName(Version.class.getName(), true, loader);
+            Optional<?> parsed = (Optional<?>) version.getMethod("parse", String.class).invoke(null, "1.2.3");
+            
+            assertThat(parsed).isPresent();
+            assertThat(loader.requested)
+                .contains(Version.class.getName())
+                .doesNotContain(VersionMetrics.ParseEvent.class.getName())
+                .noneMatch(name -> name.startsWith("jdk.jfr."));
+        }
+    }
+    
+    @Test
+    public void testBuckets()
+    {
+        assertThat(VersionMetrics.bucket(0)).isZero();
+        assertThat(VersionMetrics.bucket(1)).isEqualTo(1);
+        assertThat(VersionMetrics.bucket(1000)).isEqualTo(10);
+        assertThat(VersionMetrics.bucket(1024)).isEqualTo(11);
+        assertThat(VersionMetrics.bucket(Long.MAX_VALUE)).isEqualTo(VersionMetrics.BUCKETS - 1);
+    }
+    
+    @Test
+    public void testEmitsFlightRecorderEvents(@TempDir Path directory) throws Exception
+    {
+        Path file = directory.resolve("parse.jfr");
+        
+        // Only failures are slower than the threshold.
+        VersionMetrics.slowParseThreshold(Duration.ofDays(1));
+        
+        try (Recording recording = new Recording())
+        {
+            recording.enable("com.rezzedup.util.versions.Parse");
+            recording.start();
+            
+            Version.parse("1.0.0");
+            Version.parseStrict("1.0");
+            Version.parse("1.0.x");
+            
+            recording.stop();
+            recording.dump(file);
+        }
+        
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals("com.rezzedup.util.versions.Parse"))
+            .collect(Collectors.toList());
+        
+        assertThat(events).extracting(event -> event.getString("input")).containsExactly("1.0", "1.0.x");
+        assertThat(events).extracting(event -> event.getBoolean("strict")).containsExactly(true, false);
+        assertThat(events).extracting(event -> event.getInt("errorIndex")).containsExactly(3, 4);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.text.ParsePosition;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionParsingTests
+{
+    static final List<String> INPUTS = List.of(
+        "", "0", "1", "01", "1.", "1.2", "1.2.", "1.2.3", "1.2.3.4", "01.2.3", "1.02.3", "1.2.03",
+        "0.0.0", "0.0.0-0", "1.0.0-alpha", "1.0.0-alpha.1", "1.0.0-0.3.7", "1.0.0-x.7.z.92",
+        "1.0.0-x-y-z.--", "1.0.0-alpha+001", "1.0.0+20130313144700", "1.0.0-beta+exp.sha.5114f85",
+        "1.0.0+21AF26D3----117B344092BD", "1.0.0-", "1.0.0+", "1.0.0-+", "1.0.0-alpha.", "1.0.0-alpha..1",
+        "1.0.0-01", "1.0.0-00a", "1.0.0-0a", "1.0.0+01", "1.0.0+.", "1.0.0-alpha_beta", "1.0.0 ", " 1.0.0",
+        "1-alpha", "1.2-SNAPSHOT", "1+build", "1.2+build.1", "v1.2.3", "1.2.3-α", "1.2.3-a+b+c",
+        "2147483647.0.0", "2147483648.0.0", "99999999999999999999.0.0", "1.2.3-99999999999999999999",
+        "1.0.0-rc.1+build.1", "1.0.0--", "1.0.0---", "1.0.0-a.b.c.d.e.f.g.h.i.j"
+    );
+    
+    static Optional<Version> regex(Pattern pattern, String input)
+    {
+        Matcher matcher = pattern.matcher(input);
+        if (!matcher.matches()) { return Optional.empty(); }
+        
+        try
+        {
+            return Optional.of(Version.of(
+                intOrZero(matcher.group("major")),
+                intOrZero(matcher.group("minor")),
+                intOrZero(matcher.group("patch")),
+                Versions.emptyIfNull(matcher.group("prerelease")),
+                Versions.emptyIfNull(matcher.group("buildmetadata"))
+            ));
+        }
+        catch (NumberFormatException e) { return Optional.empty(); }
+    }
+    
+    static int intOrZero(String text)
+    {
+        return (text == null) ? 0 : Integer.parseInt(text);
+    }
+    
+    static void assertSameAsRegex(String input)
+    {
+        assertThat(Version.parse(input))
+            .describedAs("partial: \"%s\"", input)
+            .isEqualTo(regex(Versions.PARTIAL_SEMVER_PATTERN, input));
+        
+        assertThat(Version.parseStrict(input))
+            .describedAs("strict: \"%s\"", input)
+            .isEqualTo(regex(Versions.VALID_SEMVER_PATTERN, input));
+    }
+    
+    @Test
+    public void testParsingMatchesPatterns()
+    {
+        INPUTS.forEach(VersionParsingTests::assertSameAsRegex);
+    }
+    
+    @Test
+    public void testParsingMatchesPatternsForRandomInputs()
+    {
+        Random random = new Random(0x5E3BE2L);
+        String alphabet = "0123456789.-+azAZ_ ";
+        
+        for (int i = 0; i < 100_000; i++)
+        {
+            StringBuilder input = new StringBuilder();
+            int length = random.nextInt(14);
+            
+            for (int j = 0; j < length; j++)
+            {
+                input.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            
+            assertSameAsRegex(input.toString());
+        }
+    }
+    
+    @Test
+    public void testParsedComponents()
+    {
+        Version version = Version.parseOrThrow("1.2-rc.1+build.07");
+        
+        assertThat(version.major()).isEqualTo(1);
+        assertThat(version.minor()).isEqualTo(2);
+        assertThat(version.patch()).isEqualTo(0);
+        assertThat(version.prerelease().identifiers()).containsExactly("rc", "1");
+        assertThat(version.build().identifiers()).containsExactly("build", "07");
+        assertThat(Version.parseOrThrow("0.0.0")).isSameAs(Version.zero());
+    }
+    
+    @Test
+    public void testParsingRegionsMatchesStrings()
+    {
+        for (String input : INPUTS)
+        {
+            String padded = "[" + input + "]";
+            byte[] bytes = padded.getBytes(StandardCharsets.UTF_8);
+            int length = bytes.length - 2;
+            
+            assertThat(Version.parse(padded, 1, input.length())).isEqualTo(Version.parse(input));
+            assertThat(Version.parseStrict(padded, 1, input.length())).isEqualTo(Version.parseStrict(input));
+            assertThat(Version.parse(bytes, 1, length)).describedAs(input).isEqualTo(Version.parse(input));
+            assertThat(Version.parseStrict(bytes, 1, length)).describedAs(input).isEqualTo(Version.parseStrict(input));
+        }
+    }
+    
+    static String prefix(String input)
+    {
+        ParsePosition position = new ParsePosition(0);
+        return Version.parsePrefix(input, position).map(v -> input.substring(0, position.getIndex())).orElse("<none>");
+    }
+    
+    @Test
+    public void testParsingPrefixes()
+    {
+        assertThat(prefix("1.2.3 and more")).isEqualTo("1.2.3");
+        assertThat(prefix("1.2.3-rc.1+b.7, next")).isEqualTo("1.2.3-rc.1+b.7");
+        assertThat(prefix("1.2.")).isEqualTo("1.2");
+        assertThat(prefix("1.2.3.4")).isEqualTo("1.2.3");
+        assertThat(prefix("1.02")).isEqualTo("1");
+        assertThat(prefix("1.0.0-")).isEqualTo("1.0.0");
+        assertThat(prefix("1.0.0-alpha..1")).isEqualTo("1.0.0-alpha");
+        assertThat(prefix("1.0.0-alpha.01")).isEqualTo("1.0.0-alpha");
+        assertThat(prefix("1.0.0-01+build")).isEqualTo("1.0.0");
+        assertThat(prefix("1.0.0+")).isEqualTo("1.0.0");
+        assertThat(prefix("01.2")).isEqualTo("<none>");
+        assertThat(prefix("v1")).isEqualTo("<none>");
+        
+        ParsePosition position = new ParsePosition(4);
+        assertThat(Version.parseStrictPrefix("see 1.2 or 1.2.0", position)).isEmpty();
+        assertThat(position.getErrorIndex()).isEqualTo(7);
+        assertThat(position.getIndex()).isEqualTo(4);
+    }
+    
+    @Test
+    public void testScanningBuffers()
+    {
+        byte[] bytes = "1.0.0 1.2-SNAPSHOT\n2.0.0+β".getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        
+        assertThat(Version.parsePrefix(buffer)).contains(Version.of(1, 0, 0));
+        assertThat(buffer.position()).isEqualTo(5);
+        
+        buffer.get();
+        assertThat(Version.parsePrefix(buffer)).contains(Version.of(1, 2, 0, "SNAPSHOT"));
+        
+        buffer.get();
+        ByteBuffer direct = ByteBuffer.allocateDirect(buffer.remaining()).put(buffer).flip();
+        assertThat(Version.parseStrictPrefix(direct)).contains(Version.of(2, 0, 0));
+        assertThat(direct.remaining()).isEqualTo(3);
+        assertThat(Version.parsePrefix(direct)).isEmpty();
+        assertThat(direct.remaining()).isEqualTo(3);
+        
+        assertThat(Version.parsePrefix(ByteBuffer.wrap("x.y-rc.1".getBytes(StandardCharsets.US_ASCII)))).isEmpty();
+        assertThat(Version.parsePrefix(ByteBuffer.allocateDirect(16).put("3-rc.1 ".getBytes(StandardCharsets.US_ASCII)).flip()))
+            .contains(Version.of(3, 0, 0, "rc.1"));
+    }
+    
+    @Test
+    public void testInvalidInputThrows()
+    {
+        assertThatThrownBy(() -> Version.parseStrictOrThrow("1.2"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("\"1.2\"")
+            .hasMessageContaining("unexpected end of input at index 3");
+    }
+    
+    @Test
+    public void testParseResults()
+    {
+        VersionParseResult valid = Version.tryParse("1.2-rc.1");
+        
+        assertThat(valid.isValid()).isTrue();
+        assertThat(valid.version()).contains(Version.of(1, 2, 0, "rc.1"));
+        assertThat(valid.error()).isEmpty();
+        assertThat(valid.errorIndex()).isEqualTo(-1);
+        assertThat(valid.versionOrThrow()).isEqualTo(Version.of(1, 2, 0, "rc.1"));
+        
+        assertError(Version.tryParseStrict("1.2"), VersionParseResult.ErrorCode.UNEXPECTED_END, 3);
+        assertError(Version.tryParse(""), VersionParseResult.ErrorCode.UNEXPECTED_END, 0);
+        assertError(Version.tryParse("1.0.0-"), VersionParseResult.ErrorCode.UNEXPECTED_END, 6);
+        assertError(Version.tryParse("v1.0.0"), VersionParseResult.ErrorCode.UNEXPECTED_CHARACTER, 0);
+        assertError(Version.tryParse("1.0.0 "), VersionParseResult.ErrorCode.UNEXPECTED_CHARACTER, 5);
+        assertError(Version.tryParse("1.0.0-a..b"), VersionParseResult.ErrorCode.UNEXPECTED_CHARACTER, 8);
+        assertError(Version.tryParse("1.02.0"), VersionParseResult.ErrorCode.LEADING_ZERO, 3);
+        assertError(Version.tryParse("1.0.0-rc.01"), VersionParseResult.ErrorCode.LEADING_ZERO, 9);
+        assertError(Version.tryParse("1.2147483648"), VersionParseResult.ErrorCode.NUMBER_TOO_LARGE, 11);
+        
+        assertThat(Version.tryParse("1.0.x")).isEqualTo(Version.tryParse("1.0.x"));
+        assertThatThrownBy(() -> Version.tryParse("1.0.x").versionOrThrow()).hasMessageContaining("unexpected character");
+    }
+    
+    static void assertError(VersionParseResult result, VersionParseResult.ErrorCode error, int index)
+    {
+        assertThat(result.isValid()).isFalse();
+        assertThat(result.version()).isEmpty();
+        assertThat(result.error()).contains(error);
+        assertThat(result.errorIndex()).isEqualTo(index);
+    }
+}
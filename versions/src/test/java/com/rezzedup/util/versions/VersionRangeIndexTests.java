@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionRangeIndexTests
+{
+    static Version v(String version)
+    {
+        return Version.parseOrThrow(version);
+    }
+    
+    @Test
+    public void testContaining()
+    {
+        VersionRangeIndex<String> index = VersionRangeIndex.<String>builder()
+            .add(VersionRange.between(v("1.0.0"), true, v("1.4.2"), false), "CVE-1")
+            .add(VersionRange.atMost(v("1.2.0")), "CVE-2")
+            .add(VersionRange.greaterThan(v("1.4.2")), "CVE-3")
+            .add(VersionRange.exactly(v("1.4.2")), "CVE-4")
+            .add(VersionRange.empty(), "never")
+            .add(VersionRange.all(), "all")
+            .build();
+        
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.containing(v("0.9.0"))).containsExactly("CVE-2", "all");
+        assertThat(index.containing(v("1.2.0"))).containsExactly("CVE-2", "all", "CVE-1");
+        assertThat(index.containing(v("1.4.2-rc.1"))).containsExactly("all", "CVE-1");
+        assertThat(index.containing(v("1.4.2"))).containsExactly("all", "CVE-4");
+        assertThat(index.containing(v("1.4.2+build"))).containsExactly("all", "CVE-4");
+        assertThat(index.containing(v("2.0.0"))).containsExactly("all", "CVE-3");
+        assertThat(index.anyContains(v("0.0.1"))).isTrue();
+        
+        VersionRangeIndex<VersionRange> ranges = VersionRangeIndex.of(List.of(
+            VersionRange.between(v("1.0.0"), true, v("2.0.0"), false),
+            VersionRange.atLeast(v("3.0.0"))
+        ));
+        
+        assertThat(ranges.anyContains(v("2.0.0"))).isFalse();
+        assertThat(ranges.anyContains(v("3.1.0"))).isTrue();
+        assertThat(VersionRangeIndex.of(List.of()).containing(v("1.0.0"))).isEmpty();
+    }
+    
+    @Test
+    public void testOverlapping()
+    {
+        VersionRange lower = VersionRange.between(v("1.0.0"), true, v("2.0.0"), false);
+        VersionRange upper = VersionRange.between(v("2.0.0"), true, v("3.0.0"), true);
+        VersionRange open = VersionRange.greaterThan(v("3.0.0"));
+        
+        VersionRangeIndex<VersionRange> index = VersionRangeIndex.of(List.of(open, upper, lower));
+        
+        assertThat(index.overlapping(VersionRange.atMost(v("2.0.0")))).containsExactly(lower, upper);
+        assertThat(index.overlapping(VersionRange.lessThan(v("2.0.0")))).containsExactly(lower);
+        assertThat(index.overlapping(VersionRange.exactly(v("3.0.0")))).containsExactly(upper);
+        assertThat(index.overlapping(VersionRange.atLeast(v("3.0.0")))).containsExactly(upper, open);
+        assertThat(index.overlapping(VersionRange.all())).containsExactly(lower, upper, open);
+        assertThat(index.overlapping(VersionRange.empty())).isEmpty();
+    }
+    
+    static Version random(Random random)
+    {
+        return Version.of(random.nextInt(5), random.nextInt(5), random.nextInt(3));
+    }
+    
+    static VersionRange randomRange(Random random)
+    {
+        return VersionRange.between(
+            (random.nextInt(8) == 0) ? null : random(random),
+            random.nextBoolean(),
+            (random.nextInt(8) == 0) ? null : random(random),
+            random.nextBoolean()
+        );
+    }
+    
+    @Test
+    public void testMatchesLinearScan()
+    {
+        Random random = new Random(19);
+        List<VersionRange> ranges = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) { ranges.add(randomRange(random)); }
+        
+        VersionRangeIndex<VersionRange> index = VersionRangeIndex.of(ranges);
+        
+        for (int i = 0; i < 500; i++)
+        {
+            Version version = random(random);
+            VersionRange query = randomRange(random);
+            
+            List<VersionRange> containing = new ArrayList<>();
+            List<VersionRange> overlapping = new ArrayList<>();
+            
+            for (VersionRange range : ranges)
+            {
+                if (range.contains(version) && !range.isEmpty()) { containing.add(range); }
+                if (range.overlaps(query)) { overlapping.add(range); }
+            }
+            
+            assertThat(index.containing(version)).containsExactlyInAnyOrderElementsOf(containing);
+            assertThat(index.anyContains(version)).isEqualTo(!containing.isEmpty());
+            assertThat(index.overlapping(query)).containsExactlyInAnyOrderElementsOf(overlapping);
+        }
+    }
+}
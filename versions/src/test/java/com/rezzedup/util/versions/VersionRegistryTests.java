@@ -0,0 +1,272 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionRegistryTests
+{
+    static final class Component implements VersionSource
+    {
+        final String id;
+        final Version version;
+        
+        Component(String id, String version)
+        {
+            this.id = id;
+            this.version = Version.parseOrThrow(version);
+        }
+        
+        @Override
+        public Version version() { return version; }
+        
+        @Override
+        public String toString() { return id + "@" + version; }
+    }
+    
+    static Version v(String version)
+    {
+        return Version.parseOrThrow(version);
+    }
+    
+    static VersionRegistry<Component> registry(String name, Component ... components)
+    {
+        VersionRegistry<Component> registry = VersionRegistry.create();
+        for (Component component : components) { registry.register(name, component); }
+        return registry;
+    }
+    
+    @Test
+    public void testOrderedByVersion()
+    {
+        Component a = new Component("a", "2.0.0");
+        Component b = new Component("b", "1.0.0");
+        Component c = new Component("c", "1.5.0-rc.1");
+        Component d = new Component("d", "2.0.0+build.1");
+        
+        VersionRegistry<Component> registry = registry("lib", a, b, c, d);
+        
+        assertThat(registry.snapshot("lib").asList()).containsExactly(b, c, a, d);
+        assertThat(registry.highest("lib")).containsSame(d);
+        assertThat(registry.lowest("lib")).containsSame(b);
+        assertThat(registry.highest("other")).isEmpty();
+        assertThat(registry.snapshot("other").isEmpty()).isTrue();
+        assertThat(registry.names()).containsExactly("lib");
+        assertThatThrownBy(() -> registry.names().remove("lib")).isInstanceOf(UnsupportedOperationException.class);
+    }
+    
+    @Test
+    public void testNavigation()
+    {
+        Component one = new Component("one", "1.0.0");
+        Component two = new Component("two", "2.0.0");
+        Component twoOne = new Component("two-one", "2.1.0");
+        Component three = new Component("three", "3.0.0");
+        
+        VersionRegistry<Component> registry = registry("lib", three, one, twoOne, two);
+        
+        assertThat(registry.floor("lib", v("2.0.5"))).containsSame(two);
+        assertThat(registry.floor("lib", v("2.1.0"))).containsSame(twoOne);
+        assertThat(registry.floor("lib", v("0.1.0"))).isEmpty();
+        assertThat(registry.ceiling("lib", v("2.0.5"))).containsSame(twoOne);
+        assertThat(registry.ceiling("lib", v("3.0.1"))).isEmpty();
+        
+        assertThat(registry.range("lib", VersionRange.between(v("2.0.0"), true, v("3.0.0"), false)))
+            .containsExactly(two, twoOne);
+        assertThat(registry.range("lib", VersionRange.greaterThan(v("2.0.0")))).containsExactly(twoOne, three);
+        assertThat(registry.range("lib", VersionRange.empty())).isEmpty();
+        assertThat(registry.snapshot("lib").matching(VersionConstraint.parseOrThrow("^2"))).containsExactly(two, twoOne);
+    }
+    
+    @Test
+    public void testRegisterAndUnregister()
+    {
+        Component one = new Component("one", "1.0.0");
+        Component two = new Component("two", "2.0.0");
+        
+        VersionRegistry<Component> registry = VersionRegistry.create();
+        List<String> changes = new ArrayList<>();
+        
+        VersionRegistry.Listener<VersionSource> listener = new VersionRegistry.Listener<>()
+        {
+            @Override
+            public void registered(String name, VersionSource source) { changes.add("+" + name + ":" + source); }
+            
+            @Override
+            public void unregistered(String name, VersionSource source) { changes.add("-" + name + ":" + source); }
+        };
+        
+        registry.addListener(listener);
+        
+        assertThat(registry.register("lib", one)).isTrue();
+        assertThat(registry.register("lib", one)).isFalse();
+        assertThat(registry.register("lib", two)).isTrue();
+        
+        VersionRegistry.Snapshot<Component> before = registry.snapshot("lib");
+        
+        assertThat(registry.unregister("lib", one)).isTrue();
+        assertThat(registry.unregister("lib", one)).isFalse();
+        assertThat(registry.unregister("other", one)).isFalse();
+        
+        // Snapshots are unaffected by later changes.
+        assertThat(before.asList()).containsExactly(one, two);
+        assertThat(registry.snapshot("lib").asList()).containsExactly(two);
+        
+        assertThat(registry.unregisterAll("lib").asList()).containsExactly(two);
+        assertThat(registry.names()).isEmpty();
+        
+        registry.removeListener(listener);
+        registry.register("lib", one);
+        
+        assertThat(changes).containsExactly(
+            "+lib:one@1.0.0", "+lib:two@2.0.0", "-lib:one@1.0.0", "-lib:two@2.0.0"
+        );
+    }
+    
+    @Test
+    public void testConcurrentChangesToOneNameAreNotifiedInOrder() throws Exception
+    {
+        VersionRegistry<Component> registry = VersionRegistry.create();
+        Set<Component> notified = new HashSet<>();
+        List<String> misordered = new ArrayList<>();
+        
+        // Yields first, so that another thread's change is likely to come between a change and its notification.
+        registry.addListener(new VersionRegistry.Listener<>()
+        {
+            @Override
+            public void registered(String name, Component source)
+            {
+                Thread.yield();
+                synchronized (notified) { if (!notified.add(source)) { misordered.add("+" + source); } }
+            }
+            
+            @Override
+            public void unregistered(String name, Component source)
+            {
+                Thread.yield();
+                synchronized (notified) { if (!notified.remove(source)) { misordered.add("-" + source); } }
+            }
+        });
+        
+        Component[] components = new Component[4];
+        for (int i = 0; i < components.length; i++) { components[i] = new Component("c" + i, "1." + i + ".0"); }
+        
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        try
+        {
+            List<Future<?>> futures = new ArrayList<>();
+            
+            for (int t = 0; t < 4; t++)
+            {
+                Random random = new Random(t);
+                
+                futures.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int i = 0; i < 20_000; i++)
+                    {
+                        Component component = components[random.nextInt(components.length)];
+                        if (random.nextBoolean()) { registry.register("lib", component); }
+                        else { registry.unregister("lib", component); }
+                    }
+                    return null;
+                }));
+            }
+            
+            start.countDown();
+            for (Future<?> future : futures) { future.get(30, TimeUnit.SECONDS); }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        
+        // Each notification follows the opposite one, and listeners end up agreeing with the registry.
+        assertThat(misordered).isEmpty();
+        assertThat(notified).containsExactlyInAnyOrderElementsOf(registry.snapshot("lib").asList());
+    }
+    
+    @Test
+    public void testConcurrentReadersSeeSortedSnapshots() throws Exception
+    {
+        VersionRegistry<Component> registry = VersionRegistry.create();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        
+        try
+        {
+            List<Future<?>> writers = new ArrayList<>();
+            
+            for (int w = 0; w < 2; w++)
+            {
+                int writer = w;
+                
+                writers.add(executor.submit(() ->
+                {
+                    start.await();
+                    for (int i = 0; i < 2000; i++)
+                    {
+                        Component component = new Component(writer + "-" + i, (i % 7) + "." + (i % 13) + ".0");
+                        registry.register("lib", component);
+                        if (i % 3 == 0) { registry.unregister("lib", component); }
+                    }
+                    return null;
+                }));
+            }
+            
+            List<Future<?>> readers = new ArrayList<>();
+            
+            for (int r = 0; r < 2; r++)
+            {
+                readers.add(executor.submit(() ->
+                {
+                    start.await();
+                    while (writing.get())
+                    {
+                        VersionRegistry.Snapshot<Component> snapshot = registry.snapshot("lib");
+                        for (int i = 1; i < snapshot.size(); i++)
+                        {
+                            assertThat(snapshot.version(i - 1)).isLessThanOrEqualTo(snapshot.version(i));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            
+            start.countDown();
+            for (Future<?> writer : writers) { writer.get(30, TimeUnit.SECONDS); }
+            writing.set(false);
+            for (Future<?> reader : readers) { reader.get(30, TimeUnit.SECONDS); }
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+        
+        // Each writer keeps the two thirds of its components that weren't unregistered.
+        assertThat(registry.snapshot("lib").size()).isEqualTo(2 * (2000 - 667));
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionRenderingTests
+{
+    // Strictly valid inputs are already in canonical form.
+    static final List<String> CANONICAL = VersionParsingTests.INPUTS.stream()
+        .filter(input -> Version.parseStrict(input).isPresent())
+        .collect(Collectors.toList());
+    
+    @Test
+    public void testToStringIsCanonicalAndCached()
+    {
+        assertThat(CANONICAL).isNotEmpty();
+        
+        for (String input : CANONICAL)
+        {
+            Version version = Version.parseOrThrow(input);
+            assertThat(version.toString()).isEqualTo(input).isSameAs(version.toString());
+        }
+        
+        assertThat(Version.parseOrThrow("1.2").toString()).isEqualTo("1.2.0");
+    }
+    
+    @Test
+    public void testAppendTo() throws IOException
+    {
+        for (String input : CANONICAL)
+        {
+            // Fresh instances have nothing cached yet.
+            assertThat(Version.parseOrThrow(input).appendTo(new StringBuilder("v"))).hasToString("v" + input);
+            assertThat(Version.parseOrThrow(input).appendTo(new StringWriter())).hasToString(input);
+        }
+        
+        Version version = Version.parseOrThrow("1.2.3-rc.1+build.7");
+        
+        assertThat(version.core().appendTo(new StringBuilder())).hasToString("1.2.3");
+        assertThat(version.prerelease().appendTo(new StringWriter())).hasToString("rc.1");
+        assertThat(version.build().appendTo(new StringBuilder())).hasToString("build.7");
+    }
+    
+    @Test
+    public void testWriteTo()
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        
+        for (String input : CANONICAL)
+        {
+            buffer.clear();
+            Version.parseOrThrow(input).writeTo(buffer).flip();
+            assertThat(StandardCharsets.US_ASCII.decode(buffer).toString()).isEqualTo(input);
+        }
+        
+        ByteBuffer small = ByteBuffer.allocate(4);
+        assertThatThrownBy(() -> Version.of(10, 200, 3).writeTo(small)).isInstanceOf(BufferOverflowException.class);
+    }
+    
+    @Test
+    public void testHashCodeIsConsistentWithEquals()
+    {
+        for (String input : CANONICAL)
+        {
+            Version version = Version.parseOrThrow(input);
+            Version copy = Version.of(version.core(), version.prerelease(), version.build());
+            
+            assertThat(version.hashCode()).isEqualTo(copy.hashCode()).isEqualTo(version.hashCode());
+            assertThat(version.prerelease().hashCode()).isEqualTo(Version.meta(version.prerelease().toString()).hashCode());
+        }
+    }
+}
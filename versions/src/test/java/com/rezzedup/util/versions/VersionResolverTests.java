@@ -0,0 +1,265 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionResolverTests
+{
+    static Version v(String version)
+    {
+        return Version.parseOrThrow(version);
+    }
+    
+    static VersionConstraint c(String constraint)
+    {
+        return VersionConstraint.parseOrThrow(constraint);
+    }
+    
+    @Test
+    public void testResolvesHighestCompatibleVersions()
+    {
+        VersionCatalog catalog = VersionCatalog.builder()
+            .add("a", v("1.1.0"), Map.of("b", c("^1")))
+            .add("a", v("1.2.0"), Map.of("b", c("^2")))
+            .add("a", v("2.0.0"))
+            .add("b", v("1.5.0"))
+            .add("b", v("2.0.0"))
+            .add("b", v("2.1.0-rc.1"))
+            .build();
+        
+        VersionResolution resolution = VersionResolver.of(catalog).resolve(Map.of("a", c("^1")));
+        
+        assertThat(resolution.isResolved()).isTrue();
+        assertThat(resolution.versions()).containsExactly(Map.entry("a", v("1.2.0")), Map.entry("b", v("2.0.0")));
+    }
+    
+    @Test
+    public void testBacktracksPastIncompatibleVersions()
+    {
+        VersionCatalog catalog = VersionCatalog.builder()
+            .add("a", v("1.0.0"), Map.of("b", c("^1")))
+            .add("a", v("2.0.0"), Map.of("b", c("^2")))
+            .add("b", v("1.0.0"))
+            .add("b", v("1.4.0"))
+            .add("b", v("2.0.0"))
+            .add("c", v("1.0.0"), Map.of("d", c("*")))
+            .add("d", v("1.0.0"), Map.of("b", c("<1.3")))
+            .add("d", v("0.9.0"), Map.of("b", c("^1")))
+            .build();
+        
+        Map<String, VersionConstraint> requirements = new LinkedHashMap<>();
+        requirements.put("a", c("*"));
+        requirements.put("c", c("*"));
+        
+        VersionResolution resolution = VersionResolver.of(catalog).resolve(requirements);
+        
+        // Both versions of d need b 1.x, ruling out a 2.0.0; d 1.0.0 would also force b below 1.3.
+        assertThat(resolution.versions()).isEqualTo(Map.of("a", v("1.0.0"), "b", v("1.4.0"), "c", v("1.0.0"), "d", v("0.9.0")));
+    }
+    
+    @Test
+    public void testExplainsMinimalConflict()
+    {
+        VersionCatalog catalog = VersionCatalog.builder()
+            .add("a", v("1.0.0"), Map.of("b", c("^2"), "e", c("^1")))
+            .add("a", v("1.1.0"), Map.of("b", c("^2")))
+            .add("b", v("1.0.0"))
+            .add("b", v("2.0.0"))
+            .add("c", v("1.0.0"), Map.of("b", c("^1")))
+            .add("d", v("1.0.0"))
+            .add("e", v("1.0.0"))
+            .build();
+        
+        Map<String, VersionConstraint> requirements = new LinkedHashMap<>();
+        requirements.put("d", c("*"));
+        requirements.put("a", c("^1"));
+        requirements.put("c", c("^1"));
+        
+        VersionResolution resolution = VersionResolver.of(catalog).resolve(requirements);
+        
+        assertThat(resolution.isResolved()).isFalse();
+        assertThat(resolution.versions()).isEmpty();
+        assertThat(resolution.conflict()).map(VersionResolution.Requirement::toString).containsExactlyInAnyOrder(
+            "requires a ^1",
+            "requires c ^1",
+            "a 1.0.0 requires b ^2",
+            "a 1.1.0 requires b ^2",
+            "c 1.0.0 requires b ^1"
+        );
+    }
+    
+    @Test
+    public void testMissingArtifacts()
+    {
+        VersionCatalog catalog = VersionCatalog.builder()
+            .add("a", v("1.0.0"), Map.of("missing", c("*")))
+            .build();
+        
+        VersionResolver resolver = VersionResolver.of(catalog);
+        
+        assertThat(resolver.resolve(Map.of("a", c("*"))).conflict())
+            .map(VersionResolution.Requirement::toString)
+            .containsExactlyInAnyOrder("requires a *", "a 1.0.0 requires missing *");
+        
+        assertThat(resolver.resolve(Map.of("unknown", c("^1"))).conflict())
+            .map(VersionResolution.Requirement::toString)
+            .containsExactly("requires unknown ^1");
+        
+        assertThat(resolver.resolve(Map.of()).isResolved()).isTrue();
+        
+        assertThatThrownBy(() -> VersionCatalog.builder().add("a", v("1.0.0"), Map.of("a", c("*"))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+    
+    static final String[] CONSTRAINTS = {"*", "^1", "^2", "~1.1", ">=1.1", "<2", "1.0.0 || 2.1.0"};
+    static final String[] VERSIONS = {"1.0.0", "1.1.0", "2.0.0", "2.1.0"};
+    
+    @Test
+    public void testAgreesWithExhaustiveSearch()
+    {
+        Random random = new Random(0x2E501FL);
+        
+        for (int trial = 0; trial < 500; trial++)
+        {
+            int artifacts = 2 + random.nextInt(4);
+            VersionCatalog.Builder builder = VersionCatalog.builder();
+            
+            for (int a = 0; a < artifacts; a++)
+            {
+                for (String version : VERSIONS)
+                {
+                    if (random.nextInt(4) == 0) { continue; }
+                    
+                    Map<String, VersionConstraint> dependencies = new LinkedHashMap<>();
+                    for (int b = 0; b < artifacts; b++)
+                    {
+                        if (b != a && random.nextInt(3) == 0) { dependencies.put("p" + b, c(CONSTRAINTS[random.nextInt(CONSTRAINTS.length)])); }
+                    }
+                    
+                    builder.add("p" + a, v(version), dependencies);
+                }
+            }
+            
+            VersionCatalog catalog = builder.build();
+            Map<String, VersionConstraint> requirements = new LinkedHashMap<>();
+            requirements.put("p0", c(CONSTRAINTS[random.nextInt(CONSTRAINTS.length)]));
+            if (random.nextBoolean()) { requirements.put("p1", c(CONSTRAINTS[random.nextInt(CONSTRAINTS.length)])); }
+            
+            VersionResolution resolution = VersionResolver.of(catalog).resolve(requirements);
+            
+            if (resolution.isResolved()) { assertThat(isValid(catalog, requirements, resolution.versions())).isTrue(); }
+            else
+            {
+                assertThat(exists(catalog, requirements, new ArrayList<>(catalog.artifacts()), 0, new LinkedHashMap<>()))
+                    .describedAs("%s: %s", catalog, requirements)
+                    .isFalse();
+                
+                // The conflict is unsatisfiable on its own, but any smaller subset of it isn't.
+                List<VersionResolution.Requirement> conflict = resolution.conflict();
+                assertThat(resolveOnly(catalog, conflict).isResolved()).isFalse();
+                
+                for (int i = 0; i < conflict.size(); i++)
+                {
+                    List<VersionResolution.Requirement> subset = new ArrayList<>(conflict);
+                    subset.remove(i);
+                    
+                    assertThat(resolveOnly(catalog, subset).isResolved())
+                        .describedAs("%s: %s without %s", catalog, requirements, conflict.get(i))
+                        .isTrue();
+                }
+            }
+        }
+    }
+    
+    // Resolves with only the provided requirements, and all versions in the catalog but no other dependencies.
+    static VersionResolution resolveOnly(VersionCatalog catalog, List<VersionResolution.Requirement> requirements)
+    {
+        Map<String, VersionConstraint> roots = new LinkedHashMap<>();
+        VersionCatalog.Builder builder = VersionCatalog.builder();
+        
+        for (String artifact : catalog.artifacts())
+        {
+            for (Version version : catalog.versions(artifact)) { builder.add(artifact, version); }
+        }
+        
+        for (VersionResolution.Requirement requirement : requirements)
+        {
+            if (requirement.dependent().isEmpty())
+            {
+                roots.put(requirement.artifact(), requirement.constraint());
+                continue;
+            }
+            
+            String dependent = requirement.dependent().orElseThrow();
+            Version version = requirement.dependentVersion().orElseThrow();
+            
+            Map<String, VersionConstraint> dependencies = new LinkedHashMap<>();
+            for (VersionResolution.Requirement other : requirements)
+            {
+                if (other.dependent().equals(Optional.of(dependent)) && other.dependentVersion().equals(Optional.of(version)))
+                {
+                    dependencies.put(other.artifact(), other.constraint());
+                }
+            }
+            
+            builder.add(dependent, version, dependencies);
+        }
+        
+        return VersionResolver.of(builder.build()).resolve(roots);
+    }
+    
+    // Every required artifact (directly or by a selected version) is selected and satisfies its constraint.
+    static boolean isValid(VersionCatalog catalog, Map<String, VersionConstraint> requirements, Map<String, Version> selected)
+    {
+        for (Map.Entry<String, VersionConstraint> requirement : requirements.entrySet())
+        {
+            Version version = selected.get(requirement.getKey());
+            if (version == null || !requirement.getValue().isSatisfiedBy(version)) { return false; }
+        }
+        
+        for (Map.Entry<String, Version> entry : selected.entrySet())
+        {
+            for (Map.Entry<String, VersionConstraint> dependency : catalog.dependencies(entry.getKey(), entry.getValue()).entrySet())
+            {
+                Version version = selected.get(dependency.getKey());
+                if (version == null || !dependency.getValue().isSatisfiedBy(version)) { return false; }
+            }
+        }
+        
+        return true;
+    }
+    
+    static boolean exists(VersionCatalog catalog, Map<String, VersionConstraint> requirements, List<String> artifacts, int index, Map<String, Version> selected)
+    {
+        if (index == artifacts.size()) { return isValid(catalog, requirements, selected); }
+        
+        String artifact = artifacts.get(index);
+        if (exists(catalog, requirements, artifacts, index + 1, selected)) { return true; }
+        
+        for (Version version : catalog.versions(artifact))
+        {
+            selected.put(artifact, version);
+            boolean found = exists(catalog, requirements, artifacts, index + 1, selected);
+            selected.remove(artifact);
+            if (found) { return true; }
+        }
+        
+        return false;
+    }
+}
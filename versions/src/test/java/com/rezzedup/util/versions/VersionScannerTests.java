@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionScannerTests
+{
+    static List<String> found(List<VersionMatch> matches)
+    {
+        return matches.stream().map(match -> match.version().toString()).collect(Collectors.toList());
+    }
+    
+    @Test
+    public void testFindsVersionsInNoise()
+    {
+        String banner = "This server is running Paper version git-Paper-123 (MC: 1.19.2) (Implementing API version 1.19.2-R0.1-SNAPSHOT)";
+        
+        assertThat(found(Versions.findAll(banner))).containsExactly("123.0.0", "1.19.2", "1.19.2-R0.1-SNAPSHOT");
+        assertThat(found(Versions.findAllStrict(banner))).containsExactly("1.19.2", "1.19.2-R0.1-SNAPSHOT");
+        
+        List<VersionMatch> matches = Versions.findAll("Client/3.4.0-beta.2 build 771");
+        
+        assertThat(found(matches)).containsExactly("3.4.0-beta.2", "771.0.0");
+        assertThat(matches.get(0).start()).isEqualTo(7);
+        assertThat(matches.get(0).end()).isEqualTo(19);
+        assertThat(matches.get(1).start()).isEqualTo(26);
+        assertThat(matches.get(1).end()).isEqualTo(29);
+    }
+    
+    @Test
+    public void testBoundaries()
+    {
+        assertThat(found(Versions.findAll("x86_64 v2.1 V3 dev4"))).containsExactly("64.0.0", "2.1.0", "3.0.0");
+        assertThat(found(Versions.findAll("1.2.3.4 and 10.0"))).containsExactly("1.2.3", "10.0.0");
+        assertThat(found(Versions.findAll("version 1.19. (1.20-pre1)"))).containsExactly("1.19.0", "1.20.0-pre1");
+        assertThat(found(Versions.findAll("012 and 99999999999"))).isEmpty();
+        assertThat(found(Versions.findAllStrict("1.2 and 1.2.3"))).containsExactly("1.2.3");
+        assertThat(Versions.findAll("")).isEmpty();
+    }
+    
+    @Test
+    public void testMatchesPatternFindLoopAtBoundaries()
+    {
+        String text = "a 1.0, b 2.0.1-rc.1+build.5; c (3) d=4.5.6-SNAPSHOT e:7.8 - v9.10.11";
+        
+        List<String> expected = new ArrayList<>();
+        Matcher matcher = Versions.PARTIAL_SEMVER_PATTERN.matcher(text);
+        while (matcher.find()) { expected.add(Version.parseOrThrow(matcher.group()).toString()); }
+        
+        assertThat(found(Versions.findAll(text))).isEqualTo(expected);
+    }
+    
+    @Test
+    public void testScansReaderLines() throws Exception
+    {
+        StringBuilder log = new StringBuilder();
+        
+        // Long enough to cross the scanner's buffer several times.
+        for (int i = 0; i < 2000; i++)
+        {
+            log.append("[INFO] loaded plugin-").append(i).append(" v1.").append(i).append(".0\r\n");
+        }
+        log.append(" ".repeat(20000)).append("2.0.0-final");
+        
+        List<VersionMatch> matches = new ArrayList<>();
+        long lines = VersionScanner.strict().scan(new StringReader(log.toString()), matches::add);
+        
+        assertThat(lines).isEqualTo(2001);
+        assertThat(matches).hasSize(2001);
+        
+        VersionMatch match = matches.get(1234);
+        assertThat(match.line()).isEqualTo(1234);
+        assertThat(match.version()).isEqualTo(Version.of(1, 1234, 0));
+        assertThat(match.start()).isEqualTo("[INFO] loaded plugin-1234 v".length());
+        
+        VersionMatch last = matches.get(2000);
+        assertThat(last.line()).isEqualTo(2000);
+        assertThat(last.start()).isEqualTo(20000);
+        assertThat(last.version().toString()).isEqualTo("2.0.0-final");
+        
+        assertThat(VersionScanner.lenient().scan(new StringReader(""), matches::add)).isEqualTo(0);
+    }
+}
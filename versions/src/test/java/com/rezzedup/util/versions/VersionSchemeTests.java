@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionSchemeTests
+{
+    static List<String> sorted(VersionScheme scheme, String ... inputs)
+    {
+        List<SchemeVersion> versions = Stream.of(inputs)
+            .map(input -> scheme.parse(input).orElseThrow(() -> new AssertionError(scheme + " rejected: " + input)))
+            .collect(Collectors.toList());
+        
+        Collections.reverse(versions);
+        Collections.sort(versions);
+        return versions.stream().map(SchemeVersion::text).collect(Collectors.toList());
+    }
+    
+    static SchemeVersion maven(String input)
+    {
+        return VersionScheme.maven().parse(input).orElseThrow();
+    }
+    
+    @Test
+    public void testMavenOrder()
+    {
+        assertThat(sorted(
+            VersionScheme.maven(),
+            "1.0-alpha-1", "1.0-alpha-2", "1.0-beta", "1.0-M1", "1.0-RC1", "1.0-RC2", "1.0-RC10",
+            "1.0-SNAPSHOT", "1.0", "1.0-sp", "1.0-whatever", "1.0.1", "1.2.3.4", "1.10", "2.0"
+        )).containsExactly(
+            "1.0-alpha-1", "1.0-alpha-2", "1.0-beta", "1.0-M1", "1.0-RC1", "1.0-RC2", "1.0-RC10",
+            "1.0-SNAPSHOT", "1.0", "1.0-sp", "1.0-whatever", "1.0.1", "1.2.3.4", "1.10", "2.0"
+        );
+        
+        assertThat(maven("1")).isEqualTo(maven("1.0.0")).isEqualTo(maven("1.0-final")).isEqualTo(maven("1.GA"));
+        assertThat(maven("1.0-SNAPSHOT")).isEqualTo(maven("1-snapshot"));
+        assertThat(maven("1.0-a1")).isEqualTo(maven("1.0-alpha-1"));
+        assertThat(maven("1.0-cr1")).isEqualTo(maven("1.0-rc-1"));
+        assertThat(maven("1.2.3.4")).isGreaterThan(maven("1.2.3"));
+        
+        // Game snapshot ids
+        assertThat(sorted(VersionScheme.maven(), "22w13a", "22w13b", "22w14a", "23w01a"))
+            .containsExactly("22w13a", "22w13b", "22w14a", "23w01a");
+        
+        assertThat(VersionScheme.maven().parse("")).isEmpty();
+        assertThat(VersionScheme.maven().parse("v1")).isEmpty();
+        assertThat(VersionScheme.maven().parse("1..0")).isEmpty();
+        assertThat(VersionScheme.maven().parse("1.0-")).isEmpty();
+        assertThat(VersionScheme.maven().parse("1.0 beta")).isEmpty();
+    }
+    
+    @Test
+    public void testCalVerOrder()
+    {
+        assertThat(sorted(
+            VersionScheme.calver(),
+            "2023.12.31", "2024.01-beta", "2024.01-beta.2", "2024.01-rc", "2024.01", "2024.1.5", "2024.01.15", "2024.10"
+        )).containsExactly(
+            "2023.12.31", "2024.01-beta", "2024.01-beta.2", "2024.01-rc", "2024.01", "2024.1.5", "2024.01.15", "2024.10"
+        );
+        
+        assertThat(sorted(VersionScheme.calver(), "22.04", "22.10", "23.04", "2022.06"))
+            .containsExactly("22.04", "2022.06", "22.10", "23.04");
+        
+        assertThat(VersionScheme.calver().parse("2024")).isEmpty();
+        assertThat(VersionScheme.calver().parse("123.04")).isEmpty();
+        assertThat(VersionScheme.calver().parse("2024.01.")).isEmpty();
+        assertThat(VersionScheme.calver().parse("2024.01-")).isEmpty();
+    }
+    
+    @Test
+    public void testSemVerMatchesVersionOrder()
+    {
+        Random random = new Random(22);
+        List<Version> versions = new ArrayList<>();
+        
+        for (int i = 0; i < 500; i++)
+        {
+            String prerelease = (random.nextBoolean()) ? "" : List.of("alpha", "alpha.1", "beta.2", "rc.10", "1").get(random.nextInt(5));
+            versions.add(Version.of(random.nextInt(3), random.nextInt(3), random.nextInt(300), prerelease));
+        }
+        
+        List<SchemeVersion> keyed = versions.stream()
+            .map(version -> VersionScheme.semver().parse(version.toString()).orElseThrow())
+            .sorted()
+            .collect(Collectors.toList());
+        
+        Collections.sort(versions);
+        
+        assertThat(keyed).extracting(SchemeVersion::text)
+            .containsExactlyElementsOf(versions.stream().map(Version::toString).collect(Collectors.toList()));
+    }
+    
+    @Test
+    public void testDetection()
+    {
+        assertThat(VersionScheme.detect("1.2.3")).isSameAs(VersionScheme.semver());
+        assertThat(VersionScheme.detect("1.2")).isSameAs(VersionScheme.semver());
+        assertThat(VersionScheme.detect("1.2.3-rc.1+build.5")).isSameAs(VersionScheme.semver());
+        assertThat(VersionScheme.detect("1.0.0-alpha.1")).isSameAs(VersionScheme.semver());
+        
+        assertThat(VersionScheme.detect("1.0-SNAPSHOT")).isSameAs(VersionScheme.maven());
+        assertThat(VersionScheme.detect("2.0-RC1")).isSameAs(VersionScheme.maven());
+        assertThat(VersionScheme.detect("5.4.2.Final")).isSameAs(VersionScheme.maven());
+        assertThat(VersionScheme.detect("1.2.3.4")).isSameAs(VersionScheme.maven());
+        assertThat(VersionScheme.detect("22w13a")).isSameAs(VersionScheme.maven());
+        assertThat(VersionScheme.detect("1.02")).isSameAs(VersionScheme.maven());
+        
+        assertThat(VersionScheme.detect("2024.01.15")).isSameAs(VersionScheme.calver());
+        assertThat(VersionScheme.detect("2024.1")).isSameAs(VersionScheme.calver());
+        assertThat(VersionScheme.detect("22.04")).isSameAs(VersionScheme.calver());
+        
+        // Not valid SemVer (leading zeroes in a pre-release number), so it falls back to Maven.
+        assertThat(VersionScheme.parseAny("1.0.0-rc.01")).map(SchemeVersion::scheme).contains(VersionScheme.maven());
+        assertThat(VersionScheme.parseAny("22.04")).map(SchemeVersion::scheme).contains(VersionScheme.calver());
+        assertThat(VersionScheme.parseAny("nope")).isEmpty();
+    }
+    
+    @Test
+    public void testMixedSchemesGroupByScheme()
+    {
+        List<SchemeVersion> versions = Stream.of("2.0.0", "22.04", "1.0-SNAPSHOT", "1.0.0", "2024.01", "1.5")
+            .map(input -> VersionScheme.parseAny(input).orElseThrow())
+            .sorted()
+            .collect(Collectors.toList());
+        
+        assertThat(versions).extracting(SchemeVersion::text)
+            .containsExactly("22.04", "2024.01", "1.0-SNAPSHOT", "1.0.0", "1.5", "2.0.0");
+    }
+    
+    @Test
+    public void testShortKeysDifferingByTrailingZeroes()
+    {
+        SchemeVersion shorter = SchemeVersion.of(VersionScheme.maven(), "a", new byte[] {1, 2});
+        SchemeVersion longer = SchemeVersion.of(VersionScheme.maven(), "b", new byte[] {1, 2, 0});
+        SchemeVersion longest = SchemeVersion.of(VersionScheme.maven(), "c", new byte[] {1, 2, 0, 0, 0, 0, 0, 0, 0});
+        
+        assertThat(shorter).isLessThan(longer);
+        assertThat(longer).isLessThan(longest);
+        assertThat(longest).isGreaterThan(shorter);
+        assertThat(shorter).isNotEqualTo(longer);
+        
+        byte[] bytes = new byte[20];
+        SchemeVersion low = SchemeVersion.of(VersionScheme.maven(), "low", bytes);
+        bytes[18] = (byte) 0xFF;
+        SchemeVersion high = SchemeVersion.of(VersionScheme.maven(), "high", bytes);
+        
+        assertThat(low).isLessThan(high);
+        assertThat(high).isGreaterThan(low).isEqualByComparingTo(SchemeVersion.of(VersionScheme.maven(), "same", bytes));
+    }
+}
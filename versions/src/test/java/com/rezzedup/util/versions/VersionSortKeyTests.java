@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class VersionSortKeyTests
+{
+    static final String[] NUMBERS = {"0", "1", "2", "9", "10", "11", "99", "100", "255", "256", "65536", "2147483647"};
+    
+    static final String[] IDENTIFIERS = {
+        "0", "1", "2", "10", "99999999999999999999", "100000000000000000000",
+        "-", "0a", "1a", "A", "Z", "a", "aa", "ab", "alpha", "beta", "rc", "rc1"
+    };
+    
+    static Version randomVersion(Random random)
+    {
+        return Version.of(
+            Version.core(number(random), number(random), number(random)),
+            VersionMetadata.of(identifiers(random, 4)),
+            VersionMetadata.of(identifiers(random, 2))
+        );
+    }
+    
+    static int number(Random random)
+    {
+        return Integer.parseInt(NUMBERS[random.nextInt(3) == 0 ? random.nextInt(NUMBERS.length) : random.nextInt(3)]);
+    }
+    
+    static List<String> identifiers(Random random, int max)
+    {
+        List<String> identifiers = new ArrayList<>();
+        int count = random.nextInt(max + 1);
+        for (int i = 0; i < count; i++) { identifiers.add(IDENTIFIERS[random.nextInt(IDENTIFIERS.length)]); }
+        return identifiers;
+    }
+    
+    @Test
+    public void testOrderingAgreesWithPrecedence()
+    {
+        Random random = new Random(0x50_27_4E_75L);
+        
+        for (int i = 0; i < 200_000; i++)
+        {
+            Version left = randomVersion(random);
+            Version right = (random.nextInt(8) == 0) ? left.toBuilder().build(left.build().toString()).build() : randomVersion(random);
+            
+            int precedence = Integer.signum(left.compareTo(right));
+            int keys = Integer.signum(Arrays.compareUnsigned(left.toSortKey(), right.toSortKey()));
+            
+            if (precedence != 0) { assertThat(keys).describedAs("%s <=> %s", left, right).isEqualTo(precedence); }
+            else { assertThat(keys == 0).describedAs("%s <=> %s", left, right).isEqualTo(left.equals(right)); }
+        }
+    }
+    
+    @Test
+    public void testRoundTrip()
+    {
+        Random random = new Random(0x4E7L);
+        
+        for (int i = 0; i < 10_000; i++)
+        {
+            Version version = randomVersion(random);
+            assertThat(Version.fromSortKey(version.toSortKey())).isEqualTo(version);
+        }
+        
+        for (String input : VersionParsingTests.INPUTS)
+        {
+            Version.parse(input).ifPresent(version -> assertThat(Version.fromSortKey(version.toSortKey())).isEqualTo(version));
+        }
+        
+        String longNumber = "1" + "0".repeat(300);
+        Version version = Version.of(1, 0, 0, longNumber);
+        
+        assertThat(Version.fromSortKey(version.toSortKey())).isEqualTo(version);
+        assertThat(Arrays.compareUnsigned(version.toSortKey(), Version.of(1, 0, 0, "9".repeat(254)).toSortKey())).isPositive();
+    }
+    
+    @Test
+    public void testKeysAreCompact()
+    {
+        assertThat(Version.of(1, 2, 3).toSortKey()).containsExactly(1, 1, 1, 2, 1, 3, 2);
+        assertThat(Version.zero().toSortKey()).containsExactly(0, 0, 0, 2);
+        assertThat(Version.parseOrThrow("1.0.0-rc.1").toSortKey()).containsExactly(1, 1, 0, 0, 1, 2, 'r', 'c', 0, 1, 1, '1', 0);
+    }
+    
+    @Test
+    public void testMalformedKeysAreRejected()
+    {
+        byte[] valid = Version.parseOrThrow("1.0.0-rc.1+b").toSortKey();
+        
+        for (int length = 0; length < valid.length; length++)
+        {
+            byte[] truncated = Arrays.copyOf(valid, length);
+            
+            // Dropping the build metadata entirely is still valid.
+            if (length == valid.length - 3) { continue; }
+            assertThatThrownBy(() -> Version.fromSortKey(truncated)).isInstanceOf(IllegalArgumentException.class);
+        }
+        
+        assertThatThrownBy(() -> Version.fromSortKey(new byte[] {2, 0, 1, 0, 0, 2})).hasMessageContaining("index 0");
+        assertThatThrownBy(() -> Version.fromSortKey(new byte[] {0, 0, 0, 1, 2, '1', 0, 0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Version.fromSortKey(new byte[] {0, 0, 0, 1, 1, 2, '0', '1', 0})).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Version.fromSortKey(new byte[] {0, 0, 0, 3})).hasMessageContaining("index 3");
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright © 2022, RezzedUp <https://github.com/RezzedUp/Versions>
+ *
+ * This Source Code Form is subject to the terms of the Mozilla Public
+ * License, v. 2.0. If a copy of the MPL was not distributed with this
+ * file, You can obtain one at http://mozilla.org/MPL/2.0/.
+ */
+package com.rezzedup.util.versions;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VersionWatermarkTests
+{
+    static Version v(String version) { return Version.parse(version).orElseThrow(); }
+    
+    @Test
+    public void testHighestAdvancesOnlyUpward()
+    {
+        VersionWatermark watermark = VersionWatermark.highest();
+        
+        assertThat(watermark.current()).isEmpty();
+        assertThat(watermark.advanceTo(v("1.2.0"))).isTrue();
+        assertThat(watermark.advanceTo(v("1.1.9"))).isFalse();
+        assertThat(watermark.advanceTo(v("1.2.0"))).isFalse();
+        assertThat(watermark.advanceTo(v("2.0.0"))).isTrue();
+        assertThat(watermark.current()).contains(v("2.0.0"));
+        assertThat(watermark).hasToString("VersionWatermark{highest=2.0.0}");
+    }
+    
+    @Test
+    public void testLowestAdvancesOnlyDownward()
+    {
+        VersionWatermark watermark = VersionWatermark.lowest();
+        
+        assertThat(watermark.advanceTo(v("1.2.0"))).isTrue();
+        assertThat(watermark.advanceTo(v("1.3.0"))).isFalse();
+        assertThat(watermark.advanceTo(v("0.9.0"))).isTrue();
+        assertThat(watermark.advanceTo(v("0.9.0-rc.1"))).isTrue();
+        assertThat(watermark.advanceTo(v("0.9.0"))).isFalse();
+        assertThat(watermark.current()).contains(v("0.9.0-rc.1"));
+    }
+    
+    @Test
+    public void testMixesPackedAndUnpackedVersions()
+    {
+        VersionWatermark watermark = VersionWatermark.highest();
+        Version large = Version.of(VersionCore.PACKED_COMPONENT_MAX + 1, 0, 0);
+        
+        assertThat(watermark.advanceTo(v("1.0.0-rc.1"))).isTrue();
+        assertThat(watermark.advanceTo(v("0.9.0"))).isFalse();
+        assertThat(watermark.advanceTo(v("1.0.0"))).isTrue();
+        assertThat(watermark.current()).contains(v("1.0.0"));
+        
+        assertThat(watermark.advanceTo(v("1.0.1-alpha"))).isTrue();
+        assertThat(watermark.advanceTo(v("1.0.0-rc.2"))).isFalse();
+        assertThat(watermark.current()).contains(v("1.0.1-alpha"));
+        
+        assertThat(watermark.advanceTo(v("1.0.1"))).isTrue();
+        assertThat(watermark.advanceTo(large)).isTrue();
+        assertThat(watermark.advanceTo(v("3.0.0"))).isFalse();
+        assertThat(watermark.current()).contains(large);
+    }
+    
+    @Test
+    public void testKeepsFirstOfEqualPrecedence()
+    {
+        VersionWatermark watermark = VersionWatermark.highest();
+        
+        assertThat(watermark.advanceTo(v("1.0.0+build.1"))).isTrue();
+        assertThat(watermark.advanceTo(v("1.0.0"))).isFalse();
+        assertThat(watermark.advanceTo(v("1.0.0+build.2"))).isFalse();
+        assertThat(watermark.current()).contains(v("1.0.0+build.1"));
+        
+        VersionWatermark other = VersionWatermark.highest();
+        
+        assertThat(other.advanceTo(v("1.0.0"))).isTrue();
+        assertThat(other.advanceTo(v("1.0.0+build.1"))).isFalse();
+        assertThat(other.current()).contains(v("1.0.0"));
+    }
+    
+    @Test
+    public void testKeyedWatermarks()
+    {
+        VersionWatermark.Keyed<String> watermarks = VersionWatermark.highestByKey();
+        
+        assertThat(watermarks.advanceTo("a", v("1.0.0"))).isTrue();
+        assertThat(watermarks.advanceTo("b", v("0.5.0"))).isTrue();
+        assertThat(watermarks.advanceTo("a", v("0.9.0"))).isFalse();
+        assertThat(watermarks.advanceTo("b", v("0.6.0-rc.1"))).isTrue();
+        
+        assertThat(watermarks.current("a")).contains(v("1.0.0"));
+        assertThat(watermarks.current("c")).isEmpty();
+        assertThat(watermarks.snapshot()).isEqualTo(Map.of("a", v("1.0.0"), "b", v("0.6.0-rc.1")));
+        
+        watermarks.remove("a");
+        
+        assertThat(watermarks.size()).isEqualTo(1);
+        assertThat(watermarks.advanceTo("a", v("0.1.0"))).isTrue();
+    }
+    
+    @Test
+    public void testConcurrentReportsReachExtremes() throws Exception
+    {
+        List<Version> versions = new ArrayList<>(VersionArrayTests.random(new Random(24), 20_000));
+        VersionWatermark highest = VersionWatermark.highest();
+        VersionWatermark lowest = VersionWatermark.lowest();
+        
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        
+        for (int t = 0; t < 8; t++)
+        {
+            List<Version> shuffled = new ArrayList<>(versions);
+            Collections.shuffle(shuffled, new Random(t));
+            
+            futures.add(executor.submit(() ->
+            {
+                for (Version version : shuffled)
+                {
+                    highest.advanceTo(version);
+                    lowest.advanceTo(version);
+                }
+            }));
+        }
+        
+        for (Future<?> future : futures) { future.get(); }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        
+        assertThat(highest.current().orElseThrow()).isEqualByComparingTo(Collections.max(versions));
+        assertThat(lowest.current().orElseThrow()).isEqualByComparingTo(Collections.min(versions));
+    }
+}